@@ -34,6 +34,7 @@ import {
   ChevronLeft as ChevronLeftIcon,
 } from '@mui/icons-material';
 import { useAuthStore } from '@/store/authStore';
+import { authService } from '@/services';
 import { useThemeStore } from '@/store/themeStore';
 
 const DRAWER_WIDTH = 280;
@@ -52,7 +53,7 @@ export default function MainLayout() {
   const navigate = useNavigate();
   const location = useLocation();
 
-  const { name, email, avatarUrl, logout } = useAuthStore();
+  const { token, name, email, avatarUrl, logout } = useAuthStore();
   const { mode, toggleTheme } = useThemeStore();
 
   const [mobileOpen, setMobileOpen] = useState(false);
@@ -72,6 +73,10 @@ export default function MainLayout() {
 
   const handleLogout = () => {
     handleMenuClose();
+    // Revoga a sessão no servidor; a saída local não depende da resposta
+    if (token) {
+      authService.logout(token).catch(() => undefined);
+    }
     logout();
     navigate('/login');
   };
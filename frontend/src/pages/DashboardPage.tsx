@@ -22,37 +22,45 @@ import StatCard from '@/components/common/StatCard';
 import PeriodFilterSelect from '@/components/common/PeriodFilterSelect';
 import IncomeExpenseChart from '@/components/charts/IncomeExpenseChart';
 import DonutChart from '@/components/charts/DonutChart';
-import { dashboardService, incomeService, expenseService } from '@/services';
+import { dashboardService, expenseService, reportService } from '@/services';
 import { formatCurrency, formatPercentage } from '@/utils/formatters';
-import { calculateRecurringTotal, calculateCurrentMonthTotal } from '@/utils/recurringCalculations';
 import { chartColors } from '@/theme';
 import { usePeriodFilter } from '@/hooks';
-import type { Dashboard, Income, Expense } from '@/types';
+import type { Dashboard, ProjectedTotals } from '@/types';
+
+const monthNames = ['Jan', 'Fev', 'Mar', 'Abr', 'Mai', 'Jun', 'Jul', 'Ago', 'Set', 'Out', 'Nov', 'Dez'];
 
 export default function DashboardPage() {
   const [dashboard, setDashboard] = useState<Dashboard | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
-  const [incomes, setIncomes] = useState<Income[]>([]);
-  const [expenses, setExpenses] = useState<Expense[]>([]);
+  const [projected, setProjected] = useState<ProjectedTotals | null>(null);
+  const [currentMonth, setCurrentMonth] = useState<ProjectedTotals | null>(null);
+  const [monthlySeries, setMonthlySeries] = useState<ProjectedTotals[]>([]);
+  const [pendingExpensesTotal, setPendingExpensesTotal] = useState(0);
   const { selectedPeriod, setSelectedPeriod, dateRange } = usePeriodFilter('30_DAYS');
 
   useEffect(() => {
     loadDashboard();
   }, [dateRange]);
 
+  // Totais com recorrência são calculados no servidor: nenhuma listagem completa é baixada
   const loadDashboard = async () => {
     try {
       setLoading(true);
       setError(null);
-      const [dashboardData, incomesData, expensesData] = await Promise.all([
+      const [dashboardData, projectedData, currentMonthData, seriesData, pendingTotal] = await Promise.all([
         dashboardService.getByPeriod(dateRange.startDate, dateRange.endDate),
-        incomeService.getAll(),
-        expenseService.getAll(),
+        dashboardService.getProjected(dateRange.startDate, dateRange.endDate),
+        dashboardService.getProjectedCurrentMonth(),
+        reportService.getMonthlyProjection(dateRange.startDate, dateRange.endDate),
+        expenseService.getTotalPending(),
       ]);
       setDashboard(dashboardData);
-      setIncomes(incomesData);
-      setExpenses(expensesData);
+      setProjected(projectedData);
+      setCurrentMonth(currentMonthData);
+      setMonthlySeries(seriesData);
+      setPendingExpensesTotal(pendingTotal);
     } catch (err) {
       setError('Erro ao carregar dashboard. Tente novamente mais tarde.');
       console.error(err);
@@ -61,105 +69,23 @@ export default function DashboardPage() {
     }
   };
 
-  const generateChartData = () => {
-    const startDate = new Date(dateRange.startDate);
-    const endDate = new Date(dateRange.endDate);
-
-    const monthlyData = new Map<string, { income: number; expense: number }>();
-
-    // Pré-criar buckets para todos os meses do período
-    let currentDate = new Date(startDate.getFullYear(), startDate.getMonth(), 1);
-    while (currentDate <= endDate) {
-      const key = `${currentDate.getFullYear()}-${String(currentDate.getMonth() + 1).padStart(2, '0')}`;
-      monthlyData.set(key, { income: 0, expense: 0 });
-      currentDate = new Date(currentDate.getFullYear(), currentDate.getMonth() + 1, 1);
-    }
-
-    // Processar receitas
-    incomes.forEach(income => {
-      if (income.recurrence === 'ONCE') {
-        const date = new Date(income.date);
-        if (date >= startDate && date <= endDate) {
-          const key = `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, '0')}`;
-          if (monthlyData.has(key)) {
-            monthlyData.get(key)!.income += income.amount;
-          }
-        }
-      } else {
-        const createdDate = new Date(income.date);
-        let currentMonth = new Date(Math.max(startDate.getTime(), createdDate.getTime()));
-        currentMonth = new Date(currentMonth.getFullYear(), currentMonth.getMonth(), 1);
-
-        const endMonth = new Date(endDate.getFullYear(), endDate.getMonth(), 1);
-
-        while (currentMonth <= endMonth) {
-          const key = `${currentMonth.getFullYear()}-${String(currentMonth.getMonth() + 1).padStart(2, '0')}`;
-          if (monthlyData.has(key)) {
-            monthlyData.get(key)!.income += income.amount;
-          }
-          currentMonth = new Date(currentMonth.getFullYear(), currentMonth.getMonth() + 1, 1);
-        }
-      }
-    });
-
-    // Processar despesas
-    expenses.forEach(expense => {
-      if (expense.recurrence === 'ONCE') {
-        const date = new Date(expense.date);
-        if (date >= startDate && date <= endDate) {
-          const key = `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, '0')}`;
-          if (monthlyData.has(key)) {
-            monthlyData.get(key)!.expense += expense.amount;
-          }
-        }
-      } else {
-        const createdDate = new Date(expense.date);
-        let currentMonth = new Date(Math.max(startDate.getTime(), createdDate.getTime()));
-        currentMonth = new Date(currentMonth.getFullYear(), currentMonth.getMonth(), 1);
-
-        const endMonth = new Date(endDate.getFullYear(), endDate.getMonth(), 1);
-
-        while (currentMonth <= endMonth) {
-          const key = `${currentMonth.getFullYear()}-${String(currentMonth.getMonth() + 1).padStart(2, '0')}`;
-          if (monthlyData.has(key)) {
-            monthlyData.get(key)!.expense += expense.amount;
-          }
-          currentMonth = new Date(currentMonth.getFullYear(), currentMonth.getMonth() + 1, 1);
-        }
-      }
-    });
-
-    const monthNames = ['Jan', 'Fev', 'Mar', 'Abr', 'Mai', 'Jun', 'Jul', 'Ago', 'Set', 'Out', 'Nov', 'Dez'];
-
-    return Array.from(monthlyData.entries())
-      .sort((a, b) => a[0].localeCompare(b[0]))
-      .map(([key, data]) => {
-        const [year, month] = key.split('-');
-        const monthIndex = parseInt(month) - 1;
-        return {
-          name: `${monthNames[monthIndex]}/${year.slice(2)}`,
-          income: data.income,
-          expense: data.expense,
-        };
-      });
-  };
-
-  const chartData = generateChartData();
-
-  const currentMonthIncome = calculateCurrentMonthTotal(incomes, 'date');
-  const currentMonthExpense = calculateCurrentMonthTotal(expenses, 'date');
-  const currentMonthBalance = currentMonthIncome - currentMonthExpense;
+  const chartData = monthlySeries.map(month => {
+    const [year, monthNumber] = month.startDate.split('-');
+    return {
+      name: `${monthNames[parseInt(monthNumber) - 1]}/${year.slice(2)}`,
+      income: month.projectedIncome,
+      expense: month.projectedExpense,
+    };
+  });
 
-  const totalIncomeWithRecurrence = calculateRecurringTotal(incomes, dateRange, 'date');
-  const totalExpenseWithRecurrence = calculateRecurringTotal(expenses, dateRange, 'date');
+  const currentMonthIncome = currentMonth?.projectedIncome ?? 0;
+  const currentMonthExpense = currentMonth?.projectedExpense ?? 0;
+  const currentMonthBalance = currentMonth?.balance ?? 0;
 
-  const savingsRate = currentMonthIncome > 0
-    ? ((currentMonthIncome - currentMonthExpense) / currentMonthIncome) * 100
-    : 0;
+  const totalIncomeWithRecurrence = projected?.projectedIncome ?? 0;
+  const totalExpenseWithRecurrence = projected?.projectedExpense ?? 0;
 
-  const pendingExpensesTotal = expenses
-    .filter(expense => !expense.isPaid)
-    .reduce((sum, expense) => sum + expense.amount, 0);
+  const savingsRate = currentMonth?.savingsRate ?? 0;
 
   const donutData = [
     { name: 'Receitas', value: totalIncomeWithRecurrence, color: chartColors.income },
@@ -193,7 +119,7 @@ export default function DashboardPage() {
             value={currentMonthIncome}
             icon={<TrendingUp />}
             color="success"
-            subtitle={`${incomes.length} registros`}
+            subtitle={`${currentMonth?.incomeCount ?? 0} registros`}
             loading={loading}
           />
         </Grid>
@@ -203,7 +129,7 @@ export default function DashboardPage() {
             value={currentMonthExpense}
             icon={<TrendingDown />}
             color="error"
-            subtitle={`${expenses.length} registros`}
+            subtitle={`${currentMonth?.expenseCount ?? 0} registros`}
             loading={loading}
           />
         </Grid>
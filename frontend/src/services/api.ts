@@ -1,5 +1,6 @@
 import axios, { AxiosError, InternalAxiosRequestConfig } from 'axios';
 import { useAuthStore } from '@/store/authStore';
+import type { AuthResponse } from '@/types';
 
 const API_CONFIG = {
   baseURL: import.meta.env.VITE_API_URL || '/api',
@@ -33,13 +34,53 @@ api.interceptors.request.use(
   }
 );
 
+type RetriableRequest = InternalAxiosRequestConfig & { _retry?: boolean };
+
+// Uma única renovação em andamento, compartilhada pelas requisições que receberem 401
+let refreshPromise: Promise<string> | null = null;
+
+const refreshAccessToken = (refreshToken: string): Promise<string> => {
+  if (!refreshPromise) {
+    // Cliente sem interceptors para não entrar em loop em caso de 401
+    refreshPromise = axios
+      .post<AuthResponse>(`${API_CONFIG.baseURL}/auth/refresh`, { refreshToken }, { timeout: API_CONFIG.timeout })
+      .then(({ data }) => {
+        useAuthStore.getState().setTokens(data.token, data.refreshToken);
+        return data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 api.interceptors.response.use(
   (response) => response,
-  (error: AxiosError) => {
+  async (error: AxiosError) => {
     const authStore = useAuthStore.getState();
+    const originalRequest = error.config as RetriableRequest | undefined;
+
+    if (
+      error.response?.status === 401 &&
+      originalRequest &&
+      !originalRequest._retry &&
+      !originalRequest.url?.startsWith('/auth/') &&
+      authStore.isAuthenticated &&
+      authStore.refreshToken
+    ) {
+      originalRequest._retry = true;
+      try {
+        const token = await refreshAccessToken(authStore.refreshToken);
+        originalRequest.headers.Authorization = `Bearer ${token}`;
+        return api(originalRequest);
+      } catch {
+        // Refresh token inválido/expirado: segue para o fluxo de sessão expirada
+      }
+    }
 
     if (error.response?.status === 401) {
-      if (authStore.isAuthenticated) {
+      if (useAuthStore.getState().isAuthenticated) {
         console.warn('Token inválido ou expirado. Redirecionando para login...');
         authStore.clearAuth();
         window.location.replace(ROUTES.LOGIN_EXPIRED);
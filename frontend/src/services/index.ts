@@ -10,6 +10,7 @@ import type {
   Investment,
   InvestmentRequest,
   Dashboard,
+  ProjectedTotals,
   AllEnums,
   ReportSummary,
   ReportFilters
@@ -26,12 +27,19 @@ export const authService = {
     const response = await api.post<AuthResponse>('/auth/register', data);
     return response.data;
   },
+
+  // Token explícito: o store é limpo logo em seguida, antes do interceptor rodar
+  logout: async (token: string): Promise<void> => {
+    await api.post('/auth/logout', null, {
+      headers: { Authorization: `Bearer ${token}` },
+    });
+  },
 };
 
 // ==================== INCOME ====================
 export const incomeService = {
   getAll: async (): Promise<Income[]> => {
-    const response = await api.get<Income[]>('/incomes');
+    const response = await api.get<Income[]>('/incomes/stream');
     return response.data;
   },
 
@@ -77,7 +85,7 @@ export const incomeService = {
 // ==================== EXPENSE ====================
 export const expenseService = {
   getAll: async (): Promise<Expense[]> => {
-    const response = await api.get<Expense[]>('/expenses');
+    const response = await api.get<Expense[]>('/expenses/stream');
     return response.data;
   },
 
@@ -140,12 +148,17 @@ export const expenseService = {
     const response = await api.get<number>('/expenses/total');
     return response.data;
   },
+
+  getTotalPending: async (): Promise<number> => {
+    const response = await api.get<number>('/expenses/total/pending');
+    return response.data;
+  },
 };
 
 // ==================== INVESTMENT ====================
 export const investmentService = {
   getAll: async (): Promise<Investment[]> => {
-    const response = await api.get<Investment[]>('/investments');
+    const response = await api.get<Investment[]>('/investments/stream');
     return response.data;
   },
 
@@ -211,6 +224,18 @@ export const dashboardService = {
     });
     return response.data;
   },
+
+  getProjected: async (startDate: string, endDate: string): Promise<ProjectedTotals> => {
+    const response = await api.get<ProjectedTotals>('/dashboard/projected', {
+      params: { startDate, endDate },
+    });
+    return response.data;
+  },
+
+  getProjectedCurrentMonth: async (): Promise<ProjectedTotals> => {
+    const response = await api.get<ProjectedTotals>('/dashboard/projected/current-month');
+    return response.data;
+  },
 };
 
 // ==================== ENUMS ====================
@@ -286,4 +311,14 @@ export const reportService = {
     });
     return response.data;
   },
+
+  /**
+   * Série mensal de totais projetados (recorrências expandidas no servidor).
+   */
+  getMonthlyProjection: async (startDate: string, endDate: string): Promise<ProjectedTotals[]> => {
+    const response = await api.get<ProjectedTotals[]>('/reports/projected/monthly', {
+      params: { startDate, endDate },
+    });
+    return response.data;
+  },
 };
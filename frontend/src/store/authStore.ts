@@ -4,6 +4,7 @@ import type { AuthResponse } from '@/types';
 
 interface AuthState {
   token: string | null;
+  refreshToken: string | null;
   userId: string | null;
   name: string | null;
   email: string | null;
@@ -11,6 +12,7 @@ interface AuthState {
   avatarUrl: string | null;
   isAuthenticated: boolean;
   login: (data: AuthResponse) => void;
+  setTokens: (token: string, refreshToken: string) => void;
   logout: () => void;
   clearAuth: () => void;
   updateUser: (name: string, email: string) => void;
@@ -22,6 +24,7 @@ export const useAuthStore = create<AuthState>()(
   persist(
     (set) => ({
       token: null,
+      refreshToken: null,
       userId: null,
       name: null,
       email: null,
@@ -32,6 +35,7 @@ export const useAuthStore = create<AuthState>()(
       login: (data: AuthResponse) => {
         set((state) => ({
           token: data.token,
+          refreshToken: data.refreshToken,
           userId: data.userId,
           name: data.name,
           email: data.email,
@@ -42,10 +46,15 @@ export const useAuthStore = create<AuthState>()(
         }));
       },
 
+      setTokens: (token: string, refreshToken: string) => {
+        set({ token, refreshToken });
+      },
+
       logout: () => {
         // Preserva a foto de perfil mesmo ao fazer logout (como redes sociais)
         set((state) => ({
           token: null,
+          refreshToken: null,
           userId: null,
           name: null,
           email: null,
@@ -59,6 +68,7 @@ export const useAuthStore = create<AuthState>()(
         // Usado quando token expira - preserva avatar
         set((state) => ({
           token: null,
+          refreshToken: null,
           userId: null,
           name: null,
           email: null,
@@ -85,6 +95,7 @@ export const useAuthStore = create<AuthState>()(
       name: 'fintrack-auth',
       partialize: (state) => ({
         token: state.token,
+        refreshToken: state.refreshToken,
         userId: state.userId,
         name: state.name,
         email: state.email,
@@ -21,6 +21,8 @@ export interface AuthResponse {
   token: string;
   tokenType: string;
   expiresIn: number;
+  refreshToken: string;
+  refreshExpiresIn: number;
   userId: string;
   name: string;
   email: string;
@@ -206,6 +208,19 @@ export interface Dashboard {
   savingsRate: number;
 }
 
+/** Totais projetados no servidor, com as recorrências expandidas no período. */
+export interface ProjectedTotals {
+  startDate: string;
+  endDate: string;
+  projectedIncome: number;
+  incomeCount: number;
+  projectedExpense: number;
+  projectedPendingExpense: number;
+  expenseCount: number;
+  balance: number;
+  savingsRate: number;
+}
+
 // ==================== ENUMS ====================
 export interface EnumOption {
   value: string;
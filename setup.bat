@@ -22,7 +22,7 @@ if not exist .env (
     echo DB_PASSWORD=sua_senha
     echo DB_SSL_MODE=require
     echo JWT_SECRET=seu_jwt_secret
-    echo JWT_EXPIRATION=3600000
+    echo JWT_EXPIRATION=900000
     echo FRONTEND_PORT=3000
     echo.
     pause
@@ -0,0 +1,75 @@
+package com.app.FinTrack.config;
+
+import com.app.FinTrack.service.DataVersionService;
+import com.app.FinTrack.util.AuthUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * GET condicional nas rotas de leitura: a ETag vem da versão dos dados do usuário
+ * ({@link DataVersionService}), então é calculada antes do controller. Se o If-None-Match
+ * do cliente casar, responde 304 com uma única leitura da versão, sem executar as consultas
+ * da rota nem serializar o corpo.
+ *
+ * Cache-Control private/no-cache substitui o no-store padrão do Spring Security,
+ * permitindo que o navegador guarde a resposta e sempre revalide.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String ENUMS_PATH = "/api/enums/";
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final DataVersionService dataVersionService;
+    private final AuthUtils authUtils;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+
+        String eTag = request.getRequestURI().startsWith(request.getContextPath() + ENUMS_PATH)
+                ? dataVersionService.staticETag()
+                : dataVersionService.userETag(authUtils.getCurrentUserId());
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            dataVersionService.recordNotModified();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Comparação fraca do If-None-Match (RFC 9110): aceita lista, "*" e prefixo W/.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.app.FinTrack.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita os jobs agendados (@Scheduled) da aplicação. O número de threads do scheduler
+ * vem de spring.task.scheduling.pool.size (application.yml).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
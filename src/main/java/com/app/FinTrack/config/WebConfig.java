@@ -0,0 +1,38 @@
+package com.app.FinTrack.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuração do Spring MVC.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // ETag/304 nas leituras JSON; exportações em arquivo ficam de fora
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns(
+                        "/api/dashboard/**",
+                        "/api/incomes/**",
+                        "/api/expenses/**",
+                        "/api/investments/**",
+                        "/api/reports/**",
+                        "/api/search/**",
+                        "/api/transactions/**",
+                        "/api/enums/**")
+                .excludePathPatterns(
+                        "/api/reports/transactions/pdf",
+                        "/api/reports/transactions/excel",
+                        "/api/reports/transactions/csv",
+                        "/api/reports/transactions/ndjson",
+                        // estado dos jobs muda sem alterar os dados do usuário
+                        "/api/reports/jobs/**");
+    }
+}
@@ -2,15 +2,19 @@ package com.app.FinTrack.controller;
 
 import com.app.FinTrack.domain.dto.AuthResponseDTO;
 import com.app.FinTrack.domain.dto.LoginRequestDTO;
+import com.app.FinTrack.domain.dto.RefreshTokenRequestDTO;
 import com.app.FinTrack.domain.dto.RegisterRequestDTO;
 import com.app.FinTrack.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -32,11 +36,37 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO request) {
+    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO request,
+                                                 HttpServletRequest httpRequest) {
         log.info("Requisição de login: {}", request.getEmail());
 
-        AuthResponseDTO response = authService.login(request);
+        // Atrás do proxy, o IP real vem de X-Forwarded-For (server.forward-headers-strategy)
+        AuthResponseDTO response = authService.login(request, httpRequest.getRemoteAddr());
 
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        AuthResponseDTO response = authService.refresh(request);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logout(extractBearerToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        authService.logoutAll(extractBearerToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+
+    // A rota exige autenticação, então o header já foi validado pelo filtro JWT
+    private String extractBearerToken(String authorization) {
+        return authorization.substring("Bearer ".length());
+    }
 }
@@ -1,7 +1,9 @@
 package com.app.FinTrack.controller;
 
 import com.app.FinTrack.domain.dto.DashboardDTO;
+import com.app.FinTrack.domain.dto.ProjectedTotalsDTO;
 import com.app.FinTrack.service.DashboardService;
+import com.app.FinTrack.service.RecurrenceProjectionService;
 import com.app.FinTrack.util.AuthUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +26,7 @@ import java.util.UUID;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final RecurrenceProjectionService recurrenceProjectionService;
     private final AuthUtils authUtils;
 
 
@@ -76,4 +79,31 @@ public class DashboardController {
         DashboardDTO dashboard = dashboardService.getDashboardByPeriod(userId, startDate, endDate);
         return ResponseEntity.ok(dashboard);
     }
+
+    /**
+     * Totais projetados do período, com as recorrências expandidas
+     * (ex.: uma receita mensal conta uma vez por mês do período).
+     */
+    @GetMapping("/projected")
+    public ResponseEntity<ProjectedTotalsDTO> getProjectedTotals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.info("Requisição de totais projetados {} a {} para usuário: {}", startDate, endDate, userId);
+
+        ProjectedTotalsDTO totals = recurrenceProjectionService.projectTotals(userId, startDate, endDate);
+        return ResponseEntity.ok(totals);
+    }
+
+    @GetMapping("/projected/current-month")
+    public ResponseEntity<ProjectedTotalsDTO> getCurrentMonthProjectedTotals() {
+        UUID userId = authUtils.getCurrentUserId();
+
+        YearMonth currentMonth = YearMonth.now();
+        log.info("Requisição de totais projetados mês atual ({}) para usuário: {}", currentMonth, userId);
+
+        ProjectedTotalsDTO totals = recurrenceProjectionService.projectTotals(
+                userId, currentMonth.atDay(1), currentMonth.atEndOfMonth());
+        return ResponseEntity.ok(totals);
+    }
 }
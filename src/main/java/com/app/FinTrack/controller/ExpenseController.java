@@ -1,5 +1,8 @@
 package com.app.FinTrack.controller;
 
+import com.app.FinTrack.domain.dto.BulkResultDTO;
+import com.app.FinTrack.domain.dto.CursorPageDTO;
+import com.app.FinTrack.domain.dto.ExpenseBulkRequestDTO;
 import com.app.FinTrack.domain.dto.ExpenseRequestDTO;
 import com.app.FinTrack.domain.dto.ExpenseResponseDTO;
 import com.app.FinTrack.domain.enums.ExpenseCategory;
@@ -11,8 +14,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -52,6 +57,34 @@ public class ExpenseController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Listagem paginada por cursor (opt-in: ativada pelo parâmetro limit).
+     * Envie o nextCursor da resposta anterior para obter a página seguinte.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<ExpenseResponseDTO>> findPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Listando despesas do usuário {} por cursor (limit {})", userId, limit);
+
+        CursorPageDTO<ExpenseResponseDTO> response = expenseService.findPageByUser(userId, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Histórico completo em stream: o JSON é escrito conforme as linhas chegam do banco,
+     * sem montar a lista inteira em memória.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Listando despesas do usuário {} em stream", userId);
+
+        StreamingResponseBody body = out -> expenseService.streamAllByUser(userId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ExpenseResponseDTO> findById(@PathVariable UUID id) {
         UUID userId = authUtils.getCurrentUserId();
@@ -144,6 +177,32 @@ public class ExpenseController {
         return ResponseEntity.ok(response);
     }
 
+    //  OPERAÇÕES EM LOTE (ids ou filtro; respondem a quantidade afetada)
+
+    @PostMapping("/bulk/pay")
+    public ResponseEntity<BulkResultDTO> bulkMarkAsPaid(@Valid @RequestBody ExpenseBulkRequestDTO request) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.info("Marcando despesas como pagas em lote para usuário: {}", userId);
+
+        return ResponseEntity.ok(expenseService.bulkMarkAsPaid(userId, request));
+    }
+
+    @PostMapping("/bulk/unpay")
+    public ResponseEntity<BulkResultDTO> bulkMarkAsPending(@Valid @RequestBody ExpenseBulkRequestDTO request) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.info("Marcando despesas como pendentes em lote para usuário: {}", userId);
+
+        return ResponseEntity.ok(expenseService.bulkMarkAsPending(userId, request));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResultDTO> bulkDelete(@Valid @RequestBody ExpenseBulkRequestDTO request) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.warn("Deletando despesas em lote do usuário: {}", userId);
+
+        return ResponseEntity.ok(expenseService.bulkDelete(userId, request));
+    }
+
     //  RELATÓRIOS
 
     @GetMapping("/total")
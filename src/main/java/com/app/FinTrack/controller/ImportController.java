@@ -0,0 +1,55 @@
+package com.app.FinTrack.controller;
+
+import com.app.FinTrack.domain.dto.ImportResultDTO;
+import com.app.FinTrack.domain.enums.ImportFormat;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.service.StatementImportService;
+import com.app.FinTrack.util.AuthUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Controller REST para importação de extratos bancários.
+ * Substitui o cadastro manual, lançamento a lançamento, do histórico do banco.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportController {
+
+    private final StatementImportService statementImportService;
+    private final AuthUtils authUtils;
+
+    /**
+     * Importa um extrato CSV ou OFX (formato pela extensão, se não informado).
+     * Reenviar o mesmo extrato não duplica lançamentos.
+     */
+    @PostMapping(value = "/statement", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDTO> importStatement(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) ImportFormat format,
+            @RequestParam(defaultValue = "OTHER") PaymentMethod paymentMethod) throws IOException {
+        UUID userId = authUtils.getCurrentUserId();
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo do extrato vazio");
+        }
+        ImportFormat resolved = format != null ? format : ImportFormat.fromFilename(file.getOriginalFilename());
+        log.info("Importação de extrato {} ({} bytes) para usuário: {}", resolved, file.getSize(), userId);
+
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(statementImportService.importStatement(userId, in, resolved, paymentMethod));
+        }
+    }
+}
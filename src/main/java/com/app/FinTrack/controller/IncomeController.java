@@ -1,5 +1,8 @@
 package com.app.FinTrack.controller;
 
+import com.app.FinTrack.domain.dto.BulkResultDTO;
+import com.app.FinTrack.domain.dto.CursorPageDTO;
+import com.app.FinTrack.domain.dto.IncomeBulkRequestDTO;
 import com.app.FinTrack.domain.dto.IncomeRequestDTO;
 import com.app.FinTrack.domain.dto.IncomeResponseDTO;
 import com.app.FinTrack.domain.enums.IncomeCategory;
@@ -10,8 +13,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -50,6 +55,34 @@ public class IncomeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Listagem paginada por cursor (opt-in: ativada pelo parâmetro limit).
+     * Envie o nextCursor da resposta anterior para obter a página seguinte.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<IncomeResponseDTO>> findPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Listando receitas do usuário {} por cursor (limit {})", userId, limit);
+
+        CursorPageDTO<IncomeResponseDTO> response = incomeService.findPageByUser(userId, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Histórico completo em stream: o JSON é escrito conforme as linhas chegam do banco,
+     * sem montar a lista inteira em memória.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Listando receitas do usuário {} em stream", userId);
+
+        StreamingResponseBody body = out -> incomeService.streamAllByUser(userId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<IncomeResponseDTO> findById(@PathVariable UUID id) {
         UUID userId = authUtils.getCurrentUserId();
@@ -79,6 +112,14 @@ public class IncomeController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResultDTO> bulkDelete(@Valid @RequestBody IncomeBulkRequestDTO request) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.warn("Deletando receitas em lote do usuário: {}", userId);
+
+        return ResponseEntity.ok(incomeService.bulkDelete(userId, request));
+    }
+
     // FILTROS
     @GetMapping("/period")
     public ResponseEntity<List<IncomeResponseDTO>> findByPeriod(
@@ -1,5 +1,8 @@
 package com.app.FinTrack.controller;
 
+import com.app.FinTrack.domain.dto.BulkResultDTO;
+import com.app.FinTrack.domain.dto.CursorPageDTO;
+import com.app.FinTrack.domain.dto.InvestmentBulkRequestDTO;
 import com.app.FinTrack.domain.dto.InvestmentRequestDTO;
 import com.app.FinTrack.domain.dto.InvestmentResponseDTO;
 import com.app.FinTrack.domain.enums.InvestmentType;
@@ -9,8 +12,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -48,6 +53,34 @@ public class InvestmentController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Listagem paginada por cursor (opt-in: ativada pelo parâmetro limit).
+     * Envie o nextCursor da resposta anterior para obter a página seguinte.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<InvestmentResponseDTO>> findPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Listando investimentos do usuário {} por cursor (limit {})", userId, limit);
+
+        CursorPageDTO<InvestmentResponseDTO> response = investmentService.findPageByUser(userId, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Histórico completo em stream: o JSON é escrito conforme as linhas chegam do banco,
+     * sem montar a lista inteira em memória.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Listando investimentos do usuário {} em stream", userId);
+
+        StreamingResponseBody body = out -> investmentService.streamAllByUser(userId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InvestmentResponseDTO> findById(@PathVariable UUID id) {
         UUID userId = authUtils.getCurrentUserId();
@@ -77,6 +110,14 @@ public class InvestmentController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResultDTO> bulkDelete(@Valid @RequestBody InvestmentBulkRequestDTO request) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.warn("Deletando investimentos em lote do usuário: {}", userId);
+
+        return ResponseEntity.ok(investmentService.bulkDelete(userId, request));
+    }
+
     //  FILTROS
     @GetMapping("/type/{type}")
     public ResponseEntity<List<InvestmentResponseDTO>> findByType(@PathVariable InvestmentType type) {
@@ -0,0 +1,95 @@
+package com.app.FinTrack.controller;
+
+import com.app.FinTrack.security.BoundedPasswordEncoder;
+import com.app.FinTrack.security.LoginRateLimiter;
+import com.app.FinTrack.security.TokenRevocationService;
+import com.app.FinTrack.service.DashboardCacheService;
+import com.app.FinTrack.service.DataVersionService;
+import com.app.FinTrack.service.ExportQuotaService;
+import com.app.FinTrack.service.StatementImportService;
+import com.app.FinTrack.service.MonthlyRollupService;
+import com.app.FinTrack.service.RecurringRolloverService;
+import com.app.FinTrack.service.ReportJobService;
+import com.app.FinTrack.service.UserCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST com métricas internas da aplicação (caches, filas, limitadores).
+ * Rotas restritas a administradores (ROLE_ADMIN, emails em security.admin-emails).
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final UserCacheService userCacheService;
+    private final TokenRevocationService tokenRevocationService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ExportQuotaService exportQuotaService;
+    private final RecurringRolloverService recurringRolloverService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCacheService dashboardCacheService;
+    private final DataVersionService dataVersionService;
+    private final StatementImportService statementImportService;
+    private final ReportJobService reportJobService;
+
+    @GetMapping("/user-cache")
+    public ResponseEntity<UserCacheService.Stats> getUserCacheStats() {
+        return ResponseEntity.ok(userCacheService.stats());
+    }
+
+    @GetMapping("/token-revocation")
+    public ResponseEntity<TokenRevocationService.Stats> getTokenRevocationStats() {
+        return ResponseEntity.ok(tokenRevocationService.stats());
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<BoundedPasswordEncoder.Stats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.stats());
+    }
+
+    @GetMapping("/login-rate-limit")
+    public ResponseEntity<LoginRateLimiter.Stats> getLoginRateLimitStats() {
+        return ResponseEntity.ok(loginRateLimiter.stats());
+    }
+
+    @GetMapping("/export-quota")
+    public ResponseEntity<ExportQuotaService.Stats> getExportQuotaStats() {
+        return ResponseEntity.ok(exportQuotaService.stats());
+    }
+
+    @GetMapping("/recurring-rollover")
+    public ResponseEntity<RecurringRolloverService.Stats> getRecurringRolloverStats() {
+        return ResponseEntity.ok(recurringRolloverService.stats());
+    }
+
+    @GetMapping("/monthly-rollups")
+    public ResponseEntity<MonthlyRollupService.Stats> getMonthlyRollupStats() {
+        return ResponseEntity.ok(monthlyRollupService.stats());
+    }
+
+    @GetMapping("/dashboard-cache")
+    public ResponseEntity<DashboardCacheService.Stats> getDashboardCacheStats() {
+        return ResponseEntity.ok(dashboardCacheService.stats());
+    }
+
+    @GetMapping("/data-versions")
+    public ResponseEntity<DataVersionService.Stats> getDataVersionStats() {
+        return ResponseEntity.ok(dataVersionService.stats());
+    }
+
+    @GetMapping("/statement-imports")
+    public ResponseEntity<StatementImportService.Stats> getStatementImportStats() {
+        return ResponseEntity.ok(statementImportService.stats());
+    }
+
+    @GetMapping("/report-jobs")
+    public ResponseEntity<ReportJobService.Stats> getReportJobStats() {
+        return ResponseEntity.ok(reportJobService.stats());
+    }
+}
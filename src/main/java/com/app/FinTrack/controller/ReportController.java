@@ -1,11 +1,17 @@
 package com.app.FinTrack.controller;
 
+import com.app.FinTrack.domain.dto.MonthlySummaryDTO;
+import com.app.FinTrack.domain.dto.ProjectedTotalsDTO;
 import com.app.FinTrack.domain.dto.ReportSummaryDTO;
+import com.app.FinTrack.domain.enums.ExportFormat;
 import com.app.FinTrack.domain.enums.ReportType;
 import com.app.FinTrack.service.ExcelReportService;
+import com.app.FinTrack.service.ExportQuotaService;
 import com.app.FinTrack.service.PdfReportService;
+import com.app.FinTrack.service.RecurrenceProjectionService;
 import com.app.FinTrack.service.ReportService;
 import com.app.FinTrack.util.AuthUtils;
+import com.app.FinTrack.util.ReportRowWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -13,8 +19,11 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -30,6 +39,8 @@ public class ReportController {
     private final ReportService reportService;
     private final PdfReportService pdfReportService;
     private final ExcelReportService excelReportService;
+    private final ExportQuotaService exportQuotaService;
+    private final RecurrenceProjectionService recurrenceProjectionService;
     private final AuthUtils authUtils;
 
     /**
@@ -54,15 +65,16 @@ public class ReportController {
     }
 
     /**
-     * Exporta relatório em formato PDF.
+     * Exporta relatório em formato PDF, em stream: o documento é gerado conforme as transações
+     * são lidas e enviado página a página (sem Content-Length).
      *
      * @param startDate Data inicial
      * @param endDate   Data final
      * @param type      Tipo de transação
-     * @return Arquivo PDF para download
+     * @return Arquivo PDF para download (429 se a cota de exportação estiver esgotada)
      */
     @GetMapping("/transactions/pdf")
-    public ResponseEntity<byte[]> downloadPdf(
+    public ResponseEntity<StreamingResponseBody> downloadPdf(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "ALL") ReportType type) {
@@ -70,34 +82,32 @@ public class ReportController {
         UUID userId = authUtils.getCurrentUserId();
         log.info("Download de PDF - usuário {} - {} a {}", userId, startDate, endDate);
 
-        // Gerar dados do relatório
-        ReportSummaryDTO report = reportService.generateReport(userId, startDate, endDate, type);
-
-        // Gerar PDF
-        byte[] pdfBytes = pdfReportService.generatePdf(report);
+        // Debitar a cota pelo tamanho estimado antes de carregar qualquer transação
+        exportQuotaService.charge(userId, ExportFormat.PDF,
+                reportService.countTransactions(userId, startDate, endDate, type));
 
         // Nome do arquivo
         String filename = String.format("relatorio_fintrack_%s_%s.pdf",
                 startDate.toString(),
                 endDate.toString());
 
+        StreamingResponseBody body = out -> pdfReportService.writePdf(userId, startDate, endDate, type, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(MediaType.APPLICATION_PDF)
-                .contentLength(pdfBytes.length)
-                .body(pdfBytes);
+                .body(body);
     }
 
     /**
-     * Exporta relatório em formato Excel.
+     * Exporta relatório em formato Excel, em stream (SXSSF, sem Content-Length).
      *
      * @param startDate Data inicial
      * @param endDate   Data final
      * @param type      Tipo de transação
-     * @return Arquivo Excel para download
+     * @return Arquivo Excel para download (429 se a cota de exportação estiver esgotada)
      */
     @GetMapping("/transactions/excel")
-    public ResponseEntity<byte[]> downloadExcel(
+    public ResponseEntity<StreamingResponseBody> downloadExcel(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "ALL") ReportType type) {
@@ -105,22 +115,49 @@ public class ReportController {
         UUID userId = authUtils.getCurrentUserId();
         log.info("Download de Excel - usuário {} - {} a {}", userId, startDate, endDate);
 
-        // Gerar dados do relatório
-        ReportSummaryDTO report = reportService.generateReport(userId, startDate, endDate, type);
-
-        // Gerar Excel
-        byte[] excelBytes = excelReportService.generateExcel(report);
+        // Debitar a cota pelo tamanho estimado antes de carregar qualquer transação
+        exportQuotaService.charge(userId, ExportFormat.EXCEL,
+                reportService.countTransactions(userId, startDate, endDate, type));
 
         // Nome do arquivo
         String filename = String.format("relatorio_fintrack_%s_%s.xlsx",
                 startDate.toString(),
                 endDate.toString());
 
+        StreamingResponseBody body = out -> excelReportService.writeExcel(userId, startDate, endDate, type, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .contentLength(excelBytes.length)
-                .body(excelBytes);
+                .body(body);
+    }
+
+    /**
+     * Exporta as transações em CSV (RFC 4180, UTF-8), em stream: cada linha é escrita
+     * conforme sai do banco.
+     *
+     * @return Arquivo CSV para download (429 se a cota de exportação estiver esgotada)
+     */
+    @GetMapping("/transactions/csv")
+    public ResponseEntity<StreamingResponseBody> downloadCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "ALL") ReportType type) {
+        return streamRows(ExportFormat.CSV, startDate, endDate, type, "csv",
+                MediaType.parseMediaType("text/csv;charset=UTF-8"));
+    }
+
+    /**
+     * Exporta as transações em NDJSON (um objeto JSON por linha), em stream.
+     *
+     * @return Arquivo NDJSON para download (429 se a cota de exportação estiver esgotada)
+     */
+    @GetMapping("/transactions/ndjson")
+    public ResponseEntity<StreamingResponseBody> downloadNdjson(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "ALL") ReportType type) {
+        return streamRows(ExportFormat.NDJSON, startDate, endDate, type, "ndjson",
+                MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"));
     }
 
     /**
@@ -146,4 +183,62 @@ public class ReportController {
         ReportSummaryDTO report = reportService.generateLast30DaysReport(userId, type);
         return ResponseEntity.ok(report);
     }
+
+    /**
+     * Série mensal de totais projetados (recorrências expandidas), usada no gráfico
+     * de evolução do dashboard. Máximo de 120 meses.
+     */
+    @GetMapping("/projected/monthly")
+    public ResponseEntity<List<ProjectedTotalsDTO>> getMonthlyProjection(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        UUID userId = authUtils.getCurrentUserId();
+        log.info("Requisição de projeção mensal para usuário {} - {} a {}", userId, startDate, endDate);
+
+        List<ProjectedTotalsDTO> series = recurrenceProjectionService.projectMonthly(userId, startDate, endDate);
+        return ResponseEntity.ok(series);
+    }
+
+    /**
+     * Resumo mês a mês (receitas, despesas pelo vencimento, pendentes e saldo),
+     * lido dos agregados mensais. Máximo de 120 meses.
+     *
+     * @param startMonth Mês inicial (formato: yyyy-MM)
+     * @param endMonth   Mês final (formato: yyyy-MM)
+     */
+    @GetMapping("/monthly-summary")
+    public ResponseEntity<List<MonthlySummaryDTO>> getMonthlySummary(
+            @RequestParam YearMonth startMonth,
+            @RequestParam YearMonth endMonth) {
+
+        UUID userId = authUtils.getCurrentUserId();
+        log.info("Requisição de resumo mensal para usuário {} - {} a {}", userId, startMonth, endMonth);
+
+        List<MonthlySummaryDTO> summary = reportService.generateMonthlySummary(userId, startMonth, endMonth);
+        return ResponseEntity.ok(summary);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamRows(ExportFormat format, LocalDate startDate,
+                                                             LocalDate endDate, ReportType type,
+                                                             String extension, MediaType mediaType) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.info("Download de {} - usuário {} - {} a {}", format.getDisplayName(), userId, startDate, endDate);
+
+        // Debitar a cota pelo tamanho estimado antes de ler qualquer transação
+        exportQuotaService.charge(userId, format,
+                reportService.countTransactions(userId, startDate, endDate, type));
+
+        String filename = String.format("relatorio_fintrack_%s_%s.%s",
+                startDate.toString(),
+                endDate.toString(),
+                extension);
+
+        StreamingResponseBody body = out -> reportService.writeRows(
+                userId, startDate, endDate, type, ReportRowWriter.open(out, format));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(mediaType)
+                .body(body);
+    }
 }
@@ -0,0 +1,98 @@
+package com.app.FinTrack.controller;
+
+import com.app.FinTrack.domain.dto.ReportJobDTO;
+import com.app.FinTrack.domain.enums.ExportFormat;
+import com.app.FinTrack.domain.enums.ReportType;
+import com.app.FinTrack.service.ReportJobService;
+import com.app.FinTrack.util.AuthUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controller REST dos relatórios assíncronos: cria o job, consulta o estado e baixa o arquivo.
+ */
+@RestController
+@RequestMapping("/api/reports/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+    private final AuthUtils authUtils;
+
+    /**
+     * Enfileira a geração do relatório e responde 202 com o job (Location aponta para o estado).
+     *
+     * @param format PDF, EXCEL, CSV ou NDJSON
+     * @return 429 se o limite de jobs ativos ou a cota de exportação estiver esgotada
+     */
+    @PostMapping
+    public ResponseEntity<ReportJobDTO> submit(
+            @RequestParam ExportFormat format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "ALL") ReportType type) {
+
+        UUID userId = authUtils.getCurrentUserId();
+        log.info("Relatório assíncrono ({}) - usuário {} - {} a {}", format, userId, startDate, endDate);
+
+        ReportJobDTO job = reportJobService.submit(userId, format, type, startDate, endDate);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.id()))
+                .body(job);
+    }
+
+    /**
+     * Últimos 20 jobs do usuário, mais recentes primeiro.
+     */
+    @GetMapping
+    public ResponseEntity<List<ReportJobDTO>> findRecent() {
+        UUID userId = authUtils.getCurrentUserId();
+        return ResponseEntity.ok(reportJobService.findRecentByUser(userId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobDTO> findById(@PathVariable UUID id) {
+        UUID userId = authUtils.getCurrentUserId();
+        return ResponseEntity.ok(reportJobService.findById(userId, id));
+    }
+
+    /**
+     * Baixa o arquivo gerado. Aceita Range (206 Partial Content) para retomar downloads.
+     *
+     * @return 409 se o job ainda não terminou ou falhou
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(@PathVariable UUID id) {
+        UUID userId = authUtils.getCurrentUserId();
+        ReportJobService.JobFile file = reportJobService.resultFile(userId, id);
+        log.info("Download do relatório assíncrono {} - usuário {}", id, userId);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.filename() + "\"")
+                .eTag("\"" + file.job().id() + "-" + file.job().fileSize() + "\"")
+                .contentType(mediaType(file.job().format()))
+                .body(new FileSystemResource(file.path()));
+    }
+
+    private static MediaType mediaType(ExportFormat format) {
+        return switch (format) {
+            case PDF -> MediaType.APPLICATION_PDF;
+            case EXCEL -> MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+            case CSV -> MediaType.parseMediaType("text/csv;charset=UTF-8");
+            case NDJSON -> MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+        };
+    }
+}
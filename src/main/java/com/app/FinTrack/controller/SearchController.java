@@ -0,0 +1,44 @@
+package com.app.FinTrack.controller;
+
+import com.app.FinTrack.domain.dto.SearchPageDTO;
+import com.app.FinTrack.domain.enums.SearchScope;
+import com.app.FinTrack.service.SearchService;
+import com.app.FinTrack.util.AuthUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Controller REST da busca textual em receitas, despesas e investimentos.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+
+    private final SearchService searchService;
+    private final AuthUtils authUtils;
+
+    /**
+     * Resultados em ordem de relevância, paginados (page começa em 0).
+     * Aceita termos com erro de digitação (similaridade de trigramas).
+     */
+    @GetMapping
+    public ResponseEntity<SearchPageDTO> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "ALL") SearchScope scope,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Busca textual do usuário: {}", userId);
+
+        return ResponseEntity.ok(searchService.search(userId, query, scope, page, size));
+    }
+}
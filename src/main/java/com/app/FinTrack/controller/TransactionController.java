@@ -0,0 +1,40 @@
+package com.app.FinTrack.controller;
+
+import com.app.FinTrack.domain.dto.TransactionQueryDTO;
+import com.app.FinTrack.domain.dto.TransactionQueryResultDTO;
+import com.app.FinTrack.service.TransactionQueryService;
+import com.app.FinTrack.util.AuthUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Controller REST da consulta combinada de receitas e despesas.
+ */
+@RestController
+@RequestMapping("/api/transactions")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionController {
+
+    private final TransactionQueryService transactionQueryService;
+    private final AuthUtils authUtils;
+
+    /**
+     * Filtros combináveis via query string (listas repetindo o parâmetro ou separadas por vírgula),
+     * ex.: ?categories=FOOD,TRANSPORT&isPaid=false&minAmount=50&q=mercado&page=0&size=50
+     */
+    @GetMapping("/query")
+    public ResponseEntity<TransactionQueryResultDTO> query(@ModelAttribute TransactionQueryDTO filters) {
+        UUID userId = authUtils.getCurrentUserId();
+        log.debug("Consulta de transações do usuário: {}", userId);
+
+        return ResponseEntity.ok(transactionQueryService.query(userId, filters));
+    }
+}
@@ -1,5 +1,6 @@
 package com.app.FinTrack.controller;
 
+import com.app.FinTrack.domain.dto.CursorPageDTO;
 import com.app.FinTrack.domain.dto.UserRequestDTO;
 import com.app.FinTrack.domain.dto.UserResponseDTO;
 import com.app.FinTrack.service.UserService;
@@ -48,6 +49,20 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Listagem paginada por cursor (opt-in: ativada pelo parâmetro limit).
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getUsersPage(
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor) {
+        log.debug("Requisição para listar usuários por cursor (limit {})", limit);
+
+        CursorPageDTO<UserResponseDTO> response = userService.findPage(cursor, limit);
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<UserResponseDTO> getUserByEmail(@PathVariable String email) {
         log.debug("Requisição para buscar usuário por email: {}", email);
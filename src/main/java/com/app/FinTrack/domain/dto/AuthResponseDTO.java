@@ -21,6 +21,12 @@ public class AuthResponseDTO {
 
     private long expiresIn;
 
+    /**
+     * Refresh token de uso único (trocado em /api/auth/refresh)
+     */
+    private String refreshToken;
+    private long refreshExpiresIn;
+
     /**
      * Dados do usuário autenticado
      */
@@ -0,0 +1,11 @@
+package com.app.FinTrack.domain.dto;
+
+/**
+ * Resultado de uma operação em lote.
+ *
+ * @param affected lançamentos alterados ou excluídos
+ */
+public record BulkResultDTO(
+        long affected
+) {
+}
@@ -0,0 +1,32 @@
+package com.app.FinTrack.domain.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ *
+ * @param items      itens da página, na ordem da listagem
+ * @param nextCursor cursor opaco para a próxima página (null na última)
+ * @param hasMore    se existem mais itens após esta página
+ */
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code limit + 1} linhas:
+     * a linha extra só indica que há próxima página e é descartada.
+     */
+    public static <E, T> CursorPageDTO<T> of(List<E> rows, int limit,
+                                             Function<E, String> cursorOf,
+                                             Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(page.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seleção de despesas para operações em lote: ids ou filtro (não os dois).
+ * No filtro, os critérios informados são combinados (E); os nulos são ignorados.
+ * Ex.: todas as pendentes com vencimento em janeiro: isPaid=false, dueDateFrom=2025-01-01, dueDateTo=2025-01-31.
+ */
+public record ExpenseBulkRequestDTO(
+
+        @Size(max = 1000, message = "Máximo de 1000 ids por operação")
+        List<UUID> ids,
+
+        LocalDate dueDateFrom,
+
+        LocalDate dueDateTo,
+
+        Boolean isPaid,
+
+        ExpenseCategory category
+) {
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return dueDateFrom != null || dueDateTo != null || isPaid != null || category != null;
+    }
+}
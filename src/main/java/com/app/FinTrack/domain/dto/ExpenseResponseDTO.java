@@ -31,6 +31,23 @@ public record ExpenseResponseDTO(
         LocalDateTime updatedAt
 ) {
 
+    /**
+     * Construtor usado pelas consultas de projeção (SELECT new) do ExpenseRepository:
+     * monta a resposta direto das colunas, sem instanciar a entidade.
+     */
+    public ExpenseResponseDTO(UUID id, String description, BigDecimal amount,
+                              ExpenseCategory category, PaymentMethod paymentMethod,
+                              LocalDate date, LocalDate dueDate, RecurrenceType recurrence,
+                              Boolean isPaid, String notes,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, description, amount,
+                category, category.getDisplayName(),
+                paymentMethod, paymentMethod.getDisplayName(),
+                date, dueDate,
+                recurrence, recurrence.getDisplayName(),
+                isPaid, notes, createdAt, updatedAt);
+    }
+
     public static ExpenseResponseDTO fromEntity(Expense expense) {
         return new ExpenseResponseDTO(
                 expense.getId(),
@@ -0,0 +1,25 @@
+package com.app.FinTrack.domain.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da importação de um extrato.
+ *
+ * @param totalRows        lançamentos lidos do arquivo (válidos ou não)
+ * @param incomesImported  receitas criadas (créditos)
+ * @param expensesImported despesas criadas (débitos)
+ * @param duplicates       lançamentos ignorados por já terem sido importados antes
+ * @param failed           lançamentos rejeitados
+ * @param errors           detalhes das rejeições (limitado; ver errorsTruncated)
+ * @param errorsTruncated  se houve mais rejeições do que as listadas
+ */
+public record ImportResultDTO(
+        long totalRows,
+        long incomesImported,
+        long expensesImported,
+        long duplicates,
+        long failed,
+        List<ImportRowErrorDTO> errors,
+        boolean errorsTruncated
+) {
+}
@@ -0,0 +1,13 @@
+package com.app.FinTrack.domain.dto;
+
+/**
+ * Lançamento do extrato que não pôde ser importado.
+ *
+ * @param line    linha do arquivo onde o lançamento começa
+ * @param message motivo da rejeição
+ */
+public record ImportRowErrorDTO(
+        long line,
+        String message
+) {
+}
@@ -0,0 +1,32 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.enums.IncomeCategory;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seleção de receitas para operações em lote: ids ou filtro (não os dois).
+ * No filtro, os critérios informados são combinados (E); os nulos são ignorados.
+ */
+public record IncomeBulkRequestDTO(
+
+        @Size(max = 1000, message = "Máximo de 1000 ids por operação")
+        List<UUID> ids,
+
+        LocalDate startDate,
+
+        LocalDate endDate,
+
+        IncomeCategory category
+) {
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return startDate != null || endDate != null || category != null;
+    }
+}
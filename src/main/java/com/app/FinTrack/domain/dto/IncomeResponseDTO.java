@@ -26,6 +26,19 @@ public record IncomeResponseDTO(
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {
+    /**
+     * Construtor usado pelas consultas de projeção (SELECT new) do IncomeRepository.
+     */
+    public IncomeResponseDTO(UUID id, String description, BigDecimal amount,
+                             IncomeCategory category, LocalDate date, RecurrenceType recurrence,
+                             String notes, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, description, amount,
+                category, category.getDisplayName(),
+                date,
+                recurrence, recurrence.getDisplayName(),
+                notes, createdAt, updatedAt);
+    }
+
     public static IncomeResponseDTO fromEntity(Income income) {
         return new IncomeResponseDTO(
                 income.getId(),
@@ -34,6 +34,26 @@ public record InvestmentResponseDTO(
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {
+    /**
+     * Construtor usado pelas consultas de projeção (SELECT new) do InvestmentRepository.
+     * Os campos calculados usam as mesmas regras da entidade.
+     */
+    public InvestmentResponseDTO(UUID id, String name, InvestmentType type, String ticker,
+                                 BigDecimal quantity, BigDecimal purchasePrice, BigDecimal currentPrice,
+                                 LocalDate purchaseDate, String broker, String notes,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, type, type.getDisplayName(), ticker,
+                quantity, purchasePrice, currentPrice, purchaseDate, broker, notes,
+
+                // Campos calculados
+                Investment.totalInvested(quantity, purchasePrice),
+                Investment.currentValue(quantity, currentPrice),
+                Investment.profitLoss(quantity, purchasePrice, currentPrice),
+                Investment.profitLossPercentage(quantity, purchasePrice, currentPrice),
+
+                createdAt, updatedAt);
+    }
+
     public static InvestmentResponseDTO fromEntity(Investment investment) {
         return new InvestmentResponseDTO(
                 investment.getId(),
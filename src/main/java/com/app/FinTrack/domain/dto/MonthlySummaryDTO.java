@@ -0,0 +1,18 @@
+package com.app.FinTrack.domain.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Totais de um mês (receitas por data, despesas por vencimento), lidos dos agregados mensais.
+ */
+public record MonthlySummaryDTO(
+        YearMonth month,
+        BigDecimal totalIncome,
+        long incomeCount,
+        BigDecimal totalExpense,
+        BigDecimal pendingExpense,
+        long expenseCount,
+        BigDecimal balance
+) {
+}
@@ -0,0 +1,27 @@
+package com.app.FinTrack.domain.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais projetados de um período, com as recorrências expandidas
+ * (ex.: uma despesa mensal conta uma vez por mês do período).
+ */
+public record ProjectedTotalsDTO(
+        LocalDate startDate,
+        LocalDate endDate,
+
+        // Receitas
+        BigDecimal projectedIncome,
+        long incomeCount,
+
+        // Despesas
+        BigDecimal projectedExpense,
+        BigDecimal projectedPendingExpense,
+        long expenseCount,
+
+        // Balanço
+        BigDecimal balance,
+        BigDecimal savingsRate
+) {
+}
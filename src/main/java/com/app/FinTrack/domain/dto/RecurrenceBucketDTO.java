@@ -0,0 +1,20 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.enums.RecurrenceType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Soma de lançamentos com a mesma recorrência e a mesma data (agrupados no banco).
+ * Todos os itens do grupo ocorrem as mesmas vezes em qualquer período, então a
+ * projeção é calculada uma vez por grupo e não por linha.
+ */
+public record RecurrenceBucketDTO(
+        RecurrenceType recurrence,
+        LocalDate anchor,
+        BigDecimal amount,
+        Long count,
+        Boolean paid
+) {
+}
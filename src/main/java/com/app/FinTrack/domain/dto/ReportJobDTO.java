@@ -0,0 +1,45 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.entity.ReportJob;
+import com.app.FinTrack.domain.enums.ExportFormat;
+import com.app.FinTrack.domain.enums.ReportJobStatus;
+import com.app.FinTrack.domain.enums.ReportType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Estado de um job assíncrono de relatório. rowCount e fileSize só existem com status DONE.
+ */
+public record ReportJobDTO(
+        UUID id,
+        ExportFormat format,
+        ReportType type,
+        LocalDate startDate,
+        LocalDate endDate,
+        ReportJobStatus status,
+        Long rowCount,
+        Long fileSize,
+        String errorMessage,
+        Instant createdAt,
+        Instant finishedAt,
+        Instant expiresAt
+) {
+    public static ReportJobDTO fromEntity(ReportJob job) {
+        return new ReportJobDTO(
+                job.getId(),
+                job.getFormat(),
+                job.getReportType(),
+                job.getStartDate(),
+                job.getEndDate(),
+                job.getStatus(),
+                job.getRowCount(),
+                job.getFileSize(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getFinishedAt(),
+                job.getExpiresAt()
+        );
+    }
+}
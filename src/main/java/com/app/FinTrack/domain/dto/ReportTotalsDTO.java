@@ -0,0 +1,25 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.enums.ReportType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cabeçalho do relatório de transações: período, filtro e totais, sem as transações.
+ * Entregue antes das linhas na geração em streaming.
+ */
+public record ReportTotalsDTO(
+        LocalDate startDate,
+        LocalDate endDate,
+        ReportType filterType,
+        BigDecimal totalIncome,
+        BigDecimal totalExpense,
+        BigDecimal balance,
+        long incomeCount,
+        long expenseCount
+) {
+    public long transactionCount() {
+        return incomeCount + expenseCount;
+    }
+}
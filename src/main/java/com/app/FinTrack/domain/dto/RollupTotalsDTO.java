@@ -0,0 +1,17 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.enums.RollupKind;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Soma e contagem de um tipo de agregado em um mês (todas as categorias).
+ */
+public record RollupTotalsDTO(
+        LocalDate month,
+        RollupKind kind,
+        BigDecimal amount,
+        Long count
+) {
+}
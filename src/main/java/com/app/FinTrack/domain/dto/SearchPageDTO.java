@@ -0,0 +1,18 @@
+package com.app.FinTrack.domain.dto;
+
+import java.util.List;
+
+/**
+ * Página da busca textual, em ordem de relevância.
+ *
+ * @param page    página atual (começa em 0)
+ * @param size    tamanho da página
+ * @param hasMore se existem mais resultados após esta página
+ */
+public record SearchPageDTO(
+        List<SearchResultDTO> items,
+        int page,
+        int size,
+        boolean hasMore
+) {
+}
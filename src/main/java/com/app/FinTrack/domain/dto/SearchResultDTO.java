@@ -0,0 +1,26 @@
+package com.app.FinTrack.domain.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Resultado da busca textual, comum a receitas, despesas e investimentos.
+ *
+ * @param type     INCOME, EXPENSE ou INVESTMENT
+ * @param title    descrição (receita/despesa) ou nome (investimento)
+ * @param amount   valor; para investimentos, o total investido
+ * @param date     data do lançamento; para investimentos, a data de compra
+ * @param rank     relevância (maior = mais relevante)
+ */
+public record SearchResultDTO(
+        String type,
+        UUID id,
+        String title,
+        String category,
+        BigDecimal amount,
+        LocalDate date,
+        String notes,
+        double rank
+) {
+}
@@ -0,0 +1,42 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.domain.enums.ReportType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filtros combináveis da consulta de transações (receitas e despesas). Todos opcionais;
+ * os informados são combinados (E).
+ *
+ * paymentMethods, isPaid e dueDate* só existem em despesas: informá-los restringe a
+ * consulta às despesas. categories aceita categorias de receita e de despesa.
+ *
+ * @param q texto contido na descrição ou nas observações
+ */
+public record TransactionQueryDTO(
+        ReportType type,
+        List<String> categories,
+        List<PaymentMethod> paymentMethods,
+        Boolean isPaid,
+        BigDecimal minAmount,
+        BigDecimal maxAmount,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDateTo,
+        String q,
+        Integer page,
+        Integer size
+) {
+    /**
+     * Se algum filtro exclusivo de despesas foi informado.
+     */
+    public boolean hasExpenseOnlyFilter() {
+        return (paymentMethods != null && !paymentMethods.isEmpty())
+                || isPaid != null || dueDateFrom != null || dueDateTo != null;
+    }
+}
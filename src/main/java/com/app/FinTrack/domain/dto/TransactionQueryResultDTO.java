@@ -0,0 +1,26 @@
+package com.app.FinTrack.domain.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Página da consulta de transações com os totais de tudo o que casou com os filtros
+ * (não só da página).
+ *
+ * @param page       página atual (começa em 0)
+ * @param totalCount total de transações que casaram com os filtros
+ */
+public record TransactionQueryResultDTO(
+        List<TransactionRowDTO> items,
+        int page,
+        int size,
+        boolean hasMore,
+        long totalCount,
+        BigDecimal totalIncome,
+        long incomeCount,
+        BigDecimal totalExpense,
+        BigDecimal pendingExpense,
+        long expenseCount,
+        BigDecimal balance
+) {
+}
@@ -0,0 +1,27 @@
+package com.app.FinTrack.domain.dto;
+
+import com.app.FinTrack.domain.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Linha da consulta de transações. dueDate, paymentMethod e isPaid são nulos em receitas.
+ *
+ * @param type INCOME ou EXPENSE
+ */
+public record TransactionRowDTO(
+        UUID id,
+        String type,
+        LocalDate date,
+        LocalDate dueDate,
+        String category,
+        String categoryDisplayName,
+        String description,
+        BigDecimal amount,
+        PaymentMethod paymentMethod,
+        Boolean isPaid,
+        String notes
+) {
+}
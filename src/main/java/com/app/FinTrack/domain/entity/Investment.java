@@ -77,27 +77,45 @@ public class Investment {
 
     /** Calcula o valor total investido (quantidade × preço de compra). */
     public BigDecimal getTotalInvested() {
-        return quantity.multiply(purchasePrice);
+        return totalInvested(quantity, purchasePrice);
     }
 
     /** Calcula o valor atual do investimento (quantidade × preço atual). */
     public BigDecimal getCurrentValue() {
-        if (currentPrice == null) return null;
-        return quantity.multiply(currentPrice);
+        return currentValue(quantity, currentPrice);
     }
 
     /** Calcula o lucro/prejuízo (valor atual - valor investido). */
     public BigDecimal getProfitLoss() {
-        BigDecimal currentValue = getCurrentValue();
-        if (currentValue == null) return null;
-        return currentValue.subtract(getTotalInvested());
+        return profitLoss(quantity, purchasePrice, currentPrice);
     }
 
     /** Calcula a rentabilidade percentual. */
     public BigDecimal getProfitLossPercentage() {
-        BigDecimal profitLoss = getProfitLoss();
+        return profitLossPercentage(quantity, purchasePrice, currentPrice);
+    }
+
+    // Versões estáticas, usadas também pela projeção InvestmentResponseDTO (sem entidade)
+
+    public static BigDecimal totalInvested(BigDecimal quantity, BigDecimal purchasePrice) {
+        return quantity.multiply(purchasePrice);
+    }
+
+    public static BigDecimal currentValue(BigDecimal quantity, BigDecimal currentPrice) {
+        if (currentPrice == null) return null;
+        return quantity.multiply(currentPrice);
+    }
+
+    public static BigDecimal profitLoss(BigDecimal quantity, BigDecimal purchasePrice, BigDecimal currentPrice) {
+        BigDecimal currentValue = currentValue(quantity, currentPrice);
+        if (currentValue == null) return null;
+        return currentValue.subtract(totalInvested(quantity, purchasePrice));
+    }
+
+    public static BigDecimal profitLossPercentage(BigDecimal quantity, BigDecimal purchasePrice, BigDecimal currentPrice) {
+        BigDecimal profitLoss = profitLoss(quantity, purchasePrice, currentPrice);
         if (profitLoss == null) return null;
-        BigDecimal totalInvested = getTotalInvested();
+        BigDecimal totalInvested = totalInvested(quantity, purchasePrice);
         if (totalInvested.compareTo(BigDecimal.ZERO) == 0) return BigDecimal.ZERO;
         return profitLoss.divide(totalInvested, 4, RoundingMode.HALF_UP)
                 .multiply(new BigDecimal("100"));
@@ -0,0 +1,62 @@
+package com.app.FinTrack.domain.entity;
+
+import com.app.FinTrack.domain.enums.RollupKind;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Soma e contagem mensais de lançamentos por usuário, tipo e categoria.
+ * Escrita apenas por upserts nativos (MonthlyRollupRepository); a entidade serve às leituras.
+ */
+@Entity
+@Table(name = "monthly_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class MonthlyRollup {
+
+    @EmbeddedId
+    @EqualsAndHashCode.Include
+    private Key id;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "kind", nullable = false, length = 20)
+        private RollupKind kind;
+
+        /** Primeiro dia do mês de referência. */
+        @Column(name = "month", nullable = false)
+        private LocalDate month;
+
+        @Column(name = "category", nullable = false, length = 50)
+        private String category;
+    }
+}
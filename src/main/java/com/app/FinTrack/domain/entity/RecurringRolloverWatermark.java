@@ -0,0 +1,34 @@
+package com.app.FinTrack.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Progresso do rollover de despesas recorrentes: o usuário já foi processado até rolledThrough
+ * (primeiro dia do mês).
+ */
+@Entity
+@Table(name = "recurring_rollover_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class RecurringRolloverWatermark {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    @EqualsAndHashCode.Include
+    private UUID userId;
+
+    @Column(name = "rolled_through", nullable = false)
+    private LocalDate rolledThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,83 @@
+package com.app.FinTrack.domain.entity;
+
+import com.app.FinTrack.domain.enums.ExportFormat;
+import com.app.FinTrack.domain.enums.ReportJobStatus;
+import com.app.FinTrack.domain.enums.ReportType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Exportação de relatório executada em segundo plano. O arquivo gerado fica no disco
+ * local, nomeado pelo id do job.
+ */
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, updatable = false, length = 20)
+    private ExportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, updatable = false, length = 20)
+    private ReportType reportType;
+
+    @Column(name = "start_date", nullable = false, updatable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false, updatable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "row_count")
+    private Long rowCount;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "worker_id", length = 100)
+    private String workerId;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+}
@@ -0,0 +1,36 @@
+package com.app.FinTrack.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Token JWT revogado individualmente (logout), identificado pelo jti.
+ * O registro só é necessário até a expiração do token.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", updatable = false, nullable = false, length = 64)
+    @EqualsAndHashCode.Include
+    private String jti;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -0,0 +1,29 @@
+package com.app.FinTrack.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Marco de revogação por usuário: tokens emitidos antes de notBefore são inválidos.
+ */
+@Entity
+@Table(name = "user_token_revocations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    @EqualsAndHashCode.Include
+    private UUID userId;
+
+    @Column(name = "not_before", nullable = false)
+    private Instant notBefore;
+}
@@ -0,0 +1,25 @@
+package com.app.FinTrack.domain.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Formatos de exportação de relatório. O código identifica o orçamento de
+ * exportação em quota.exports.&lt;code&gt;.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    PDF("pdf", "PDF"),
+    EXCEL("excel", "Excel"),
+    CSV("csv", "CSV"),
+    NDJSON("ndjson", "NDJSON");
+
+    private final String code;
+    private final String displayName;
+
+    @Override
+    public String toString() {
+        return this.code;
+    }
+}
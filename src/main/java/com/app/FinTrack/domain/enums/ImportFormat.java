@@ -0,0 +1,30 @@
+package com.app.FinTrack.domain.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Formatos de extrato bancário aceitos na importação.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImportFormat {
+    CSV("CSV", ".csv"),
+    OFX("OFX", ".ofx");
+
+    private final String displayName;
+    private final String extension;
+
+    /**
+     * Formato pela extensão do arquivo (.ofx/.qfx = OFX, demais = CSV).
+     */
+    public static ImportFormat fromFilename(String filename) {
+        if (filename != null) {
+            String lower = filename.toLowerCase();
+            if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+                return OFX;
+            }
+        }
+        return CSV;
+    }
+}
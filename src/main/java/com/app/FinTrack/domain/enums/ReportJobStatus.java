@@ -0,0 +1,16 @@
+package com.app.FinTrack.domain.enums;
+
+/**
+ * Estado de um job assíncrono de relatório.
+ * QUEUED -> RUNNING -> DONE | FAILED; RUNNING volta a QUEUED se o nó reiniciar no meio.
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED;
+
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
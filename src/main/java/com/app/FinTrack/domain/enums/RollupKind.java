@@ -0,0 +1,11 @@
+package com.app.FinTrack.domain.enums;
+
+/**
+ * Tipo de agregado mensal (tabela monthly_rollups).
+ */
+public enum RollupKind {
+    INCOME,
+    EXPENSE_PAID,
+    EXPENSE_PENDING,
+    INVESTMENT
+}
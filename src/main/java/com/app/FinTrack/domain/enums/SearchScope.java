@@ -0,0 +1,18 @@
+package com.app.FinTrack.domain.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Onde buscar na busca textual.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SearchScope {
+    ALL("Tudo"),
+    INCOME("Receitas"),
+    EXPENSE("Despesas"),
+    INVESTMENT("Investimentos");
+
+    private final String displayName;
+}
@@ -0,0 +1,16 @@
+package com.app.FinTrack.domain.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lançamentos (receitas, despesas ou investimentos) dos usuários mudaram.
+ * Publicado pelos services dentro da transação da alteração; ouvintes com
+ * {@code @TransactionalEventListener} o recebem após o commit.
+ */
+public record UserDataChangedEvent(List<UUID> userIds) {
+
+    public static UserDataChangedEvent of(UUID userId) {
+        return new UserDataChangedEvent(List.of(userId));
+    }
+}
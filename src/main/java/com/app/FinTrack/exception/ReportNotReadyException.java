@@ -0,0 +1,11 @@
+package com.app.FinTrack.exception;
+
+/**
+ * Download pedido para um job de relatório que ainda não terminou ou falhou (409).
+ */
+public class ReportNotReadyException extends RuntimeException {
+
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+}
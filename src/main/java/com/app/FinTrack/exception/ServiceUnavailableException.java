@@ -0,0 +1,21 @@
+package com.app.FinTrack.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Recurso temporariamente saturado. O cliente deve tentar novamente após
+ * {@code retryAfterSeconds} (enviado no header Retry-After).
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,10 +1,16 @@
 package com.app.FinTrack.repository;
 
+import com.app.FinTrack.domain.dto.ExpenseResponseDTO;
+import com.app.FinTrack.domain.dto.RecurrenceBucketDTO;
 import com.app.FinTrack.domain.entity.Expense;
 import com.app.FinTrack.domain.enums.ExpenseCategory;
 import com.app.FinTrack.domain.enums.PaymentMethod;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,17 +18,82 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 //Repository para operações de banco de dados da entidade Expense.
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
 
+    // Projeção para ExpenseResponseDTO: leitura sem entidade gerenciada (sem snapshot/dirty-checking)
+    String RESPONSE_SELECT = "SELECT new com.app.FinTrack.domain.dto.ExpenseResponseDTO(" +
+            "e.id, e.description, e.amount, e.category, e.paymentMethod, e.date, e.dueDate, " +
+            "e.recurrence, e.isPaid, e.notes, e.createdAt, e.updatedAt) FROM Expense e ";
+
+    // Passo de cada recorrência em dias (D) ou meses (M); ONCE (N) não avança
+    String RECURRENCE_STEPS =
+            "(VALUES ('ONCE', 'N', 1), ('DAILY', 'D', 1), ('WEEKLY', 'D', 7), ('BIWEEKLY', 'D', 14), " +
+            "        ('MONTHLY', 'M', 1), ('BIMONTHLY', 'M', 2), ('QUARTERLY', 'M', 3), " +
+            "        ('SEMIANNUAL', 'M', 6), ('ANNUAL', 'M', 12)) AS s(recurrence, unit, step) ";
+
+    // Primeira ocorrência em :monthStart ou depois (k períodos de uma vez), a mesma regra de
+    // RecurringRolloverService.nextDueDate. :monthIndex = ano * 12 + (mês - 1) de :monthStart.
+    String ROLLED_DUE_DATE =
+            "CASE WHEN s.unit = 'D' " +
+            "  THEN e.due_date + ((CAST(:monthStart AS date) - e.due_date + s.step - 1) / s.step) * s.step " +
+            "  ELSE CAST(e.due_date + make_interval(months => " +
+            "    ((:monthIndex - (CAST(EXTRACT(YEAR FROM e.due_date) AS int) * 12 " +
+            "      + CAST(EXTRACT(MONTH FROM e.due_date) AS int) - 1) + s.step - 1) / s.step) * s.step) AS date) " +
+            "END ";
+
+    // Seleção por filtro das operações em lote (critérios nulos não filtram)
+    String BULK_FILTER =
+            "AND (CAST(:dueDateFrom AS date) IS NULL OR e.due_date >= :dueDateFrom) " +
+            "AND (CAST(:dueDateTo AS date) IS NULL OR e.due_date <= :dueDateTo) " +
+            "AND (CAST(:isPaid AS boolean) IS NULL OR e.is_paid = :isPaid) " +
+            "AND (CAST(:category AS varchar) IS NULL OR e.category = :category) ";
+
+    // Pagar em lote: pendentes viram pagas; recorrentes vencidas em mês anterior ficam
+    // para o job de rollover (RecurringRolloverService), como em markAsPaid
+    String BULK_PAY =
+            "UPDATE expenses e SET is_paid = TRUE, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE e.user_id = :userId AND e.is_paid = FALSE ";
+
+    String BULK_UNPAY =
+            "UPDATE expenses e SET is_paid = FALSE, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE e.user_id = :userId AND e.is_paid = TRUE ";
+
+    String BULK_DELETE = "DELETE FROM expenses e WHERE e.user_id = :userId ";
+
     // BUSCA BÁSICA
     List<Expense> findByUserId(UUID userId);
 
     List<Expense> findByUserIdOrderByDateDesc(UUID userId);
 
+    // STREAM (histórico completo sem carregar tudo em memória)
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId ORDER BY e.date DESC, e.id DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Expense> streamByUserId(@Param("userId") UUID userId);
+
+    // PAGINAÇÃO POR CURSOR (keyset sobre idx_expense_user_date_id)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM expenses WHERE user_id = :userId " +
+                   "ORDER BY date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Expense> findFirstPage(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM expenses WHERE user_id = :userId AND (date, id) < (:date, :id) " +
+                   "ORDER BY date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Expense> findPageAfter(
+            @Param("userId") UUID userId,
+            @Param("date") LocalDate date,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
     // FILTROS POR DATA
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Expense> findByUserIdAndDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
     List<Expense> findByUserIdAndDateGreaterThanEqual(UUID userId, LocalDate startDate);
@@ -72,9 +143,6 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
 
     long countByUserIdAndDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
-    //BUSCA POR DESCRIÇÃO
-    List<Expense> findByUserIdAndDescriptionContainingIgnoreCase(UUID userId, String description);
-
     // BUSCA POR DATA DE VENCIMENTO
     List<Expense> findByUserIdAndDueDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
@@ -89,4 +157,115 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
             @Param("userId") UUID userId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    // ROLLOVER DE RECORRENTES (job em background)
+    // Avança cada recorrente paga com vencimento antes de :monthStart para a primeira ocorrência
+    // em :monthStart ou depois (k períodos de uma vez) e volta a marcá-la como pendente.
+    // :monthIndex = ano * 12 + (mês - 1) de :monthStart. Reexecutar não altera nada (idempotente).
+    @Modifying
+    @Query(value = "UPDATE expenses e SET " +
+                   "due_date = " + ROLLED_DUE_DATE + ", " +
+                   "is_paid = FALSE, " +
+                   "updated_at = CURRENT_TIMESTAMP " +
+                   "FROM " + RECURRENCE_STEPS +
+                   "WHERE e.recurrence = s.recurrence AND s.unit <> 'N' AND e.is_paid = TRUE " +
+                   "AND e.due_date < :monthStart AND e.user_id IN (:userIds)",
+           nativeQuery = true)
+    int rollOverRecurring(
+            @Param("userIds") List<UUID> userIds,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("monthIndex") int monthIndex);
+
+    // MUTAÇÕES EM LOTE (uma instrução por operação, sempre restrita ao dono)
+    @Modifying
+    @Query(value = BULK_PAY + "AND e.id IN (:ids)", nativeQuery = true)
+    int payByIds(@Param("userId") UUID userId, @Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Query(value = BULK_PAY + BULK_FILTER, nativeQuery = true)
+    int payByFilter(
+            @Param("userId") UUID userId,
+            @Param("dueDateFrom") LocalDate dueDateFrom,
+            @Param("dueDateTo") LocalDate dueDateTo,
+            @Param("isPaid") Boolean isPaid,
+            @Param("category") String category);
+
+    @Modifying
+    @Query(value = BULK_UNPAY + "AND e.id IN (:ids)", nativeQuery = true)
+    int unpayByIds(@Param("userId") UUID userId, @Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Query(value = BULK_UNPAY + BULK_FILTER, nativeQuery = true)
+    int unpayByFilter(
+            @Param("userId") UUID userId,
+            @Param("dueDateFrom") LocalDate dueDateFrom,
+            @Param("dueDateTo") LocalDate dueDateTo,
+            @Param("isPaid") Boolean isPaid,
+            @Param("category") String category);
+
+    @Modifying
+    @Query(value = BULK_DELETE + "AND e.id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("userId") UUID userId, @Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Query(value = BULK_DELETE + BULK_FILTER, nativeQuery = true)
+    int deleteByFilter(
+            @Param("userId") UUID userId,
+            @Param("dueDateFrom") LocalDate dueDateFrom,
+            @Param("dueDateTo") LocalDate dueDateTo,
+            @Param("isPaid") Boolean isPaid,
+            @Param("category") String category);
+
+    // TOTAIS PROJETADOS (RecurrenceEngine)
+    // Agrupa por (recorrência, data, pago): únicas só dentro do período, recorrentes criadas até o fim dele
+    @Query("SELECT new com.app.FinTrack.domain.dto.RecurrenceBucketDTO(e.recurrence, e.date, SUM(e.amount), COUNT(e), e.isPaid) " +
+           "FROM Expense e WHERE e.user.id = :userId AND e.date <= :endDate " +
+           "AND (e.recurrence != 'ONCE' OR e.date >= :startDate) " +
+           "GROUP BY e.recurrence, e.date, e.isPaid")
+    List<RecurrenceBucketDTO> findRecurrenceBuckets(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // PROJEÇÕES (endpoints de leitura)
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId ORDER BY e.date DESC")
+    List<ExpenseResponseDTO> findResponsesByUserId(@Param("userId") UUID userId);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate")
+    List<ExpenseResponseDTO> findResponsesByUserIdAndDateBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.category = :category")
+    List<ExpenseResponseDTO> findResponsesByUserIdAndCategory(
+            @Param("userId") UUID userId, @Param("category") ExpenseCategory category);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.paymentMethod = :paymentMethod")
+    List<ExpenseResponseDTO> findResponsesByUserIdAndPaymentMethod(
+            @Param("userId") UUID userId, @Param("paymentMethod") PaymentMethod paymentMethod);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.isPaid = false ORDER BY e.date ASC")
+    List<ExpenseResponseDTO> findPendingResponsesByUserId(@Param("userId") UUID userId);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId " +
+           "AND LOWER(e.description) LIKE LOWER(CONCAT('%', :#{escape(#term)}, '%')) ESCAPE :#{escapeCharacter()}")
+    List<ExpenseResponseDTO> searchResponsesByDescription(@Param("userId") UUID userId, @Param("term") String term);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.dueDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY CASE WHEN e.isPaid = false THEN 0 ELSE 1 END, " +
+           "CASE WHEN e.recurrence != 'ONCE' THEN 0 ELSE 1 END, " +
+           "e.dueDate ASC")
+    List<ExpenseResponseDTO> findResponsesByUserIdAndDueDateBetweenOrderedByPriority(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query(RESPONSE_SELECT + "WHERE e.user.id = :userId AND e.isPaid = :isPaid " +
+           "AND e.dueDate BETWEEN :startDate AND :endDate")
+    List<ExpenseResponseDTO> findResponsesByUserIdAndIsPaidAndDueDateBetween(
+            @Param("userId") UUID userId,
+            @Param("isPaid") Boolean isPaid,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 }
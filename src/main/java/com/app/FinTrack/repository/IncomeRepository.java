@@ -1,9 +1,15 @@
 package com.app.FinTrack.repository;
 
+import com.app.FinTrack.domain.dto.IncomeResponseDTO;
+import com.app.FinTrack.domain.dto.RecurrenceBucketDTO;
 import com.app.FinTrack.domain.entity.Income;
 import com.app.FinTrack.domain.enums.IncomeCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +17,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de banco de dados da entidade Income.
@@ -20,6 +27,11 @@ import java.util.UUID;
 @Repository
 public interface IncomeRepository extends JpaRepository<Income, UUID> {
 
+    // Projeção para IncomeResponseDTO: leitura sem entidade gerenciada (sem snapshot/dirty-checking)
+    String RESPONSE_SELECT = "SELECT new com.app.FinTrack.domain.dto.IncomeResponseDTO(" +
+            "i.id, i.description, i.amount, i.category, i.date, i.recurrence, " +
+            "i.notes, i.createdAt, i.updatedAt) FROM Income i ";
+
     //BUSCA BÁSICA
     //Busca todas as receitas de um usuário.
     List<Income> findByUserId(UUID userId);
@@ -27,8 +39,32 @@ public interface IncomeRepository extends JpaRepository<Income, UUID> {
     //Busca receitas de um usuário ordenadas por data (mais recente primeiro).
     List<Income> findByUserIdOrderByDateDesc(UUID userId);
 
+    // STREAM (histórico completo sem carregar tudo em memória)
+    @Query("SELECT i FROM Income i WHERE i.user.id = :userId ORDER BY i.date DESC, i.id DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Income> streamByUserId(@Param("userId") UUID userId);
+
+    //PAGINAÇÃO POR CURSOR (keyset sobre idx_income_user_date_id)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM incomes WHERE user_id = :userId " +
+                   "ORDER BY date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Income> findFirstPage(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM incomes WHERE user_id = :userId AND (date, id) < (:date, :id) " +
+                   "ORDER BY date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Income> findPageAfter(
+            @Param("userId") UUID userId,
+            @Param("date") LocalDate date,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
     //FILTROS POR DATA
     //Busca receitas de um usuário em um período específico.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Income> findByUserIdAndDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
     //Busca receitas de um usuário a partir de uma data.
@@ -67,10 +103,6 @@ public interface IncomeRepository extends JpaRepository<Income, UUID> {
     //Conta receitas em um período.
     long countByUserIdAndDateBetween(UUID userId, LocalDate startDate, LocalDate endDate);
 
-    //BUSCA POR DESCRIÇÃO
-    // Busca receitas contendo texto na descrição (case insensitive).
-    List<Income> findByUserIdAndDescriptionContainingIgnoreCase(UUID userId, String description);
-
     // BUSCA ORDENADA POR RECORRÊNCIA
     // Ordem: 1) Recorrentes, 2) Únicas, 3) Data mais recente
     @Query("SELECT i FROM Income i WHERE i.user.id = :userId AND i.date BETWEEN :startDate AND :endDate " +
@@ -79,4 +111,57 @@ public interface IncomeRepository extends JpaRepository<Income, UUID> {
             @Param("userId") UUID userId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    // EXCLUSÃO EM LOTE (uma instrução, sempre restrita ao dono; critérios nulos não filtram)
+    @Modifying
+    @Query(value = "DELETE FROM incomes WHERE user_id = :userId AND id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("userId") UUID userId, @Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM incomes WHERE user_id = :userId " +
+                   "AND (CAST(:startDate AS date) IS NULL OR date >= :startDate) " +
+                   "AND (CAST(:endDate AS date) IS NULL OR date <= :endDate) " +
+                   "AND (CAST(:category AS varchar) IS NULL OR category = :category)",
+           nativeQuery = true)
+    int deleteByFilter(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("category") String category);
+
+    // TOTAIS PROJETADOS (RecurrenceEngine)
+    // Agrupa por (recorrência, data): únicas só dentro do período, recorrentes criadas até o fim dele
+    @Query("SELECT new com.app.FinTrack.domain.dto.RecurrenceBucketDTO(i.recurrence, i.date, SUM(i.amount), COUNT(i), TRUE) " +
+           "FROM Income i WHERE i.user.id = :userId AND i.date <= :endDate " +
+           "AND (i.recurrence != 'ONCE' OR i.date >= :startDate) " +
+           "GROUP BY i.recurrence, i.date")
+    List<RecurrenceBucketDTO> findRecurrenceBuckets(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // PROJEÇÕES (endpoints de leitura)
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId ORDER BY i.date DESC")
+    List<IncomeResponseDTO> findResponsesByUserId(@Param("userId") UUID userId);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId AND i.date BETWEEN :startDate AND :endDate")
+    List<IncomeResponseDTO> findResponsesByUserIdAndDateBetween(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId AND i.category = :category")
+    List<IncomeResponseDTO> findResponsesByUserIdAndCategory(
+            @Param("userId") UUID userId, @Param("category") IncomeCategory category);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId " +
+           "AND LOWER(i.description) LIKE LOWER(CONCAT('%', :#{escape(#term)}, '%')) ESCAPE :#{escapeCharacter()}")
+    List<IncomeResponseDTO> searchResponsesByDescription(@Param("userId") UUID userId, @Param("term") String term);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId AND i.date BETWEEN :startDate AND :endDate " +
+           "ORDER BY CASE WHEN i.recurrence != 'ONCE' THEN 0 ELSE 1 END, i.date DESC")
+    List<IncomeResponseDTO> findResponsesByUserIdAndDateBetweenOrderedByRecurrence(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 }
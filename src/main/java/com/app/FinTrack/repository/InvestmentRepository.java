@@ -1,9 +1,14 @@
 package com.app.FinTrack.repository;
 
+import com.app.FinTrack.domain.dto.InvestmentResponseDTO;
 import com.app.FinTrack.domain.entity.Investment;
 import com.app.FinTrack.domain.enums.InvestmentType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +17,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de banco de dados da entidade Investment.
@@ -19,11 +25,39 @@ import java.util.UUID;
 @Repository
 public interface InvestmentRepository extends JpaRepository<Investment, UUID> {
 
+    // Projeção para InvestmentResponseDTO: leitura sem entidade gerenciada (sem snapshot/dirty-checking)
+    String RESPONSE_SELECT = "SELECT new com.app.FinTrack.domain.dto.InvestmentResponseDTO(" +
+            "i.id, i.name, i.type, i.ticker, i.quantity, i.purchasePrice, i.currentPrice, " +
+            "i.purchaseDate, i.broker, i.notes, i.createdAt, i.updatedAt) FROM Investment i ";
+
     //BUSCA BÁSICA
     List<Investment> findByUserId(UUID userId);
 
     List<Investment> findByUserIdOrderByPurchaseDateDesc(UUID userId);
 
+    // STREAM (histórico completo sem carregar tudo em memória)
+    @Query("SELECT i FROM Investment i WHERE i.user.id = :userId ORDER BY i.purchaseDate DESC, i.id DESC")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Investment> streamByUserId(@Param("userId") UUID userId);
+
+    //PAGINAÇÃO POR CURSOR (keyset sobre idx_investment_user_purchase_date_id)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM investments WHERE user_id = :userId " +
+                   "ORDER BY purchase_date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Investment> findFirstPage(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM investments WHERE user_id = :userId AND (purchase_date, id) < (:purchaseDate, :id) " +
+                   "ORDER BY purchase_date DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Investment> findPageAfter(
+            @Param("userId") UUID userId,
+            @Param("purchaseDate") LocalDate purchaseDate,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
     //FILTROS POR TIPO
     List<Investment> findByUserIdAndType(UUID userId, InvestmentType type);
 
@@ -57,6 +91,40 @@ public interface InvestmentRepository extends JpaRepository<Investment, UUID> {
 
     long countByUserIdAndType(UUID userId, InvestmentType type);
 
-    //BUSCA POR NOME
-    List<Investment> findByUserIdAndNameContainingIgnoreCase(UUID userId, String name);
+    // EXCLUSÃO EM LOTE (uma instrução, sempre restrita ao dono; critérios nulos não filtram)
+    @Modifying
+    @Query(value = "DELETE FROM investments WHERE user_id = :userId AND id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("userId") UUID userId, @Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM investments WHERE user_id = :userId " +
+                   "AND (CAST(:startDate AS date) IS NULL OR purchase_date >= :startDate) " +
+                   "AND (CAST(:endDate AS date) IS NULL OR purchase_date <= :endDate) " +
+                   "AND (CAST(:type AS varchar) IS NULL OR type = :type)",
+           nativeQuery = true)
+    int deleteByFilter(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("type") String type);
+
+    // PROJEÇÕES (endpoints de leitura)
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId ORDER BY i.purchaseDate DESC")
+    List<InvestmentResponseDTO> findResponsesByUserId(@Param("userId") UUID userId);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId AND i.type = :type")
+    List<InvestmentResponseDTO> findResponsesByUserIdAndType(
+            @Param("userId") UUID userId, @Param("type") InvestmentType type);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId AND LOWER(i.ticker) = LOWER(:ticker)")
+    List<InvestmentResponseDTO> findResponsesByUserIdAndTicker(
+            @Param("userId") UUID userId, @Param("ticker") String ticker);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId AND LOWER(i.broker) = LOWER(:broker)")
+    List<InvestmentResponseDTO> findResponsesByUserIdAndBroker(
+            @Param("userId") UUID userId, @Param("broker") String broker);
+
+    @Query(RESPONSE_SELECT + "WHERE i.user.id = :userId " +
+           "AND LOWER(i.name) LIKE LOWER(CONCAT('%', :#{escape(#term)}, '%')) ESCAPE :#{escapeCharacter()}")
+    List<InvestmentResponseDTO> searchResponsesByName(@Param("userId") UUID userId, @Param("term") String term);
 }
@@ -0,0 +1,180 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.dto.RollupTotalsDTO;
+import com.app.FinTrack.domain.entity.MonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollup.Key> {
+
+    // Totais de todo o histórico por tipo, numa linha (FILTER por kind)
+    String ALL_TIME_COLUMNS =
+            "COALESCE(SUM(total_amount) FILTER (WHERE kind = 'INCOME'), 0) AS total_income, " +
+            "COALESCE(SUM(item_count) FILTER (WHERE kind = 'INCOME'), 0)::bigint AS income_count, " +
+            "COALESCE(SUM(total_amount) FILTER (WHERE kind IN ('EXPENSE_PAID', 'EXPENSE_PENDING')), 0) AS total_expense, " +
+            "COALESCE(SUM(total_amount) FILTER (WHERE kind = 'EXPENSE_PENDING'), 0) AS pending_expense, " +
+            "COALESCE(SUM(item_count) FILTER (WHERE kind IN ('EXPENSE_PAID', 'EXPENSE_PENDING')), 0)::bigint AS expense_count, " +
+            "COALESCE(SUM(total_amount) FILTER (WHERE kind = 'INVESTMENT'), 0) AS total_invested, " +
+            "COALESCE(SUM(item_count) FILTER (WHERE kind = 'INVESTMENT'), 0)::bigint AS investment_count ";
+
+    // Valor atual dos investimentos (depende do preço, não é agregado mensalmente)
+    String INVESTMENT_VALUE_CTE =
+            "investment_value AS (" +
+            "SELECT COALESCE(SUM(quantity * current_price), 0) AS current_value " +
+            "FROM investments WHERE user_id = :userId AND current_price IS NOT NULL) ";
+
+    String DASHBOARD_SELECT =
+            "SELECT r.total_income AS \"totalIncome\", r.income_count AS \"incomeCount\", " +
+            "r.total_expense AS \"totalExpense\", r.pending_expense AS \"pendingExpense\", " +
+            "r.expense_count AS \"expenseCount\", r.total_invested AS \"totalInvested\", " +
+            "r.investment_count AS \"investmentCount\", v.current_value AS \"currentInvestmentValue\" ";
+
+    /**
+     * Entradas do dashboard de todo o histórico.
+     */
+    interface DashboardTotals {
+        BigDecimal getTotalIncome();
+        Long getIncomeCount();
+        BigDecimal getTotalExpense();
+        BigDecimal getPendingExpense();
+        Long getExpenseCount();
+        BigDecimal getTotalInvested();
+        Long getInvestmentCount();
+        BigDecimal getCurrentInvestmentValue();
+    }
+
+    /**
+     * Entradas do dashboard com os totais de receitas e despesas de um período.
+     */
+    interface PeriodDashboardTotals extends DashboardTotals {
+        BigDecimal getPeriodIncome();
+        Long getPeriodIncomeCount();
+        BigDecimal getPeriodExpense();
+        Long getPeriodExpenseCount();
+    }
+
+    // Dashboard em uma ida ao banco: agregados + valor atual dos investimentos
+    @Query(value = "WITH rollups AS (SELECT " + ALL_TIME_COLUMNS +
+                   "FROM monthly_rollups WHERE user_id = :userId), " +
+                   INVESTMENT_VALUE_CTE +
+                   DASHBOARD_SELECT +
+                   "FROM rollups r CROSS JOIN investment_value v",
+           nativeQuery = true)
+    DashboardTotals findDashboardTotals(@Param("userId") UUID userId);
+
+    /*
+     * Variante por período, também em uma ida ao banco. Meses inteiros de [fullStart, fullEnd]
+     * vêm dos agregados; os dias de [startDate, endDate] fora desse intervalo (bordas não
+     * alinhadas ao mês) são somados nas tabelas base. Sem meses inteiros, fullStart > fullEnd
+     * e todo o período cai nas bordas.
+     */
+    @Query(value = "WITH rollups AS (SELECT " + ALL_TIME_COLUMNS + ", " +
+                   "COALESCE(SUM(total_amount) FILTER (WHERE kind = 'INCOME' " +
+                   "AND month BETWEEN :fullStart AND :fullEnd), 0) AS period_income, " +
+                   "COALESCE(SUM(item_count) FILTER (WHERE kind = 'INCOME' " +
+                   "AND month BETWEEN :fullStart AND :fullEnd), 0)::bigint AS period_income_count, " +
+                   "COALESCE(SUM(total_amount) FILTER (WHERE kind IN ('EXPENSE_PAID', 'EXPENSE_PENDING') " +
+                   "AND month BETWEEN :fullStart AND :fullEnd), 0) AS period_expense, " +
+                   "COALESCE(SUM(item_count) FILTER (WHERE kind IN ('EXPENSE_PAID', 'EXPENSE_PENDING') " +
+                   "AND month BETWEEN :fullStart AND :fullEnd), 0)::bigint AS period_expense_count " +
+                   "FROM monthly_rollups WHERE user_id = :userId), " +
+                   "income_edges AS (" +
+                   "SELECT COALESCE(SUM(amount), 0) AS amount, COUNT(*) AS item_count FROM incomes " +
+                   "WHERE user_id = :userId AND date BETWEEN :startDate AND :endDate " +
+                   "AND (date < :fullStart OR date > :fullEnd)), " +
+                   "expense_edges AS (" +
+                   "SELECT COALESCE(SUM(amount), 0) AS amount, COUNT(*) AS item_count FROM expenses " +
+                   "WHERE user_id = :userId AND due_date BETWEEN :startDate AND :endDate " +
+                   "AND (due_date < :fullStart OR due_date > :fullEnd)), " +
+                   INVESTMENT_VALUE_CTE +
+                   DASHBOARD_SELECT + ", " +
+                   "r.period_income + ie.amount AS \"periodIncome\", " +
+                   "r.period_income_count + ie.item_count AS \"periodIncomeCount\", " +
+                   "r.period_expense + ee.amount AS \"periodExpense\", " +
+                   "r.period_expense_count + ee.item_count AS \"periodExpenseCount\" " +
+                   "FROM rollups r CROSS JOIN income_edges ie CROSS JOIN expense_edges ee CROSS JOIN investment_value v",
+           nativeQuery = true)
+    PeriodDashboardTotals findPeriodDashboardTotals(
+            @Param("userId") UUID userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("fullStart") LocalDate fullStart,
+            @Param("fullEnd") LocalDate fullEnd);
+
+    // Soma (ou subtrai, com valores negativos) a contribuição de um lançamento; atômico por linha
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, month, kind, category, total_amount, item_count) " +
+                   "VALUES (:userId, :month, :kind, :category, :amount, :count) " +
+                   "ON CONFLICT (user_id, kind, month, category) DO UPDATE " +
+                   "SET total_amount = monthly_rollups.total_amount + EXCLUDED.total_amount, " +
+                   "item_count = monthly_rollups.item_count + EXCLUDED.item_count",
+           nativeQuery = true)
+    int applyDelta(
+            @Param("userId") UUID userId,
+            @Param("month") LocalDate month,
+            @Param("kind") String kind,
+            @Param("category") String category,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count);
+
+    // Totais por mês e tipo (todas as categorias) dentro de [startMonth, endMonth]
+    @Query("SELECT new com.app.FinTrack.domain.dto.RollupTotalsDTO(r.id.month, r.id.kind, SUM(r.totalAmount), SUM(r.itemCount)) " +
+           "FROM MonthlyRollup r WHERE r.id.userId = :userId AND r.id.month BETWEEN :startMonth AND :endMonth " +
+           "GROUP BY r.id.month, r.id.kind ORDER BY r.id.month")
+    List<RollupTotalsDTO> findMonthlyTotals(
+            @Param("userId") UUID userId,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth);
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups WHERE user_id IN (:userIds)", nativeQuery = true)
+    int deleteByUserIds(@Param("userIds") List<UUID> userIds);
+
+    // Recalcula os agregados dos usuários a partir das tabelas base (mesmas regras da V10)
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, month, kind, category, total_amount, item_count) " +
+                   "SELECT user_id, date_trunc('month', date)::date, 'INCOME', category, SUM(amount), COUNT(*) " +
+                   "FROM incomes WHERE user_id IN (:userIds) " +
+                   "GROUP BY user_id, date_trunc('month', date), category " +
+                   "UNION ALL " +
+                   "SELECT user_id, date_trunc('month', due_date)::date, " +
+                   "CASE WHEN is_paid THEN 'EXPENSE_PAID' ELSE 'EXPENSE_PENDING' END, category, SUM(amount), COUNT(*) " +
+                   "FROM expenses WHERE user_id IN (:userIds) " +
+                   "GROUP BY user_id, date_trunc('month', due_date), is_paid, category " +
+                   "UNION ALL " +
+                   "SELECT user_id, date_trunc('month', purchase_date)::date, 'INVESTMENT', type, " +
+                   "SUM(quantity * purchase_price), COUNT(*) " +
+                   "FROM investments WHERE user_id IN (:userIds) " +
+                   "GROUP BY user_id, date_trunc('month', purchase_date), type",
+           nativeQuery = true)
+    int insertFromBaseTables(@Param("userIds") List<UUID> userIds);
+
+    // Próximo lote de usuários para o rebuild (keyset por id)
+    @Query(value = "SELECT id FROM users WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<UUID> findUserIdsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    /*
+     * Lock por usuário até o fim da transação (pg_advisory_xact_lock de duas chaves, espaço
+     * :namespace). Serializa o delta de um lançamento com o rebuild do mesmo usuário: sem ele,
+     * o DELETE + INSERT do rebuild pode perder um delta concorrente ou falhar na chave primária.
+     * Os ids são travados em ordem para dois rebuilds com usuários em comum não entrarem em deadlock.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "SELECT pg_advisory_xact_lock(:namespace, hashtext(CAST(u.id AS text))) " +
+                   "FROM (SELECT id FROM users WHERE id IN (:userIds) ORDER BY id) u) locks",
+           nativeQuery = true)
+    long lockUsers(@Param("namespace") int namespace, @Param("userIds") List<UUID> userIds);
+
+    // Lock de sessão-transação do PostgreSQL: só um nó executa o lote por vez
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
@@ -0,0 +1,45 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.entity.RecurringRolloverWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecurringRolloverWatermarkRepository extends JpaRepository<RecurringRolloverWatermark, UUID> {
+
+    // Próximo lote de usuários ainda não processados no mês (keyset por id)
+    @Query(value = "SELECT u.id FROM users u " +
+                   "LEFT JOIN recurring_rollover_watermarks w ON w.user_id = u.id " +
+                   "WHERE (w.rolled_through IS NULL OR w.rolled_through < :monthStart) AND u.id > :afterId " +
+                   "ORDER BY u.id LIMIT :limit", nativeQuery = true)
+    List<UUID> findUsersPendingRollover(
+            @Param("monthStart") LocalDate monthStart,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit);
+
+    // Upsert em lote que nunca recua o marco (nós concorrentes podem gravar fora de ordem)
+    @Modifying
+    @Query(value = "INSERT INTO recurring_rollover_watermarks (user_id, rolled_through, updated_at) " +
+                   "SELECT id, :monthStart, CURRENT_TIMESTAMP FROM users WHERE id IN (:userIds) " +
+                   "ON CONFLICT (user_id) DO UPDATE " +
+                   "SET rolled_through = GREATEST(recurring_rollover_watermarks.rolled_through, EXCLUDED.rolled_through), " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int upsertRolledThrough(@Param("userIds") List<UUID> userIds, @Param("monthStart") LocalDate monthStart);
+
+    // Reabre o usuário para a próxima execução do job (sem marco = pendente)
+    @Modifying
+    @Query("DELETE FROM RecurringRolloverWatermark w WHERE w.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    // Lock de sessão-transação do PostgreSQL: só um nó executa o lote por vez
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+}
@@ -0,0 +1,91 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.entity.ReportJob;
+import com.app.FinTrack.domain.enums.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, UUID> {
+
+    Optional<ReportJob> findByIdAndUserId(UUID id, UUID userId);
+
+    List<ReportJob> findTop20ByUserIdOrderByCreatedAtDesc(UUID userId);
+
+    long countByUserIdAndStatusIn(UUID userId, Collection<ReportJobStatus> statuses);
+
+    // Serializa as submissões do mesmo usuário (limite de jobs ativos) até o fim da transação
+    @Query(value = "SELECT 1 FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Integer lockUser(@Param("userId") UUID userId);
+
+    // Próximos da fila, mais antigos primeiro
+    @Query("SELECT j.id FROM ReportJob j WHERE j.status = com.app.FinTrack.domain.enums.ReportJobStatus.QUEUED " +
+           "ORDER BY j.createdAt, j.id LIMIT :limit")
+    List<UUID> findQueuedIds(@Param("limit") int limit);
+
+    // Reserva o job apenas se ainda estiver na fila: 0 linhas = outro worker pegou antes
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.app.FinTrack.domain.enums.ReportJobStatus.RUNNING, " +
+           "j.startedAt = :now, j.heartbeatAt = :now, j.workerId = :workerId, j.attempts = j.attempts + 1 " +
+           "WHERE j.id = :id AND j.status = com.app.FinTrack.domain.enums.ReportJobStatus.QUEUED")
+    int claim(@Param("id") UUID id, @Param("workerId") String workerId, @Param("now") Instant now);
+
+    // Renova o lease dos jobs que este worker está gerando
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.heartbeatAt = :now " +
+           "WHERE j.id IN :ids AND j.workerId = :workerId " +
+           "AND j.status = com.app.FinTrack.domain.enums.ReportJobStatus.RUNNING")
+    int heartbeat(@Param("ids") Collection<UUID> ids, @Param("workerId") String workerId, @Param("now") Instant now);
+
+    // Conclusão só vale para o worker que ainda detém o lease (0 linhas = o job voltou para a fila)
+    String OWNED = "WHERE j.id = :id AND j.workerId = :workerId " +
+            "AND j.status = com.app.FinTrack.domain.enums.ReportJobStatus.RUNNING";
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.app.FinTrack.domain.enums.ReportJobStatus.DONE, " +
+           "j.rowCount = :rowCount, j.fileSize = :fileSize, j.finishedAt = :now " + OWNED)
+    int markDone(@Param("id") UUID id, @Param("workerId") String workerId, @Param("rowCount") long rowCount,
+                 @Param("fileSize") long fileSize, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.app.FinTrack.domain.enums.ReportJobStatus.FAILED, " +
+           "j.errorMessage = :message, j.finishedAt = :now " + OWNED)
+    int markFailed(@Param("id") UUID id, @Param("workerId") String workerId, @Param("message") String message,
+                   @Param("now") Instant now);
+
+    // Jobs interrompidos voltam para a fila enquanto houver tentativas: lease vencido (o nó parou
+    // de renovar) ou, na inicialização, os que o próprio worker deixou em RUNNING
+    // (:restartedWorkerId; null no sweep periódico, quando o worker ainda está gerando os seus)
+    String INTERRUPTED = "WHERE j.status = com.app.FinTrack.domain.enums.ReportJobStatus.RUNNING " +
+            "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore OR j.workerId = :restartedWorkerId) ";
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.app.FinTrack.domain.enums.ReportJobStatus.QUEUED, " +
+           "j.startedAt = NULL, j.heartbeatAt = NULL, j.workerId = NULL " +
+           INTERRUPTED + "AND j.attempts < :maxAttempts")
+    int requeueInterrupted(@Param("staleBefore") Instant staleBefore, @Param("restartedWorkerId") String restartedWorkerId,
+                           @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.app.FinTrack.domain.enums.ReportJobStatus.FAILED, " +
+           "j.errorMessage = :message, j.finishedAt = :now " +
+           INTERRUPTED + "AND j.attempts >= :maxAttempts")
+    int failInterrupted(@Param("staleBefore") Instant staleBefore, @Param("restartedWorkerId") String restartedWorkerId,
+                        @Param("maxAttempts") int maxAttempts, @Param("message") String message,
+                        @Param("now") Instant now);
+
+    // Remove os expirados fora de execução e devolve os ids removidos (o service apaga os arquivos
+    // depois do commit). Um job que ainda está RUNNING fica para a próxima varredura.
+    @Query(value = "DELETE FROM report_jobs WHERE expires_at <= :now AND status <> 'RUNNING' RETURNING id",
+           nativeQuery = true)
+    List<UUID> deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,167 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.dto.TransactionReportDTO;
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.IncomeCategory;
+import com.app.FinTrack.util.ReportRowWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Leitura do relatório de transações direto via JDBC, sem materializar entidades.
+ *
+ * As linhas vêm de um único UNION ALL ordenado no banco: com os índices (user_id, date DESC,
+ * id DESC) das duas tabelas o PostgreSQL faz um Merge Append e devolve a primeira linha sem
+ * ordenar o período inteiro. O fetch size faz o driver ler em blocos (cursor), então a memória
+ * fica constante mesmo em relatórios de vários anos. Isso exige transação aberta (autocommit
+ * desligado), garantida pelo ReportService.
+ *
+ * Os parâmetros includeIncomes/includeExpenses desligam um ramo sem mudar a instrução.
+ */
+@Repository
+public class ReportRepository {
+
+    private static final String TRANSACTIONS =
+            "SELECT 'INCOME' AS type, i.id, i.date, CAST(NULL AS date) AS due_date, i.category, " +
+            "i.description, i.amount, i.notes, i.created_at " +
+            "FROM incomes i WHERE ? AND i.user_id = ? AND i.date BETWEEN ? AND ? " +
+            "UNION ALL " +
+            "SELECT 'EXPENSE' AS type, e.id, e.date, e.due_date, e.category, " +
+            "e.description, e.amount, e.notes, e.created_at " +
+            "FROM expenses e WHERE ? AND e.user_id = ? AND e.date BETWEEN ? AND ? " +
+            "ORDER BY date DESC, id DESC";
+
+    private static final String TOTALS =
+            "SELECT i.total AS total_income, i.cnt AS income_count, e.total AS total_expense, e.cnt AS expense_count " +
+            "FROM (SELECT COALESCE(SUM(amount), 0) AS total, COUNT(*) AS cnt FROM incomes " +
+            "      WHERE ? AND user_id = ? AND date BETWEEN ? AND ?) i " +
+            "CROSS JOIN (SELECT COALESCE(SUM(amount), 0) AS total, COUNT(*) AS cnt FROM expenses " +
+            "      WHERE ? AND user_id = ? AND date BETWEEN ? AND ?) e";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public ReportRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${reports.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    public record Totals(BigDecimal totalIncome, long incomeCount, BigDecimal totalExpense, long expenseCount) {
+    }
+
+    /**
+     * Totais do relatório em uma consulta agregada (sem trafegar as linhas).
+     */
+    public Totals findTotals(UUID userId, LocalDate startDate, LocalDate endDate,
+                             boolean includeIncomes, boolean includeExpenses) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(TOTALS);
+            bindBranches(ps, userId, startDate, endDate, includeIncomes, includeExpenses);
+            return ps;
+        }, rs -> {
+            rs.next();
+            return new Totals(
+                    rs.getBigDecimal("total_income"),
+                    rs.getLong("income_count"),
+                    rs.getBigDecimal("total_expense"),
+                    rs.getLong("expense_count"));
+        });
+    }
+
+    /**
+     * Entrega as transações do período, mais recentes primeiro, uma a uma ao consumidor,
+     * conforme o driver as lê.
+     */
+    public void streamTransactions(UUID userId, LocalDate startDate, LocalDate endDate,
+                                   boolean includeIncomes, boolean includeExpenses,
+                                   Consumer<TransactionReportDTO> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(TRANSACTIONS);
+            ps.setFetchSize(fetchSize);
+            bindBranches(ps, userId, startDate, endDate, includeIncomes, includeExpenses);
+            return ps;
+        }, rs -> {
+            String id = rs.getObject("id", UUID.class).toString();
+            LocalDate date = rs.getObject("date", LocalDate.class);
+            String category = rs.getString("category");
+            String description = rs.getString("description");
+            BigDecimal amount = rs.getBigDecimal("amount");
+            String notes = rs.getString("notes");
+            LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+
+            if ("INCOME".equals(rs.getString("type"))) {
+                consumer.accept(TransactionReportDTO.fromIncome(id, date, category,
+                        IncomeCategory.valueOf(category).getDisplayName(), description, amount, notes, createdAt));
+            } else {
+                consumer.accept(TransactionReportDTO.fromExpense(id, date, rs.getObject("due_date", LocalDate.class),
+                        category, ExpenseCategory.valueOf(category).getDisplayName(), description, amount, notes,
+                        createdAt));
+            }
+        });
+    }
+
+    /**
+     * Mesmas linhas de {@link #streamTransactions}, entregues como texto direto ao writer
+     * (sem DTO por linha): o PostgreSQL já devolve datas em ISO e o valor sem separador de milhar.
+     *
+     * @return quantidade de linhas escritas
+     */
+    public long writeTransactions(UUID userId, LocalDate startDate, LocalDate endDate,
+                                  boolean includeIncomes, boolean includeExpenses, ReportRowWriter writer) {
+        String[] values = new String[ReportRowWriter.COLUMNS.length];
+        long[] rows = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(TRANSACTIONS);
+            ps.setFetchSize(fetchSize);
+            bindBranches(ps, userId, startDate, endDate, includeIncomes, includeExpenses);
+            return ps;
+        }, rs -> {
+            String type = rs.getString("type");
+            String category = rs.getString("category");
+            values[0] = type;
+            values[1] = rs.getString("id");
+            values[2] = rs.getString("date");
+            values[3] = rs.getString("due_date");
+            values[4] = category;
+            values[5] = "INCOME".equals(type)
+                    ? IncomeCategory.valueOf(category).getDisplayName()
+                    : ExpenseCategory.valueOf(category).getDisplayName();
+            values[6] = rs.getString("description");
+            values[7] = rs.getString("amount");
+            values[8] = rs.getString("notes");
+            try {
+                writer.writeRow(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static void bindBranches(PreparedStatement ps, UUID userId, LocalDate startDate, LocalDate endDate,
+                                     boolean includeIncomes, boolean includeExpenses) throws SQLException {
+        ps.setBoolean(1, includeIncomes);
+        ps.setObject(2, userId);
+        ps.setDate(3, Date.valueOf(startDate));
+        ps.setDate(4, Date.valueOf(endDate));
+        ps.setBoolean(5, includeExpenses);
+        ps.setObject(6, userId);
+        ps.setDate(7, Date.valueOf(startDate));
+        ps.setDate(8, Date.valueOf(endDate));
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.dto.SearchResultDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Busca textual em receitas, despesas e investimentos numa única consulta (UNION ALL).
+ *
+ * Cada ramo filtra por LIKE '%termo%' (descrição/nome e observações) ou por similaridade de
+ * palavra (termo com erro de digitação), condições atendidas pelos índices GIN de trigramas
+ * da V12. A relevância soma: trecho exato no título (1), similaridade com o título e, com
+ * peso menor, similaridade com as observações.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+
+    private static final String BRANCH =
+            "SELECT '%1$s' AS type, t.id, t.%2$s AS title, t.%3$s AS category, %4$s AS amount, t.%5$s AS date, t.notes, " +
+            "  (CASE WHEN lower(t.%2$s) LIKE :pattern THEN 1 ELSE 0 END " +
+            "   + word_similarity(:term, lower(t.%2$s)) " +
+            "   + 0.5 * word_similarity(:term, lower(COALESCE(t.notes, '')))) AS rank " +
+            "FROM %6$s t " +
+            "WHERE t.user_id = :userId AND :scope IN ('ALL', '%1$s') " +
+            "AND (lower(t.%2$s) LIKE :pattern OR lower(t.notes) LIKE :pattern OR :term <%% lower(t.%2$s)) ";
+
+    private static final String SEARCH =
+            String.format(BRANCH, "INCOME", "description", "category", "t.amount", "date", "incomes") +
+            "UNION ALL " +
+            String.format(BRANCH, "EXPENSE", "description", "category", "t.amount", "date", "expenses") +
+            "UNION ALL " +
+            String.format(BRANCH, "INVESTMENT", "name", "type", "t.quantity * t.purchase_price", "purchase_date", "investments") +
+            "ORDER BY rank DESC, date DESC, id DESC " +
+            "LIMIT :limit OFFSET :offset";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param term    termo em minúsculas
+     * @param pattern padrão LIKE já escapado ('%termo%')
+     * @param scope   nome de {@link com.app.FinTrack.domain.enums.SearchScope}
+     */
+    public List<SearchResultDTO> search(UUID userId, String term, String pattern, String scope, int limit, long offset) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("term", term)
+                .addValue("pattern", pattern)
+                .addValue("scope", scope)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        return jdbcTemplate.query(SEARCH, params, (rs, rowNum) -> new SearchResultDTO(
+                rs.getString("type"),
+                rs.getObject("id", UUID.class),
+                rs.getString("title"),
+                rs.getString("category"),
+                rs.getBigDecimal("amount"),
+                rs.getObject("date", LocalDate.class),
+                rs.getString("notes"),
+                rs.getDouble("rank")));
+    }
+}
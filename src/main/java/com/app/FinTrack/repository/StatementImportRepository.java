@@ -0,0 +1,94 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.IncomeCategory;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserção em lote dos lançamentos importados de extratos, via JDBC batch.
+ *
+ * Os ids são gerados no cliente e o INSERT usa ON CONFLICT no índice (user_id, import_hash):
+ * um lançamento já importado é ignorado sem abortar o lote nem a transação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatementImportRepository {
+
+    private static final String INSERT_INCOME =
+            "INSERT INTO incomes (id, user_id, description, amount, category, date, recurrence, import_hash) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 'ONCE', ?) " +
+            "ON CONFLICT (user_id, import_hash) WHERE import_hash IS NOT NULL DO NOTHING";
+
+    private static final String INSERT_EXPENSE =
+            "INSERT INTO expenses (id, user_id, description, amount, category, payment_method, date, due_date, " +
+            "recurrence, is_paid, import_hash) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'ONCE', TRUE, ?) " +
+            "ON CONFLICT (user_id, import_hash) WHERE import_hash IS NOT NULL DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Lançamento pronto para inserir; amount já sem sinal.
+     */
+    public record Row(UUID id, LocalDate date, BigDecimal amount, String description, String importHash) {
+    }
+
+    /**
+     * @return quantidade efetivamente inserida (o restante já existia)
+     */
+    public int insertIncomes(UUID userId, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_INCOME, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, userId);
+            ps.setString(3, row.description());
+            ps.setBigDecimal(4, row.amount());
+            ps.setString(5, IncomeCategory.OTHER.name());
+            ps.setDate(6, Date.valueOf(row.date()));
+            ps.setString(7, row.importHash());
+        })[0];
+        return inserted(counts);
+    }
+
+    /**
+     * Despesas de extrato já aconteceram: entram pagas, com vencimento na própria data.
+     *
+     * @return quantidade efetivamente inserida (o restante já existia)
+     */
+    public int insertExpenses(UUID userId, List<Row> rows, PaymentMethod paymentMethod) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_EXPENSE, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, userId);
+            ps.setString(3, row.description());
+            ps.setBigDecimal(4, row.amount());
+            ps.setString(5, ExpenseCategory.OTHER.name());
+            ps.setString(6, paymentMethod.name());
+            ps.setDate(7, Date.valueOf(row.date()));
+            ps.setDate(8, Date.valueOf(row.date()));
+            ps.setString(9, row.importHash());
+        })[0];
+        return inserted(counts);
+    }
+
+    private static int inserted(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,189 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.dto.TransactionRowDTO;
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.IncomeCategory;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consulta combinável de receitas e despesas: monta uma única instrução só com os filtros
+ * informados (sem "OR :x IS NULL"), para o planejador usar os índices compostos por usuário
+ * (data, vencimento, categoria, status) e os de trigramas no texto.
+ *
+ * A instrução devolve a página e os totais de tudo o que casou: o CTE matched é lido uma vez
+ * pelos totais e uma vez pela página, e os totais saem mesmo com a página vazia.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionQueryRepository {
+
+    private static final String INCOME_BRANCH =
+            "SELECT 'INCOME' AS type, i.id, i.date, CAST(NULL AS date) AS due_date, i.category, i.description, " +
+            "i.amount, CAST(NULL AS varchar) AS payment_method, CAST(NULL AS boolean) AS is_paid, i.notes " +
+            "FROM incomes i WHERE i.user_id = :userId ";
+
+    private static final String EXPENSE_BRANCH =
+            "SELECT 'EXPENSE' AS type, e.id, e.date, e.due_date, e.category, e.description, " +
+            "e.amount, e.payment_method, e.is_paid, e.notes " +
+            "FROM expenses e WHERE e.user_id = :userId ";
+
+    private static final String TOTALS_AND_PAGE =
+            "totals AS (SELECT COUNT(*) AS total_count, " +
+            "  COALESCE(SUM(amount) FILTER (WHERE type = 'INCOME'), 0) AS total_income, " +
+            "  COUNT(*) FILTER (WHERE type = 'INCOME') AS income_count, " +
+            "  COALESCE(SUM(amount) FILTER (WHERE type = 'EXPENSE'), 0) AS total_expense, " +
+            "  COALESCE(SUM(amount) FILTER (WHERE type = 'EXPENSE' AND NOT is_paid), 0) AS pending_expense, " +
+            "  COUNT(*) FILTER (WHERE type = 'EXPENSE') AS expense_count " +
+            "  FROM matched), " +
+            "page AS (SELECT * FROM matched ORDER BY date DESC, id DESC LIMIT :limit OFFSET :offset) " +
+            "SELECT t.*, p.* FROM totals t LEFT JOIN page p ON TRUE ORDER BY p.date DESC, p.id DESC";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Filtros já validados. Listas vazias e valores nulos não filtram; ao menos um dos
+     * ramos (receitas/despesas) deve estar incluído.
+     *
+     * @param pattern padrão LIKE já escapado ('%texto%') ou null
+     */
+    public record Criteria(
+            UUID userId,
+            boolean includeIncomes,
+            boolean includeExpenses,
+            List<String> incomeCategories,
+            List<String> expenseCategories,
+            List<String> paymentMethods,
+            Boolean isPaid,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            LocalDate startDate,
+            LocalDate endDate,
+            LocalDate dueDateFrom,
+            LocalDate dueDateTo,
+            String pattern,
+            int limit,
+            long offset) {
+    }
+
+    public record Totals(long totalCount, BigDecimal totalIncome, long incomeCount,
+                         BigDecimal totalExpense, BigDecimal pendingExpense, long expenseCount) {
+    }
+
+    public record Result(List<TransactionRowDTO> rows, Totals totals) {
+    }
+
+    public Result query(Criteria criteria) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", criteria.userId())
+                .addValue("limit", criteria.limit())
+                .addValue("offset", criteria.offset());
+
+        List<String> branches = new ArrayList<>(2);
+        if (criteria.includeIncomes()) {
+            branches.add(INCOME_BRANCH + commonFilters("i", criteria.incomeCategories(), criteria, params));
+        }
+        if (criteria.includeExpenses()) {
+            branches.add(EXPENSE_BRANCH + commonFilters("e", criteria.expenseCategories(), criteria, params)
+                    + expenseFilters(criteria, params));
+        }
+        String sql = "WITH matched AS (" + String.join("UNION ALL ", branches) + "), " + TOTALS_AND_PAGE;
+
+        List<TransactionRowDTO> rows = new ArrayList<>(criteria.limit());
+        Totals[] totals = new Totals[1];
+        jdbcTemplate.query(sql, params, rs -> {
+            if (totals[0] == null) {
+                totals[0] = new Totals(
+                        rs.getLong("total_count"),
+                        rs.getBigDecimal("total_income"),
+                        rs.getLong("income_count"),
+                        rs.getBigDecimal("total_expense"),
+                        rs.getBigDecimal("pending_expense"),
+                        rs.getLong("expense_count"));
+            }
+            UUID id = rs.getObject("id", UUID.class);
+            if (id == null) {
+                return; // página vazia: só a linha dos totais
+            }
+            String type = rs.getString("type");
+            String category = rs.getString("category");
+            String paymentMethod = rs.getString("payment_method");
+            rows.add(new TransactionRowDTO(
+                    id,
+                    type,
+                    rs.getObject("date", LocalDate.class),
+                    rs.getObject("due_date", LocalDate.class),
+                    category,
+                    "INCOME".equals(type)
+                            ? IncomeCategory.valueOf(category).getDisplayName()
+                            : ExpenseCategory.valueOf(category).getDisplayName(),
+                    rs.getString("description"),
+                    rs.getBigDecimal("amount"),
+                    paymentMethod != null ? PaymentMethod.valueOf(paymentMethod) : null,
+                    rs.getObject("is_paid", Boolean.class),
+                    rs.getString("notes")));
+        });
+        return new Result(rows, totals[0]);
+    }
+
+    private static String commonFilters(String alias, List<String> categories, Criteria criteria,
+                                        MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder();
+        if (categories != null && !categories.isEmpty()) {
+            where.append("AND ").append(alias).append(".category IN (:").append(alias).append("Categories) ");
+            params.addValue(alias + "Categories", categories);
+        }
+        if (criteria.minAmount() != null) {
+            where.append("AND ").append(alias).append(".amount >= :minAmount ");
+            params.addValue("minAmount", criteria.minAmount());
+        }
+        if (criteria.maxAmount() != null) {
+            where.append("AND ").append(alias).append(".amount <= :maxAmount ");
+            params.addValue("maxAmount", criteria.maxAmount());
+        }
+        if (criteria.startDate() != null) {
+            where.append("AND ").append(alias).append(".date >= :startDate ");
+            params.addValue("startDate", criteria.startDate());
+        }
+        if (criteria.endDate() != null) {
+            where.append("AND ").append(alias).append(".date <= :endDate ");
+            params.addValue("endDate", criteria.endDate());
+        }
+        if (criteria.pattern() != null) {
+            where.append("AND (lower(").append(alias).append(".description) LIKE :pattern ")
+                    .append("OR lower(").append(alias).append(".notes) LIKE :pattern) ");
+            params.addValue("pattern", criteria.pattern());
+        }
+        return where.toString();
+    }
+
+    private static String expenseFilters(Criteria criteria, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder();
+        if (criteria.paymentMethods() != null && !criteria.paymentMethods().isEmpty()) {
+            where.append("AND e.payment_method IN (:paymentMethods) ");
+            params.addValue("paymentMethods", criteria.paymentMethods());
+        }
+        if (criteria.isPaid() != null) {
+            where.append("AND e.is_paid = :isPaid ");
+            params.addValue("isPaid", criteria.isPaid());
+        }
+        if (criteria.dueDateFrom() != null) {
+            where.append("AND e.due_date >= :dueDateFrom ");
+            params.addValue("dueDateFrom", criteria.dueDateFrom());
+        }
+        if (criteria.dueDateTo() != null) {
+            where.append("AND e.due_date <= :dueDateTo ");
+            params.addValue("dueDateTo", criteria.dueDateTo());
+        }
+        return where.toString();
+    }
+}
@@ -2,8 +2,13 @@ package com.app.FinTrack.repository;
 
 import com.app.FinTrack.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +19,23 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     boolean existsByEmail(String email);
 
+    // Paginação por cursor (keyset sobre idx_user_created_at_id)
+    @Query(value = "SELECT * FROM users ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<User> findFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM users WHERE (created_at, id) < (:createdAt, :id) " +
+                   "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<User> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
+    // Versão dos dados (ETag): lida pelo GET condicional e incrementada na transação da alteração
+    @Query(value = "SELECT data_version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findDataVersion(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "UPDATE users SET data_version = data_version + 1 WHERE id IN (:userIds)", nativeQuery = true)
+    int incrementDataVersion(@Param("userIds") List<UUID> userIds);
+
 }
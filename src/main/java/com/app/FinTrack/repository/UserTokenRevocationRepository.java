@@ -0,0 +1,30 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, UUID> {
+
+    List<UserTokenRevocation> findByNotBeforeAfter(Instant threshold);
+
+    // Upsert que nunca recua o marco (nós concorrentes podem gravar fora de ordem)
+    @Modifying
+    @Query(value = "INSERT INTO user_token_revocations (user_id, not_before) VALUES (:userId, :notBefore) " +
+                   "ON CONFLICT (user_id) DO UPDATE " +
+                   "SET not_before = GREATEST(user_token_revocations.not_before, EXCLUDED.not_before)",
+           nativeQuery = true)
+    void upsertNotBefore(@Param("userId") UUID userId, @Param("notBefore") Instant notBefore);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.notBefore <= :threshold")
+    int deleteOlderThan(@Param("threshold") Instant threshold);
+}
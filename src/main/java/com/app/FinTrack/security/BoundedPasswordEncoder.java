@@ -0,0 +1,195 @@
+package com.app.FinTrack.security;
+
+import com.app.FinTrack.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PasswordEncoder BCrypt executado em um pool dedicado e limitado.
+ *
+ * O hash é caro de propósito; rodando nas threads do Tomcat, um pico de logins ocupa
+ * todos os núcleos e trava o restante da API. Aqui o trabalho vai para um pool com
+ * concorrência fixa e fila curta: quando ambos estão cheios a chamada falha na hora
+ * com {@link ServiceUnavailableException} (503 + Retry-After) em vez de enfileirar.
+ *
+ * O custo do BCrypt é configurável (security.password-hashing.bcrypt-strength).
+ * Com valor 0 ele é calibrado na inicialização para ficar próximo de
+ * security.password-hashing.target-latency-ms nesta máquina.
+ * Hashes existentes continuam válidos: o custo usado fica gravado no próprio hash.
+ */
+@Component
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    private static final int CALIBRATION_STRENGTH = 8;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public BoundedPasswordEncoder(
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${security.password-hashing.bcrypt-strength:0}") int configuredStrength,
+            @Value("${security.password-hashing.target-latency-ms:250}") long targetLatencyMs) {
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        this.strength = configuredStrength > 0 ? configuredStrength : calibrate(targetLatencyMs);
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Hash de senha: BCrypt custo {}, {} threads, fila de {}", strength, poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public Stats stats() {
+        long count = completed.sum();
+        return new Stats(
+                strength,
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getQueue().size() + executor.getQueue().remainingCapacity(),
+                count,
+                rejected.sum(),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalHashNanos.sum() / count),
+                TimeUnit.NANOSECONDS.toMillis(maxHashNanos.get()),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / count));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    long hashNanos = System.nanoTime() - startedAt;
+                    totalWaitNanos.add(startedAt - enqueuedAt);
+                    totalHashNanos.add(hashNanos);
+                    maxHashNanos.accumulate(hashNanos);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException(
+                    "Servidor ocupado processando autenticações. Tente novamente em instantes.",
+                    retryAfterSeconds());
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hash de senha interrompido", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Falha no hash de senha", ex.getCause());
+        }
+    }
+
+    /**
+     * Estimativa do tempo para esvaziar a fila atual, em segundos (mínimo 1).
+     */
+    private long retryAfterSeconds() {
+        long count = completed.sum();
+        long avgNanos = count == 0 ? TimeUnit.MILLISECONDS.toNanos(250) : totalHashNanos.sum() / count;
+        long pending = executor.getQueue().size() + executor.getActiveCount();
+        long drainNanos = avgNanos * pending / executor.getMaximumPoolSize();
+        return Math.max(1, (long) Math.ceil(drainNanos / 1_000_000_000.0));
+    }
+
+    /**
+     * Mede um hash de custo baixo e extrapola: cada +1 no custo dobra o tempo.
+     * O resultado nunca fica abaixo de {@value #MIN_STRENGTH} (padrão do BCrypt).
+     */
+    private static int calibrate(long targetLatencyMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        probe.encode("warmup");
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double ratio = (double) TimeUnit.MILLISECONDS.toNanos(targetLatencyMs) / Math.max(1, bestNanos);
+        int strength = CALIBRATION_STRENGTH + (int) Math.floor(Math.log(ratio) / Math.log(2));
+        int clamped = Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, strength));
+
+        log.info("BCrypt calibrado: custo {} ≈ {} ms (alvo {} ms)", clamped,
+                TimeUnit.NANOSECONDS.toMillis(bestNanos << (clamped - CALIBRATION_STRENGTH)), targetLatencyMs);
+        return clamped;
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Métricas do pool de hash. Latências em milissegundos.
+     */
+    public record Stats(int bcryptStrength, int threads, int active, int queueDepth, int queueCapacity,
+                        long completed, long rejected, long avgHashMs, long maxHashMs, long avgQueueWaitMs) {
+    }
+}
@@ -1,8 +1,6 @@
 package com.app.FinTrack.security;
 
-import com.app.FinTrack.domain.entity.User;
-import com.app.FinTrack.repository.UserRepository;
-import com.app.FinTrack.util.EmailUtils;
+import com.app.FinTrack.service.UserCacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,12 +11,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        String normalizedEmail = EmailUtils.normalize(email);
-        return userRepository.findByEmail(normalizedEmail)
+        return userCacheService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "Usuário não encontrado com email: " + email));
     }
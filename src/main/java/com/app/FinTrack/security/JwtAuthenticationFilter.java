@@ -1,5 +1,6 @@
 package com.app.FinTrack.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -10,8 +11,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -22,18 +26,41 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Filtro JWT que intercepta todas as requisições HTTP.
  * Captura exceções específicas para melhor monitoramento de segurança.
+ *
+ * Modo stateless (jwt.stateless-principal=true, padrão): o token é verificado uma
+ * única vez e o principal ({@link JwtPrincipal}) é montado a partir das claims,
+ * sem consulta ao banco. Com o modo desativado, o usuário é carregado via
+ * {@link UserDetailsService} como antes.
+ *
+ * Tokens revogados (logout) são ignorados; a verificação normalmente não acessa
+ * o banco (ver {@link TokenRevocationService}).
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
+    // Emails com acesso administrativo (ex.: /api/metrics); o subject do JWT é assinado
+    @Value("${security.admin-emails:}")
+    private Set<String> adminEmails;
 
     @Override
     protected void doFilterInternal(
@@ -45,8 +72,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (StringUtils.hasText(jwt)) {
             try {
-                if (jwtService.validateToken(jwt)) {
-                    authenticateUser(jwt, request);
+                Claims claims = jwtService.parseToken(jwt);
+                if (tokenRevocationService.isRevoked(claims)) {
+                    log.warn("Token JWT revogado: {}", request.getRequestURI());
+                } else {
+                    authenticateUser(claims, request);
                 }
             } catch (ExpiredJwtException ex) {
                 log.warn("Token JWT expirado para requisição: {}", request.getRequestURI());
@@ -66,13 +96,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void authenticateUser(String jwt, HttpServletRequest request) {
-        String email = jwtService.getEmailFromToken(jwt);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+    private void authenticateUser(Claims claims, HttpServletRequest request) {
+        String email = claims.getSubject();
+        String userId = claims.get(JwtService.USER_ID_CLAIM, String.class);
 
-        UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+        UsernamePasswordAuthenticationToken authentication;
+        if (statelessPrincipal && userId != null) {
+            JwtPrincipal principal = new JwtPrincipal(UUID.fromString(userId), email);
+            authentication = new UsernamePasswordAuthenticationToken(
+                    principal, null, authoritiesFor(email));
+        } else {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            authentication = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, authoritiesFor(userDetails.getUsername()));
+        }
 
         authentication.setDetails(
                 new WebAuthenticationDetailsSource().buildDetails(request));
@@ -81,6 +118,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         log.debug("Usuário autenticado via JWT: {}", email);
     }
 
+    private List<GrantedAuthority> authoritiesFor(String email) {
+        if (email == null) {
+            return Collections.emptyList();
+        }
+        boolean admin = adminEmails.stream().anyMatch(adminEmail -> adminEmail.trim().equalsIgnoreCase(email));
+        return admin ? ADMIN_AUTHORITIES : Collections.emptyList();
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,17 @@
+package com.app.FinTrack.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.UUID;
+
+/**
+ * Principal leve construído a partir das claims do JWT.
+ * Usado no modo stateless: evita buscar o usuário no banco a cada requisição.
+ */
+public record JwtPrincipal(UUID userId, String email) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -2,6 +2,7 @@ package com.app.FinTrack.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -36,13 +37,20 @@ public class JwtService {
 
     private static final String DEV_SECRET_PREFIX = "fintrack-dev-secret";
     private static final int MIN_SECRET_LENGTH = 32;
+    public static final String USER_ID_CLAIM = "userId";
+    /** Família de refresh tokens (sessão) que originou o access token. */
+    public static final String SESSION_ID_CLAIM = "sid";
 
     @Value("${jwt.secret}")
     private String jwtSecret;
 
-    @Value("${jwt.expiration:3600000}")
+    @Value("${jwt.expiration:900000}")
     private long jwtExpiration;
 
+    /** Chave HMAC e parser são imutáveis e thread-safe: construídos uma única vez. */
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
     /**
      * Valida a configuração JWT na inicialização.
      */
@@ -58,26 +66,37 @@ public class JwtService {
             log.error("JWT secret de desenvolvimento detectado! NÃO use em produção!");
         }
 
-        log.debug("JWT expiração configurada: {} ms", jwtExpiration);
-    }
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        log.debug("JWT expiração configurada: {} ms", jwtExpiration);
     }
 
-    public String generateToken(UUID userId, String email) {
+    public String generateToken(UUID userId, String email, UUID sessionId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
-                .claim("userId", userId.toString())
+                .claim(USER_ID_CLAIM, userId.toString())
+                .claim(SESSION_ID_CLAIM, sessionId.toString())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Valida o token (assinatura e expiração) e retorna suas claims em um único parse.
+     * Lança as exceções do jjwt para que o chamador decida como tratá-las.
+     */
+    public Claims parseToken(String token) {
+        return parseClaims(token);
+    }
+
     public String getEmailFromToken(String token) {
         Claims claims = parseClaims(token);
         return claims.getSubject();
@@ -85,7 +104,7 @@ public class JwtService {
 
     public UUID getUserIdFromToken(String token) {
         Claims claims = parseClaims(token);
-        String userIdStr = claims.get("userId", String.class);
+        String userIdStr = claims.get(USER_ID_CLAIM, String.class);
         return UUID.fromString(userIdStr);
     }
 
@@ -112,10 +131,6 @@ public class JwtService {
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 }
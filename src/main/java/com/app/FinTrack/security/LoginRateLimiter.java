@@ -0,0 +1,272 @@
+package com.app.FinTrack.security;
+
+import com.app.FinTrack.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de tentativas de login por email e por IP de origem (token bucket).
+ *
+ * Roda antes do AuthenticationManager: uma tentativa rejeitada custa duas buscas em
+ * mapa e um CAS, sem consulta ao banco nem BCrypt. Os buckets ficam em mapas
+ * particionados (stripes) e são atualizados sem lock via compare-and-set de um
+ * estado imutável. Buckets ociosos (já recarregados por completo) são removidos
+ * periodicamente, então a memória acompanha apenas as chaves ativas.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final BucketMap byEmail;
+    private final BucketMap byIp;
+    private final LongSupplier nanoClock;
+    private final long idleNanos;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    @Autowired
+    public LoginRateLimiter(
+            @Value("${security.login-rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${security.login-rate-limit.email.refill-per-minute:5}") int emailRefillPerMinute,
+            @Value("${security.login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${security.login-rate-limit.ip.refill-per-minute:30}") int ipRefillPerMinute,
+            @Value("${security.login-rate-limit.idle-minutes:15}") long idleMinutes) {
+        this(emailCapacity, emailRefillPerMinute, ipCapacity, ipRefillPerMinute, idleMinutes, System::nanoTime);
+    }
+
+    LoginRateLimiter(int emailCapacity, int emailRefillPerMinute,
+                     int ipCapacity, int ipRefillPerMinute,
+                     long idleMinutes, LongSupplier nanoClock) {
+        this.byEmail = new BucketMap(emailCapacity, emailRefillPerMinute);
+        this.byIp = new BucketMap(ipCapacity, ipRefillPerMinute);
+        this.nanoClock = nanoClock;
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+    }
+
+    /**
+     * Consome uma tentativa dos buckets do email e do IP.
+     * Os dois buckets são verificados antes de qualquer consumo: uma tentativa
+     * rejeitada por um deles não gasta o token do outro.
+     *
+     * @throws TooManyRequestsException se algum dos dois estiver vazio
+     */
+    public void acquire(String normalizedEmail, String clientIp) {
+        long now = nanoClock.getAsLong();
+
+        long ipWait = byIp.waitNanos(clientIp, now);
+        if (ipWait > 0) {
+            rejectedByIp.increment();
+            throw reject(ipWait);
+        }
+
+        long emailWait = byEmail.waitNanos(normalizedEmail, now);
+        if (emailWait > 0) {
+            rejectedByEmail.increment();
+            throw reject(emailWait);
+        }
+
+        // Outra requisição pode ter levado o último token entre a verificação e o consumo
+        ipWait = byIp.tryConsume(clientIp, now);
+        if (ipWait > 0) {
+            rejectedByIp.increment();
+            throw reject(ipWait);
+        }
+
+        emailWait = byEmail.tryConsume(normalizedEmail, now);
+        if (emailWait > 0) {
+            byIp.refund(clientIp);
+            rejectedByEmail.increment();
+            throw reject(emailWait);
+        }
+
+        allowed.increment();
+    }
+
+    /**
+     * Remove buckets sem uso há mais de security.login-rate-limit.idle-minutes.
+     * Um bucket ocioso já estaria cheio, então removê-lo não altera o comportamento.
+     */
+    @Scheduled(fixedDelayString = "${security.login-rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        int removed = byEmail.evictIdle(now, idleNanos) + byIp.evictIdle(now, idleNanos);
+        if (removed > 0) {
+            expired.add(removed);
+            log.debug("Limitador de login: {} buckets ociosos removidos", removed);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(
+                allowed.sum(),
+                rejectedByEmail.sum(),
+                rejectedByIp.sum(),
+                byEmail.size(),
+                byIp.size(),
+                expired.sum());
+    }
+
+    private static TooManyRequestsException reject(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        return new TooManyRequestsException(
+                "Muitas tentativas de login. Tente novamente em " + retryAfterSeconds + " segundos.",
+                retryAfterSeconds);
+    }
+
+    /**
+     * Buckets de uma dimensão (email ou IP), particionados em {@value #STRIPES} mapas.
+     */
+    private static final class BucketMap {
+
+        private final long capacity;
+        private final long nanosPerToken;
+        @SuppressWarnings("unchecked")
+        private final ConcurrentHashMap<String, Bucket>[] stripes = new ConcurrentHashMap[STRIPES];
+
+        BucketMap(int capacity, int refillPerMinute) {
+            if (capacity <= 0 || refillPerMinute <= 0) {
+                throw new IllegalArgumentException("capacity e refill-per-minute devem ser positivos");
+            }
+            this.capacity = capacity;
+            this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new ConcurrentHashMap<>();
+            }
+        }
+
+        /**
+         * @return 0 se consumiu, senão o tempo em nanos até haver um token disponível
+         */
+        long tryConsume(String key, long now) {
+            return stripe(key)
+                    .computeIfAbsent(key, k -> new Bucket(now))
+                    .tryConsume(now, capacity, nanosPerToken);
+        }
+
+        /**
+         * @return 0 se há token disponível, senão o tempo em nanos até haver um.
+         * Não consome nem cria o bucket.
+         */
+        long waitNanos(String key, long now) {
+            Bucket bucket = stripe(key).get(key);
+            return bucket == null ? 0 : bucket.waitNanos(now, capacity, nanosPerToken);
+        }
+
+        /**
+         * Devolve um token consumido por uma tentativa que acabou rejeitada.
+         */
+        void refund(String key) {
+            Bucket bucket = stripe(key).get(key);
+            if (bucket != null) {
+                bucket.refund(nanosPerToken);
+            }
+        }
+
+        int evictIdle(long now, long idleNanos) {
+            // Nunca remove antes de o bucket ter tido tempo de recarregar por completo
+            long threshold = Math.max(idleNanos, capacity * nanosPerToken);
+            int removed = 0;
+            for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+                int before = stripe.size();
+                stripe.values().removeIf(bucket -> now - bucket.lastAccess() >= threshold);
+                removed += before - stripe.size();
+            }
+            return removed;
+        }
+
+        int size() {
+            int size = 0;
+            for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+                size += stripe.size();
+            }
+            return size;
+        }
+
+        private ConcurrentHashMap<String, Bucket> stripe(String key) {
+            int hash = key.hashCode();
+            return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        }
+    }
+
+    /**
+     * Token bucket sem lock. O estado guarda o instante em que o bucket estaria
+     * "zerado" (tokens = (agora - emptyAt) / nanosPerToken, limitado à capacidade),
+     * o que permite refill e consumo em um único CAS.
+     */
+    private static final class Bucket {
+
+        private final AtomicReference<State> state;
+
+        Bucket(long now) {
+            // Bucket novo começa cheio
+            this.state = new AtomicReference<>(new State(Long.MIN_VALUE, now));
+        }
+
+        long waitNanos(long now, long capacity, long nanosPerToken) {
+            long next = emptyAt(state.get(), now, capacity, nanosPerToken) + nanosPerToken;
+            return Math.max(0, next - now);
+        }
+
+        long tryConsume(long now, long capacity, long nanosPerToken) {
+            while (true) {
+                State current = state.get();
+                long next = emptyAt(current, now, capacity, nanosPerToken) + nanosPerToken;
+                if (next > now) {
+                    // Sem token: não altera o estado (a rejeição não consome nada)
+                    return next - now;
+                }
+                if (state.compareAndSet(current, new State(next, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        void refund(long nanosPerToken) {
+            while (true) {
+                State current = state.get();
+                if (current.emptyAt() == Long.MIN_VALUE) {
+                    return;
+                }
+                // Se o bucket já encheu nesse meio tempo, o próximo consumo limita o valor à capacidade
+                if (state.compareAndSet(current, new State(current.emptyAt() - nanosPerToken, current.lastAccess()))) {
+                    return;
+                }
+            }
+        }
+
+        long lastAccess() {
+            return state.get().lastAccess();
+        }
+
+        private static long emptyAt(State current, long now, long capacity, long nanosPerToken) {
+            long fullAt = now - capacity * nanosPerToken;
+            return current.emptyAt() == Long.MIN_VALUE || current.emptyAt() < fullAt
+                    ? fullAt
+                    : current.emptyAt();
+        }
+
+        private record State(long emptyAt, long lastAccess) {
+        }
+    }
+
+    /**
+     * Contadores do limitador de login.
+     */
+    public record Stats(long allowed, long rejectedByEmail, long rejectedByIp,
+                        int trackedEmails, int trackedIps, long expiredBuckets) {
+    }
+}
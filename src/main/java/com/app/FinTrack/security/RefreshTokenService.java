@@ -0,0 +1,134 @@
+package com.app.FinTrack.security;
+
+import com.app.FinTrack.domain.entity.RefreshToken;
+import com.app.FinTrack.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emissão e rotação de refresh tokens.
+ *
+ * O token é um valor aleatório opaco; só o seu SHA-256 vai para o banco, então a
+ * validação é uma busca indexada (sem BCrypt: o valor já tem 256 bits de entropia).
+ * Cada uso consome o token e emite outro na mesma família. Apresentar um token já
+ * consumido indica vazamento: a família inteira é revogada.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh-expiration:2592000000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Inicia uma nova família (novo login) e retorna o primeiro token.
+     */
+    @Transactional
+    public IssuedToken issue(UUID userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Consome o refresh token e emite o próximo da mesma família.
+     * Em caso de reuso a revogação da família é gravada mesmo com a exceção.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public IssuedToken rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+
+        if (current.getRevokedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Reuso de refresh token detectado para usuário {}: família {} revogada ({} tokens)",
+                    current.getUserId(), current.getFamilyId(), revoked);
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+
+        if (current.isExpired(now)) {
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+
+        return issue(current.getUserId(), current.getFamilyId());
+    }
+
+    @Transactional
+    public void revokeFamily(UUID familyId) {
+        refreshTokenRepository.revokeFamily(familyId, Instant.now());
+    }
+
+    @Transactional
+    public void revokeAllForUser(UUID userId) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(userId, Instant.now());
+        log.debug("{} refresh tokens revogados para usuário {}", revoked, userId);
+    }
+
+    public long getExpirationInSeconds() {
+        return refreshExpirationMs / 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:3600000}",
+               initialDelayString = "${jwt.revocation.prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Limpeza de refresh tokens: {} expirados removidos", deleted);
+        }
+    }
+
+    private IssuedToken issue(UUID userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .familyId(familyId)
+                .tokenHash(hash(rawToken))
+                .createdAt(now)
+                .expiresAt(now.plusMillis(refreshExpirationMs))
+                .build());
+
+        return new IssuedToken(rawToken, userId, familyId);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    /**
+     * Token recém-emitido (valor em claro, retornado ao cliente uma única vez).
+     */
+    public record IssuedToken(String token, UUID userId, UUID familyId) {
+    }
+}
@@ -0,0 +1,257 @@
+package com.app.FinTrack.security;
+
+import com.app.FinTrack.domain.entity.RevokedToken;
+import com.app.FinTrack.domain.entity.UserTokenRevocation;
+import com.app.FinTrack.repository.RevokedTokenRepository;
+import com.app.FinTrack.repository.UserTokenRevocationRepository;
+import com.app.FinTrack.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revogação de tokens JWT: por token (jti) e por usuário (not-before).
+ *
+ * A verificação por requisição não consulta o banco no caso comum:
+ * - jti: um filtro de Bloom, reconstruído periodicamente a partir de revoked_tokens,
+ *   descarta quase todos os tokens válidos; só um positivo (real ou falso) vai ao banco.
+ * - not-before: mapa em memória com os marcos ainda relevantes (mais novos que o
+ *   tempo de vida de um token), recarregado junto com o filtro.
+ *
+ * Revogações feitas neste nó valem imediatamente; as de outros nós passam a valer
+ * na próxima reconstrução (jwt.revocation.refresh-interval-ms).
+ * Registros expirados são removidos por um job de limpeza.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_INSERTIONS = 1024;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final JwtService jwtService;
+
+    /** Revogações feitas neste nó desde antes da última reconstrução (jti -> expiração). */
+    private final Map<String, Instant> localRevokedTokens = new ConcurrentHashMap<>();
+    private final Map<UUID, Instant> localNotBefore = new ConcurrentHashMap<>();
+
+    /** Null até a primeira carga: nesse intervalo a verificação vai direto ao banco. */
+    private volatile Snapshot snapshot;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder databaseLookups = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Indica se o token foi revogado. Tokens sem jti (emitidos antes desta funcionalidade)
+     * só são verificados pelo marco not-before do usuário.
+     */
+    public boolean isRevoked(Claims claims) {
+        checks.increment();
+        boolean revoked = isRevokedByNotBefore(claims) || isRevokedById(claims.getId());
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    @Transactional
+    public void revokeToken(Claims claims) {
+        String jti = claims.getId();
+        UUID userId = userIdOf(claims);
+        if (jti == null || userId == null) {
+            log.warn("Token sem jti/userId não pode ser revogado individualmente");
+            return;
+        }
+
+        Instant expiresAt = claims.getExpiration().toInstant();
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .revokedAt(Instant.now())
+                .build());
+
+        afterCommit(() -> {
+            localRevokedTokens.put(jti, expiresAt);
+            Snapshot current = snapshot;
+            if (current != null) {
+                current.revokedTokens().add(jti);
+            }
+        });
+        log.info("Token revogado para usuário {}", userId);
+    }
+
+    /**
+     * Invalida todos os tokens do usuário emitidos até agora.
+     * O iat do JWT tem precisão de segundos, então o marco é arredondado para o segundo
+     * seguinte: um token emitido no mesmo segundo do logout também fica inválido
+     * (o custo é um login feito nesse mesmo segundo precisar ser repetido).
+     */
+    @Transactional
+    public void revokeAllForUser(UUID userId) {
+        Instant notBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        userTokenRevocationRepository.upsertNotBefore(userId, notBefore);
+
+        afterCommit(() -> localNotBefore.merge(userId, notBefore, TokenRevocationService::latest));
+        log.info("Todas as sessões do usuário {} foram revogadas", userId);
+    }
+
+    /**
+     * Reconstrói o filtro de Bloom e o mapa de not-before a partir do banco.
+     * As revogações locais continuam sendo consultadas diretamente, então nada
+     * feito durante a reconstrução se perde.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:30000}")
+    public void rebuild() {
+        Instant now = Instant.now();
+
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+        BloomFilter filter = new BloomFilter(
+                Math.max(MIN_EXPECTED_INSERTIONS, jtis.size() * 2L), FALSE_POSITIVE_RATE);
+        jtis.forEach(filter::add);
+
+        Map<UUID, Instant> notBefore = new HashMap<>();
+        for (UserTokenRevocation revocation : userTokenRevocationRepository.findByNotBeforeAfter(relevanceThreshold(now))) {
+            notBefore.put(revocation.getUserId(), revocation.getNotBefore());
+        }
+
+        snapshot = new Snapshot(filter, Map.copyOf(notBefore), jtis.size());
+        pruneLocal(now);
+
+        log.debug("Filtro de revogação reconstruído: {} tokens, {} usuários", jtis.size(), notBefore.size());
+    }
+
+    /**
+     * Remove registros que já não podem invalidar nenhum token (tokens expirados e
+     * marcos mais antigos que o tempo de vida de um token).
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:3600000}",
+               initialDelayString = "${jwt.revocation.prune-interval-ms:3600000}")
+    @Transactional
+    public void prune() {
+        Instant now = Instant.now();
+        int tokens = revokedTokenRepository.deleteExpired(now);
+        int users = userTokenRevocationRepository.deleteOlderThan(relevanceThreshold(now));
+        if (tokens > 0 || users > 0) {
+            log.info("Limpeza de revogações: {} tokens expirados, {} marcos de usuário removidos", tokens, users);
+        }
+    }
+
+    public Stats stats() {
+        Snapshot current = snapshot;
+        return new Stats(
+                checks.sum(),
+                filterPositives.sum(),
+                databaseLookups.sum(),
+                rejected.sum(),
+                current != null ? current.tokenCount() : 0,
+                current != null ? current.notBefore().size() : 0);
+    }
+
+    private boolean isRevokedByNotBefore(Claims claims) {
+        UUID userId = userIdOf(claims);
+        Date issuedAt = claims.getIssuedAt();
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+
+        Snapshot current = snapshot;
+        Instant notBefore = localNotBefore.get(userId);
+        if (current != null) {
+            notBefore = latest(notBefore, current.notBefore().get(userId));
+        } else {
+            databaseLookups.increment();
+            notBefore = latest(notBefore, userTokenRevocationRepository.findById(userId)
+                    .map(UserTokenRevocation::getNotBefore)
+                    .orElse(null));
+        }
+        return notBefore != null && issuedAt.toInstant().isBefore(notBefore);
+    }
+
+    private boolean isRevokedById(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (localRevokedTokens.containsKey(jti)) {
+            return true;
+        }
+
+        Snapshot current = snapshot;
+        if (current != null) {
+            if (!current.revokedTokens().mightContain(jti)) {
+                return false;
+            }
+            filterPositives.increment();
+        }
+
+        databaseLookups.increment();
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    private void pruneLocal(Instant now) {
+        localRevokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        Instant threshold = relevanceThreshold(now);
+        localNotBefore.values().removeIf(notBefore -> !notBefore.isAfter(threshold));
+    }
+
+    /** Marcos anteriores a este instante não afetam nenhum token ainda válido. */
+    private Instant relevanceThreshold(Instant now) {
+        return now.minusSeconds(jwtService.getExpirationInSeconds());
+    }
+
+    private static UUID userIdOf(Claims claims) {
+        String userId = claims.get(JwtService.USER_ID_CLAIM, String.class);
+        return userId != null ? UUID.fromString(userId) : null;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Snapshot(BloomFilter revokedTokens, Map<UUID, Instant> notBefore, int tokenCount) {
+    }
+
+    /**
+     * Contadores da verificação de revogação.
+     */
+    public record Stats(long checks, long filterPositives, long databaseLookups, long rejected,
+                        int revokedTokens, int revokedUsers) {
+    }
+}
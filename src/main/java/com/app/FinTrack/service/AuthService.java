@@ -2,12 +2,17 @@ package com.app.FinTrack.service;
 
 import com.app.FinTrack.domain.dto.AuthResponseDTO;
 import com.app.FinTrack.domain.dto.LoginRequestDTO;
+import com.app.FinTrack.domain.dto.RefreshTokenRequestDTO;
 import com.app.FinTrack.domain.dto.RegisterRequestDTO;
 import com.app.FinTrack.domain.entity.User;
 import com.app.FinTrack.exception.EmailAlreadyExistsException;
 import com.app.FinTrack.repository.UserRepository;
 import com.app.FinTrack.security.JwtService;
+import com.app.FinTrack.security.LoginRateLimiter;
+import com.app.FinTrack.security.RefreshTokenService;
+import com.app.FinTrack.security.TokenRevocationService;
 import com.app.FinTrack.util.EmailUtils;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,15 +22,21 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Transactional
     public AuthResponseDTO register(RegisterRequestDTO request) {
@@ -48,18 +59,19 @@ public class AuthService {
         User savedUser = userRepository.save(user);
         log.info("Usuário registrado com sucesso. ID: {}", savedUser.getId());
 
-        // Gera token
-        String token = jwtService.generateToken(savedUser.getId(), savedUser.getEmail());
-
-        return buildAuthResponse(savedUser, token);
+        // Gera tokens (nova sessão)
+        return buildAuthResponse(savedUser, refreshTokenService.issue(savedUser.getId()));
     }
 
-    @Transactional(readOnly = true)
-    public AuthResponseDTO login(LoginRequestDTO request) {
+    // Sem transação envolvendo o BCrypt: nenhuma conexão fica presa durante o hash
+    public AuthResponseDTO login(LoginRequestDTO request, String clientIp) {
         log.info("Tentativa de login: {}", request.getEmail());
 
         String normalizedEmail = EmailUtils.normalize(request.getEmail());
 
+        // Limite por email/IP antes de qualquer consulta ou BCrypt
+        loginRateLimiter.acquire(normalizedEmail, clientIp);
+
         // Autentica via Spring Security
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -68,26 +80,71 @@ public class AuthService {
                 )
         );
 
-        // Busca usuário
-        User user = userRepository.findByEmail(normalizedEmail)
+        // Busca usuário (já carregado no cache durante a autenticação)
+        User user = userCacheService.findByEmail(normalizedEmail)
                 .orElseThrow(() -> new BadCredentialsException("Credenciais inválidas"));
 
         log.info("Login realizado com sucesso: {}", user.getEmail());
 
-        // Gera token
-        String token = jwtService.generateToken(user.getId(), user.getEmail());
+        // Gera tokens (nova sessão)
+        return buildAuthResponse(user, refreshTokenService.issue(user.getId()));
+    }
+
+    /**
+     * Troca um refresh token válido por um novo par de tokens, sem verificar senha.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponseDTO refresh(RefreshTokenRequestDTO request) {
+        RefreshTokenService.IssuedToken refreshToken = refreshTokenService.rotate(request.getRefreshToken());
+
+        User user = userCacheService.findById(refreshToken.userId())
+                .orElseThrow(() -> new BadCredentialsException("Credenciais inválidas"));
+
+        log.debug("Tokens renovados para usuário {}", user.getId());
+        return buildAuthResponse(user, refreshToken);
+    }
+
+    /**
+     * Revoga o token informado e a sessão de refresh tokens de onde ele veio.
+     */
+    @Transactional
+    public void logout(String token) {
+        Claims claims = jwtService.parseToken(token);
+        tokenRevocationService.revokeToken(claims);
 
-        return buildAuthResponse(user, token);
+        String sessionId = claims.get(JwtService.SESSION_ID_CLAIM, String.class);
+        if (sessionId != null) {
+            refreshTokenService.revokeFamily(UUID.fromString(sessionId));
+        }
+        log.info("Logout realizado: {}", claims.getSubject());
+    }
+
+    /**
+     * Revoga todos os tokens já emitidos para o usuário do token informado.
+     */
+    @Transactional
+    public void logoutAll(String token) {
+        Claims claims = jwtService.parseToken(token);
+        UUID userId = UUID.fromString(claims.get(JwtService.USER_ID_CLAIM, String.class));
+
+        tokenRevocationService.revokeToken(claims);
+        tokenRevocationService.revokeAllForUser(userId);
+        refreshTokenService.revokeAllForUser(userId);
+        log.info("Logout de todas as sessões: {}", claims.getSubject());
     }
 
     /**
      * Constrói o DTO de resposta de autenticação.
      */
-    private AuthResponseDTO buildAuthResponse(User user, String token) {
+    private AuthResponseDTO buildAuthResponse(User user, RefreshTokenService.IssuedToken refreshToken) {
+        String token = jwtService.generateToken(user.getId(), user.getEmail(), refreshToken.familyId());
+
         return AuthResponseDTO.builder()
                 .token(token)
                 .tokenType("Bearer")
                 .expiresIn(jwtService.getExpirationInSeconds())
+                .refreshToken(refreshToken.token())
+                .refreshExpiresIn(refreshTokenService.getExpirationInSeconds())
                 .userId(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
@@ -0,0 +1,25 @@
+package com.app.FinTrack.service;
+
+import java.time.LocalDate;
+
+/**
+ * Validação comum das seleções das operações em lote.
+ */
+final class BulkSelection {
+
+    private BulkSelection() {
+    }
+
+    /**
+     * Exige ids ou filtro (um dos dois, nunca vazio: um filtro sem critérios apagaria tudo)
+     * e período coerente.
+     */
+    static void validate(boolean hasIds, boolean hasFilter, LocalDate from, LocalDate to) {
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException("Informe a lista de ids ou ao menos um critério de filtro (não os dois)");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior ou igual à data final");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.DashboardDTO;
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
+import com.app.FinTrack.util.BoundedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache em processo dos resultados do dashboard, por usuário e período.
+ *
+ * A chave inclui a versão dos dados do usuário ({@link DataVersionService}, users.data_version),
+ * lida antes de consultar: depois de uma alteração em qualquer nó a versão muda e a entrada
+ * antiga deixa de ser encontrada, então o corpo servido nunca é mais antigo que a ETag
+ * calculada pelo ConditionalGetInterceptor. O {@link UserDataChangedEvent} após o commit
+ * só libera a memória das entradas antigas deste nó.
+ * Limitado por tamanho (LRU) e TTL; o TTL também cobre a virada do dia em chaves relativas
+ * como o mês atual.
+ *
+ * Uma carga concorrente com uma escrita não precisa ser descartada: ela é gravada sob a
+ * versão lida antes da consulta e os dados lidos são ao menos tão novos quanto essa versão.
+ * Depois do commit a versão já é outra, então a entrada nunca é servida como atual.
+ * Escritas de um usuário não afetam as cargas em andamento dos demais.
+ */
+@Service
+@Slf4j
+public class DashboardCacheService {
+
+    private final DataVersionService dataVersionService;
+    private final BoundedCache<Key, DashboardDTO> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public DashboardCacheService(
+            DataVersionService dataVersionService,
+            @Value("${cache.dashboard.max-size:5000}") int maxSize,
+            @Value("${cache.dashboard.ttl-seconds:300}") long ttlSeconds) {
+        this.dataVersionService = dataVersionService;
+        this.cache = new BoundedCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * Dashboard de todo o histórico (datas nulas) ou de um período, calculado por
+     * {@code loader} em caso de miss.
+     */
+    public DashboardDTO get(UUID userId, LocalDate startDate, LocalDate endDate, Supplier<DashboardDTO> loader) {
+        Key key = new Key(userId, dataVersionService.currentVersion(userId), startDate, endDate);
+        DashboardDTO cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DashboardDTO dashboard = loader.get();
+        cache.put(key, dashboard);
+        return dashboard;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        invalidations.increment();
+        Set<UUID> userIds = new HashSet<>(event.userIds());
+        cache.invalidateIf(key -> userIds.contains(key.userId()));
+        log.debug("Dashboard invalidado no cache para {} usuário(s)", userIds.size());
+    }
+
+    public Stats stats() {
+        BoundedCache.Stats stats = cache.stats();
+        return new Stats(stats.hits(), stats.misses(), stats.evictions(), invalidations.sum(),
+                stats.size(), stats.maxSize(), stats.hitRate());
+    }
+
+    private record Key(UUID userId, long version, LocalDate startDate, LocalDate endDate) {
+    }
+
+    /**
+     * Contadores do cache do dashboard. invalidations conta eventos recebidos;
+     * evictions inclui entradas removidas por invalidação, TTL e LRU.
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations,
+                        int size, int maxSize, double hitRate) {
+    }
+}
@@ -1,10 +1,10 @@
 package com.app.FinTrack.service;
 
 import com.app.FinTrack.domain.dto.DashboardDTO;
+import com.app.FinTrack.repository.MonthlyRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -14,37 +14,57 @@ import java.util.UUID;
 /**
  * Service responsável por gerar o resumo financeiro (Dashboard).
  * Consolida dados de Income, Expense e Investment.
+ *
+ * Resultados passam pelo DashboardCacheService. Sem transação própria: num hit nenhuma
+ * conexão é usada; num miss a consulta abre a sua (MonthlyRollupService).
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class DashboardService {
 
-    private final IncomeService incomeService;
-    private final ExpenseService expenseService;
-    private final InvestmentService investmentService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCacheService dashboardCacheService;
 
     /** Fator para converter para percentual. */
     private static final BigDecimal HUNDRED = new BigDecimal("100");
 
     /**
      * Gera o resumo financeiro completo do usuário (todos os dados).
+     * Todas as entradas vêm de uma única consulta (agregados mensais + valor atual dos investimentos).
      */
     public DashboardDTO getDashboard(UUID userId) {
+        return dashboardCacheService.get(userId, null, null, () -> loadDashboard(userId));
+    }
+
+    /**
+     * Gera o resumo financeiro de um período específico (mensal, por exemplo).
+     * Receitas e despesas são filtradas pelo período (despesas pelo vencimento).
+     * Investimentos mostram o valor total (não filtrado por período).
+     */
+    public DashboardDTO getDashboardByPeriod(UUID userId, LocalDate startDate, LocalDate endDate) {
+        return dashboardCacheService.get(userId, startDate, endDate,
+                () -> loadDashboardByPeriod(userId, startDate, endDate));
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private DashboardDTO loadDashboard(UUID userId) {
         log.info("Gerando dashboard para usuário: {}", userId);
 
+        MonthlyRollupRepository.DashboardTotals totals = monthlyRollupService.dashboardTotals(userId);
+
         // Receitas (total)
-        BigDecimal totalIncome = incomeService.getTotalAmount(userId);
-        long incomeCount = incomeService.count(userId);
+        BigDecimal totalIncome = toDisplayScale(totals.getTotalIncome());
+        long incomeCount = totals.getIncomeCount();
 
         // Despesas (total)
-        BigDecimal totalExpense = expenseService.getTotalAmount(userId);
-        BigDecimal pendingExpense = expenseService.getTotalPending(userId);
-        long expenseCount = expenseService.count(userId);
+        BigDecimal totalExpense = toDisplayScale(totals.getTotalExpense());
+        BigDecimal pendingExpense = toDisplayScale(totals.getPendingExpense());
+        long expenseCount = totals.getExpenseCount();
 
         // Investimentos (sempre total, não filtrado por período)
-        InvestmentSummary investmentSummary = calculateInvestmentSummary(userId);
+        InvestmentSummary investmentSummary = calculateInvestmentSummary(totals);
 
         // Balanço e taxa de poupança
         BigDecimal balance = DashboardDTO.calculateBalance(totalIncome, totalExpense);
@@ -59,24 +79,26 @@ public class DashboardService {
     }
 
     /**
-     * Gera o resumo financeiro de um período específico (mensal, por exemplo).
-     * Receitas e despesas são filtradas pelo período.
-     * Investimentos mostram o valor total (não filtrado por período).
+     * Também uma única consulta: meses inteiros do período vêm dos agregados mensais e só
+     * as bordas de períodos não alinhados ao mês são somadas nas tabelas de lançamentos.
      */
-    public DashboardDTO getDashboardByPeriod(UUID userId, LocalDate startDate, LocalDate endDate) {
+    private DashboardDTO loadDashboardByPeriod(UUID userId, LocalDate startDate, LocalDate endDate) {
         log.info("Gerando dashboard para usuário: {} - período: {} a {}", userId, startDate, endDate);
 
+        MonthlyRollupRepository.PeriodDashboardTotals totals =
+                monthlyRollupService.dashboardTotals(userId, startDate, endDate);
+
         // Receitas do período
-        BigDecimal totalIncome = incomeService.getTotalAmountByPeriod(userId, startDate, endDate);
-        long incomeCount = incomeService.countByPeriod(userId, startDate, endDate);
+        BigDecimal totalIncome = toDisplayScale(totals.getPeriodIncome());
+        long incomeCount = totals.getPeriodIncomeCount();
 
         // Despesas do período
-        BigDecimal totalExpense = expenseService.getTotalAmountByPeriod(userId, startDate, endDate);
-        BigDecimal pendingExpense = expenseService.getTotalPending(userId); // Pendente é sempre total
-        long expenseCount = expenseService.countByPeriod(userId, startDate, endDate);
+        BigDecimal totalExpense = toDisplayScale(totals.getPeriodExpense());
+        BigDecimal pendingExpense = toDisplayScale(totals.getPendingExpense()); // Pendente é sempre total
+        long expenseCount = totals.getPeriodExpenseCount();
 
         // Investimentos (sempre total, não filtrado por período)
-        InvestmentSummary investmentSummary = calculateInvestmentSummary(userId);
+        InvestmentSummary investmentSummary = calculateInvestmentSummary(totals);
 
         // Balanço e taxa de poupança (baseados no período)
         BigDecimal balance = DashboardDTO.calculateBalance(totalIncome, totalExpense);
@@ -90,16 +112,15 @@ public class DashboardService {
         );
     }
 
-    // ==================== MÉTODOS AUXILIARES ====================
-
     /**
      * Calcula o resumo de investimentos (valor investido, atual, lucro/prejuízo).
      * Extrai a lógica duplicada para um método privado (DRY).
      */
-    private InvestmentSummary calculateInvestmentSummary(UUID userId) {
-        BigDecimal totalInvested = investmentService.getTotalInvested(userId);
-        BigDecimal currentValue = investmentService.getCurrentTotalValue(userId);
-        long count = investmentService.count(userId);
+    private InvestmentSummary calculateInvestmentSummary(MonthlyRollupRepository.DashboardTotals totals) {
+        // Valor investido mantém a precisão de quantidade × preço
+        BigDecimal totalInvested = totals.getTotalInvested();
+        BigDecimal currentValue = totals.getCurrentInvestmentValue();
+        long count = totals.getInvestmentCount();
 
         BigDecimal profitLoss = BigDecimal.ZERO;
         BigDecimal profitLossPercentage = BigDecimal.ZERO;
@@ -122,6 +143,11 @@ public class DashboardService {
         );
     }
 
+    // Valores em reais são gravados com 2 casas; os agregados guardam mais precisão
+    private static BigDecimal toDisplayScale(BigDecimal value) {
+        return value.setScale(DashboardDTO.DISPLAY_SCALE, RoundingMode.HALF_UP);
+    }
+
     /**
      * Constrói o DTO do Dashboard com os dados fornecidos.
      */
@@ -0,0 +1,92 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
+import com.app.FinTrack.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Versão dos dados de cada usuário, usada para gerar ETags das rotas de leitura.
+ *
+ * A versão fica em users.data_version e é incrementada a cada {@link UserDataChangedEvent},
+ * antes do commit e na mesma transação da alteração: todas as instâncias leem o mesmo valor,
+ * e a versão só muda junto com os dados. Como a ETag é lida antes do controller, os dados
+ * servidos são sempre ao menos tão novos quanto a versão, então um 304 nunca fica desatualizado.
+ *
+ * A ETag inclui o usuário (versões começam em 0 para todos) e o dia atual, porque há rotas
+ * relativas à data (mês atual, últimos 30 dias).
+ */
+@Service
+@Slf4j
+public class DataVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder bumps = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    public DataVersionService(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Versão atual do usuário (0 se ainda não houve alteração ou o usuário não existe).
+     */
+    public long currentVersion(UUID userId) {
+        lookups.increment();
+        return userRepository.findDataVersion(userId).orElse(0L);
+    }
+
+    /**
+     * ETag forte dos dados do usuário.
+     */
+    public String userETag(UUID userId) {
+        long userTag = userId.getMostSignificantBits() ^ userId.getLeastSignificantBits();
+        return "\"" + Long.toString(userTag, 36) + "-" + Long.toString(currentVersion(userId), 36)
+                + "-" + Long.toString(LocalDate.now().toEpochDay(), 36) + "\"";
+    }
+
+    /**
+     * ETag forte de conteúdo estático (enums): muda apenas com o deploy.
+     */
+    public String staticETag() {
+        return "\"" + epoch + "\"";
+    }
+
+    /**
+     * Incrementa a versão na transação da alteração (ou numa própria, se o evento
+     * for publicado fora de transação).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeCommit(UserDataChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> userRepository.incrementDataVersion(event.userIds()));
+        bumps.increment();
+        log.debug("Versão dos dados atualizada para {} usuário(s)", event.userIds().size());
+    }
+
+    public void recordNotModified() {
+        notModified.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(bumps.sum(), lookups.sum(), notModified.sum());
+    }
+
+    /**
+     * Contadores das versões. lookups conta leituras da versão; notModified, respostas 304 enviadas.
+     */
+    public record Stats(long bumps, long lookups, long notModified) {
+    }
+}
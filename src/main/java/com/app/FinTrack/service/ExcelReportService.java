@@ -1,17 +1,19 @@
 package com.app.FinTrack.service;
 
-import com.app.FinTrack.domain.dto.ReportSummaryDTO;
+import com.app.FinTrack.domain.dto.ReportTotalsDTO;
 import com.app.FinTrack.domain.dto.TransactionReportDTO;
+import com.app.FinTrack.domain.enums.ReportType;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.util.UUID;
 
 /**
  * Service para geração de relatórios em formato Excel (XLSX).
@@ -21,29 +23,83 @@ import java.util.Locale;
 public class ExcelReportService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-    private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
+    private static final int MIN_COLUMN_CHARS = 8;
+    private static final int MAX_COLUMN_CHARS = 60;
+
+    private final ReportService reportService;
+    private final int rowWindow;
+
+    public ExcelReportService(
+            ReportService reportService,
+            @Value("${reports.excel.row-window:100}") int rowWindow) {
+        this.reportService = reportService;
+        this.rowWindow = rowWindow;
+    }
 
     /**
-     * Gera um arquivo Excel com o relatório financeiro.
+     * Gera o XLSX do relatório direto em {@code out}, lendo as transações em stream do banco.
+     *
+     * Usa SXSSF: só as últimas {@code reports.excel.row-window} linhas ficam em memória; as
+     * anteriores vão para um arquivo temporário compactado (gzip), removido ao final. As larguras
+     * das colunas são calculadas pelo maior texto visto em cada coluna, sem o autoSizeColumn
+     * (que precisaria de todas as células em memória).
+     *
+     * Chamado de dentro do StreamingResponseBody; {@code out} não é fechado aqui.
+     *
+     * @return quantidade de transações escritas
      */
-    public byte[] generateExcel(ReportSummaryDTO report) {
+    public long writeExcel(UUID userId, LocalDate startDate, LocalDate endDate, ReportType type, OutputStream out) {
         log.info("Gerando Excel do relatório");
 
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            ExcelSink sink = new ExcelSink(workbook);
+            reportService.streamReport(userId, startDate, endDate, type, sink);
+            sink.applyColumnWidths();
 
-            Sheet sheet = workbook.createSheet("Relatório Financeiro");
+            workbook.write(out);
+            out.flush();
 
-            // Estilos
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dateStyle = createDateStyle(workbook);
-            CellStyle currencyStyle = createCurrencyStyle(workbook);
-            CellStyle incomeStyle = createIncomeStyle(workbook);
-            CellStyle expenseStyle = createExpenseStyle(workbook);
-            CellStyle boldStyle = createBoldStyle(workbook);
+            log.info("Excel gerado com sucesso - {} transações", sink.rows);
+            return sink.rows;
 
-            int rowNum = 0;
+        } catch (Exception e) {
+            log.error("Erro ao gerar Excel", e);
+            throw new RuntimeException("Erro ao gerar Excel", e);
+        } finally {
+            workbook.dispose();
+        }
+    }
 
+    /**
+     * Escreve título, período e resumo em {@link #begin} e as transações conforme chegam.
+     */
+    private final class ExcelSink implements ReportSink {
+
+        private static final String[] HEADERS = {"Data", "Tipo", "Categoria", "Descrição", "Valor"};
+
+        private final Sheet sheet;
+        private final CellStyle headerStyle;
+        private final CellStyle incomeStyle;
+        private final CellStyle expenseStyle;
+        private final CellStyle boldStyle;
+        private final int[] maxChars = new int[HEADERS.length];
+        private int rowNum;
+        private long rows;
+
+        private ExcelSink(Workbook workbook) {
+            this.sheet = workbook.createSheet("Relatório Financeiro");
+
+            // Estilos
+            this.headerStyle = createHeaderStyle(workbook);
+            this.incomeStyle = createIncomeStyle(workbook);
+            this.expenseStyle = createExpenseStyle(workbook);
+            this.boldStyle = createBoldStyle(workbook);
+        }
+
+        @Override
+        public void begin(ReportTotalsDTO totals) {
             // Título
             Row titleRow = sheet.createRow(rowNum++);
             Cell titleCell = titleRow.createCell(0);
@@ -54,8 +110,8 @@ public class ExcelReportService {
             Row periodRow = sheet.createRow(rowNum++);
             periodRow.createCell(0).setCellValue(
                     String.format("Período: %s a %s",
-                            report.startDate().format(DATE_FORMATTER),
-                            report.endDate().format(DATE_FORMATTER))
+                            totals.startDate().format(DATE_FORMATTER),
+                            totals.endDate().format(DATE_FORMATTER))
             );
 
             // Linha em branco
@@ -67,11 +123,11 @@ public class ExcelReportService {
             summaryHeaderCell.setCellValue("Resumo do Período");
             summaryHeaderCell.setCellStyle(boldStyle);
 
-            addSummaryRow(sheet, rowNum++, "Total de Receitas:", report.totalIncome(), incomeStyle);
-            addSummaryRow(sheet, rowNum++, "Total de Despesas:", report.totalExpense(), expenseStyle);
+            addSummaryRow(sheet, rowNum++, "Total de Receitas:", totals.totalIncome(), incomeStyle);
+            addSummaryRow(sheet, rowNum++, "Total de Despesas:", totals.totalExpense(), expenseStyle);
 
-            CellStyle balanceStyle = report.balance().compareTo(BigDecimal.ZERO) >= 0 ? incomeStyle : expenseStyle;
-            addSummaryRow(sheet, rowNum++, "Saldo:", report.balance(), balanceStyle);
+            CellStyle balanceStyle = totals.balance().compareTo(BigDecimal.ZERO) >= 0 ? incomeStyle : expenseStyle;
+            addSummaryRow(sheet, rowNum++, "Saldo:", totals.balance(), balanceStyle);
 
             // Linha em branco
             rowNum++;
@@ -79,45 +135,56 @@ public class ExcelReportService {
 
             // Cabeçalho da tabela de transações
             Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"Data", "Tipo", "Categoria", "Descrição", "Valor"};
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(HEADERS[i]);
                 cell.setCellStyle(headerStyle);
+                track(i, HEADERS[i]);
             }
+        }
 
-            // Dados das transações
-            for (TransactionReportDTO transaction : report.transactions()) {
-                Row row = sheet.createRow(rowNum++);
-
-                row.createCell(0).setCellValue(transaction.date().format(DATE_FORMATTER));
-                row.createCell(1).setCellValue(transaction.typeDisplayName());
-                row.createCell(2).setCellValue(transaction.categoryDisplayName());
-                row.createCell(3).setCellValue(transaction.description());
+        @Override
+        public void transaction(TransactionReportDTO transaction) {
+            Row row = sheet.createRow(rowNum++);
 
-                Cell valueCell = row.createCell(4);
-                valueCell.setCellValue(transaction.amount().doubleValue());
+            String date = transaction.date().format(DATE_FORMATTER);
+            row.createCell(0).setCellValue(date);
+            row.createCell(1).setCellValue(transaction.typeDisplayName());
+            row.createCell(2).setCellValue(transaction.categoryDisplayName());
+            row.createCell(3).setCellValue(transaction.description());
 
-                if ("INCOME".equals(transaction.type())) {
-                    valueCell.setCellStyle(incomeStyle);
-                } else {
-                    valueCell.setCellStyle(expenseStyle);
-                }
-            }
+            Cell valueCell = row.createCell(4);
+            valueCell.setCellValue(transaction.amount().doubleValue());
 
-            // Ajustar largura das colunas
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            if ("INCOME".equals(transaction.type())) {
+                valueCell.setCellStyle(incomeStyle);
+            } else {
+                valueCell.setCellStyle(expenseStyle);
             }
 
-            workbook.write(baos);
+            track(0, date);
+            track(1, transaction.typeDisplayName());
+            track(2, transaction.categoryDisplayName());
+            track(3, transaction.description());
+            // "R$ " + parte inteira com separadores + centavos
+            maxChars[4] = Math.max(maxChars[4], transaction.amount().precision() + 8);
+            rows++;
+        }
 
-            log.info("Excel gerado com sucesso - {} bytes", baos.size());
-            return baos.toByteArray();
+        private void track(int column, String text) {
+            if (text != null && text.length() > maxChars[column]) {
+                maxChars[column] = text.length();
+            }
+        }
 
-        } catch (Exception e) {
-            log.error("Erro ao gerar Excel", e);
-            throw new RuntimeException("Erro ao gerar Excel", e);
+        /**
+         * Largura em 1/256 de caractere, com margem e limite para textos muito longos.
+         */
+        private void applyColumnWidths() {
+            for (int i = 0; i < maxChars.length; i++) {
+                int chars = Math.min(Math.max(maxChars[i], MIN_COLUMN_CHARS), MAX_COLUMN_CHARS);
+                sheet.setColumnWidth(i, (chars + 2) * 256);
+            }
         }
     }
 
@@ -145,13 +212,6 @@ public class ExcelReportService {
         return style;
     }
 
-    private CellStyle createDateStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        CreationHelper createHelper = workbook.getCreationHelper();
-        style.setDataFormat(createHelper.createDataFormat().getFormat("dd/mm/yyyy"));
-        return style;
-    }
-
     private CellStyle createCurrencyStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         CreationHelper createHelper = workbook.getCreationHelper();
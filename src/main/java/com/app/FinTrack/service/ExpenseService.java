@@ -1,26 +1,33 @@
 package com.app.FinTrack.service;
 
+import com.app.FinTrack.domain.dto.BulkResultDTO;
+import com.app.FinTrack.domain.dto.CursorPageDTO;
+import com.app.FinTrack.domain.dto.ExpenseBulkRequestDTO;
 import com.app.FinTrack.domain.dto.ExpenseRequestDTO;
 import com.app.FinTrack.domain.dto.ExpenseResponseDTO;
 import com.app.FinTrack.domain.entity.Expense;
 import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
 import com.app.FinTrack.domain.enums.ExpenseCategory;
 import com.app.FinTrack.domain.enums.PaymentMethod;
 import com.app.FinTrack.domain.enums.RecurrenceType;
 import com.app.FinTrack.exception.ResourceNotFoundException;
 import com.app.FinTrack.repository.ExpenseRepository;
 import com.app.FinTrack.repository.UserRepository;
+import com.app.FinTrack.util.JsonStreamWriter;
+import com.app.FinTrack.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +37,11 @@ public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
     private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final MonthlyRollupService monthlyRollupService;
+    private final RecurringRolloverService recurringRolloverService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ExpenseResponseDTO create(UUID userId, ExpenseRequestDTO request) {
@@ -60,39 +72,40 @@ public class ExpenseService {
                 .build();
 
         Expense saved = expenseRepository.save(expense);
+        reopenRolloverIfDue(saved);
+        monthlyRollupService.add(MonthlyRollupService.of(saved));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
         log.info("Despesa criada com ID: {}", saved.getId());
         return ExpenseResponseDTO.fromEntity(saved);
     }
 
     public List<ExpenseResponseDTO> findAllByUser(UUID userId) {
-        updateRecurringExpensesStatus(userId);
-        return expenseRepository.findByUserIdOrderByDateDesc(userId)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.findResponsesByUserId(userId);
     }
 
-    @Transactional
-    public void updateRecurringExpensesStatus(UUID userId) {
-        List<Expense> recurringExpenses = expenseRepository.findByUserIdOrderByDateDesc(userId)
-                .stream()
-                .filter(expense -> expense.getRecurrence() != null && expense.getRecurrence() != RecurrenceType.ONCE)
-                .filter(Expense::getIsPaid)
-                .toList();
-
-        YearMonth currentYearMonth = YearMonth.now();
-
-        for (Expense expense : recurringExpenses) {
-            YearMonth dueYearMonth = YearMonth.from(expense.getDueDate());
+    /**
+     * Escreve todas as despesas do usuário como array JSON em {@code out}, em stream.
+     * Chamado de dentro do StreamingResponseBody; a transação mantém o cursor aberto.
+     *
+     * @return quantidade de despesas escritas
+     */
+    public long streamAllByUser(UUID userId, OutputStream out) {
+        return jsonStreamWriter.writeArray(expenseRepository.streamByUserId(userId), ExpenseResponseDTO::fromEntity, out);
+    }
 
-            if (dueYearMonth.isBefore(currentYearMonth)) {
-                LocalDate nextDueDate = calculateNextDueDate(expense.getDueDate(), expense.getRecurrence());
-                expense.setDueDate(nextDueDate);
-                expense.setIsPaid(false);
-                expenseRepository.save(expense);
-                log.info("Despesa recorrente {} resetada para o novo mês. Vencimento: {}", expense.getId(), nextDueDate);
-            }
-        }
+    /**
+     * Lista despesas por cursor, ordenadas por (date, id) decrescente.
+     */
+    public CursorPageDTO<ExpenseResponseDTO> findPageByUser(UUID userId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.normalizeLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Expense> rows = after == null
+                ? expenseRepository.findFirstPage(userId, pageSize + 1)
+                : expenseRepository.findPageAfter(userId, after.dateKey(), after.id(), pageSize + 1);
+
+        return CursorPageDTO.of(rows, pageSize,
+                expense -> KeysetCursor.encode(expense.getDate(), expense.getId()),
+                ExpenseResponseDTO::fromEntity);
     }
 
     public ExpenseResponseDTO findById(UUID userId, UUID expenseId) {
@@ -104,6 +117,7 @@ public class ExpenseService {
     public ExpenseResponseDTO update(UUID userId, UUID expenseId, ExpenseRequestDTO request) {
         log.info("Atualizando despesa: {} do usuário: {}", expenseId, userId);
         Expense expense = findExpenseByIdAndUser(expenseId, userId);
+        MonthlyRollupService.Contribution before = MonthlyRollupService.of(expense);
 
         expense.setDescription(request.description());
         expense.setAmount(request.amount());
@@ -116,6 +130,9 @@ public class ExpenseService {
         expense.setNotes(request.notes());
 
         Expense updated = expenseRepository.save(expense);
+        reopenRolloverIfDue(updated);
+        monthlyRollupService.replace(before, MonthlyRollupService.of(updated));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
         return ExpenseResponseDTO.fromEntity(updated);
     }
 
@@ -124,70 +141,94 @@ public class ExpenseService {
         log.info("Deletando despesa: {} do usuário: {}", expenseId, userId);
         Expense expense = findExpenseByIdAndUser(expenseId, userId);
         expenseRepository.delete(expense);
+        monthlyRollupService.remove(MonthlyRollupService.of(expense));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
     }
 
     public List<ExpenseResponseDTO> findByPeriod(UUID userId, LocalDate startDate, LocalDate endDate) {
-        return expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.findResponsesByUserIdAndDateBetween(userId, startDate, endDate);
     }
 
     public List<ExpenseResponseDTO> findByCategory(UUID userId, ExpenseCategory category) {
-        return expenseRepository.findByUserIdAndCategory(userId, category)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.findResponsesByUserIdAndCategory(userId, category);
     }
 
     public List<ExpenseResponseDTO> findByPaymentMethod(UUID userId, PaymentMethod paymentMethod) {
-        return expenseRepository.findByUserIdAndPaymentMethod(userId, paymentMethod)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.findResponsesByUserIdAndPaymentMethod(userId, paymentMethod);
     }
 
     public List<ExpenseResponseDTO> findPending(UUID userId) {
-        return expenseRepository.findByUserIdAndIsPaidFalseOrderByDateAsc(userId)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.findPendingResponsesByUserId(userId);
     }
 
     public List<ExpenseResponseDTO> searchByDescription(UUID userId, String searchTerm) {
-        return expenseRepository.findByUserIdAndDescriptionContainingIgnoreCase(userId, searchTerm)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.searchResponsesByDescription(userId, searchTerm);
     }
 
     @Transactional
     public ExpenseResponseDTO markAsPaid(UUID userId, UUID expenseId) {
         Expense expense = findExpenseByIdAndUser(expenseId, userId);
+        MonthlyRollupService.Contribution before = MonthlyRollupService.of(expense);
         expense.setIsPaid(true);
         log.info("Despesa {} marcada como paga", expenseId);
-        return ExpenseResponseDTO.fromEntity(expenseRepository.save(expense));
-    }
-
-    private LocalDate calculateNextDueDate(LocalDate currentDueDate, RecurrenceType recurrence) {
-        return switch (recurrence) {
-            case DAILY -> currentDueDate.plusDays(1);
-            case WEEKLY -> currentDueDate.plusWeeks(1);
-            case BIWEEKLY -> currentDueDate.plusWeeks(2);
-            case MONTHLY -> currentDueDate.plusMonths(1);
-            case BIMONTHLY -> currentDueDate.plusMonths(2);
-            case QUARTERLY -> currentDueDate.plusMonths(3);
-            case SEMIANNUAL -> currentDueDate.plusMonths(6);
-            case ANNUAL -> currentDueDate.plusYears(1);
-            case ONCE -> currentDueDate;
-        };
+        Expense saved = expenseRepository.save(expense);
+        reopenRolloverIfDue(saved);
+        monthlyRollupService.replace(before, MonthlyRollupService.of(saved));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
+        return ExpenseResponseDTO.fromEntity(saved);
     }
 
     @Transactional
     public ExpenseResponseDTO markAsPending(UUID userId, UUID expenseId) {
         Expense expense = findExpenseByIdAndUser(expenseId, userId);
+        MonthlyRollupService.Contribution before = MonthlyRollupService.of(expense);
         expense.setIsPaid(false);
-        return ExpenseResponseDTO.fromEntity(expenseRepository.save(expense));
+        Expense saved = expenseRepository.save(expense);
+        monthlyRollupService.replace(before, MonthlyRollupService.of(saved));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
+        return ExpenseResponseDTO.fromEntity(saved);
+    }
+
+    // OPERAÇÕES EM LOTE (uma instrução cada; agregados recalculados para o usuário)
+
+    /**
+     * Paga as despesas pendentes selecionadas. Recorrentes com vencimento em mês anterior
+     * ficam pagas e o job de rollover as avança, como em {@link #markAsPaid(UUID, UUID)}.
+     */
+    @Transactional
+    public BulkResultDTO bulkMarkAsPaid(UUID userId, ExpenseBulkRequestDTO request) {
+        validate(request);
+        int affected = request.hasIds()
+                ? expenseRepository.payByIds(userId, request.ids())
+                : expenseRepository.payByFilter(userId, request.dueDateFrom(), request.dueDateTo(),
+                        request.isPaid(), categoryName(request.category()));
+        log.info("{} despesas marcadas como pagas em lote para usuário: {}", affected, userId);
+        if (affected > 0) {
+            recurringRolloverService.reopen(userId);
+        }
+        return afterBulk(userId, affected);
+    }
+
+    @Transactional
+    public BulkResultDTO bulkMarkAsPending(UUID userId, ExpenseBulkRequestDTO request) {
+        validate(request);
+        int affected = request.hasIds()
+                ? expenseRepository.unpayByIds(userId, request.ids())
+                : expenseRepository.unpayByFilter(userId, request.dueDateFrom(), request.dueDateTo(),
+                        request.isPaid(), categoryName(request.category()));
+        log.info("{} despesas marcadas como pendentes em lote para usuário: {}", affected, userId);
+        return afterBulk(userId, affected);
+    }
+
+    @Transactional
+    public BulkResultDTO bulkDelete(UUID userId, ExpenseBulkRequestDTO request) {
+        validate(request);
+        int affected = request.hasIds()
+                ? expenseRepository.deleteByIds(userId, request.ids())
+                : expenseRepository.deleteByFilter(userId, request.dueDateFrom(), request.dueDateTo(),
+                        request.isPaid(), categoryName(request.category()));
+        log.info("{} despesas deletadas em lote para usuário: {}", affected, userId);
+        return afterBulk(userId, affected);
     }
 
     public BigDecimal getTotalAmount(UUID userId) {
@@ -211,22 +252,49 @@ public class ExpenseService {
     }
 
     public List<ExpenseResponseDTO> findByDueDatePeriodWithPriority(UUID userId, LocalDate startDate, LocalDate endDate) {
-        return expenseRepository.findByUserIdAndDueDateBetweenOrderedByPriority(userId, startDate, endDate)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.findResponsesByUserIdAndDueDateBetweenOrderedByPriority(userId, startDate, endDate);
     }
 
     public List<ExpenseResponseDTO> findByDueDateAndStatus(UUID userId, Boolean isPaid, LocalDate startDate, LocalDate endDate) {
-        return expenseRepository.findByUserIdAndIsPaidAndDueDateBetween(userId, isPaid, startDate, endDate)
-                .stream()
-                .map(ExpenseResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return expenseRepository.findResponsesByUserIdAndIsPaidAndDueDateBetween(userId, isPaid, startDate, endDate);
+    }
+
+    private static void validate(ExpenseBulkRequestDTO request) {
+        BulkSelection.validate(request.hasIds(), request.hasFilter(), request.dueDateFrom(), request.dueDateTo());
+    }
+
+    private static String categoryName(ExpenseCategory category) {
+        return category != null ? category.name() : null;
+    }
+
+    private BulkResultDTO afterBulk(UUID userId, int affected) {
+        if (affected > 0) {
+            monthlyRollupService.rebuildUsers(List.of(userId));
+        }
+        return new BulkResultDTO(affected);
+    }
+
+    /**
+     * Recorrente paga com vencimento em mês anterior fica paga nesta gravação; o job de
+     * rollover (RecurringRolloverService) a avança para a próxima ocorrência na próxima
+     * execução. Reabre o usuário porque o marco do mês pode já estar gravado.
+     */
+    private void reopenRolloverIfDue(Expense expense) {
+        if (RecurringRolloverService.isDue(expense.getDueDate(), expense.getRecurrence(),
+                expense.getIsPaid(), YearMonth.now())) {
+            recurringRolloverService.reopen(expense.getUser().getId());
+            log.info("Despesa recorrente {} paga com vencimento anterior; rollover agendado", expense.getId());
+        }
     }
 
+    /**
+     * Confirma a existência do usuário pelo cache e devolve uma referência (proxy)
+     * para associar como dono, sem SELECT em users.
+     */
     private User findUserById(UUID userId) {
-        return userRepository.findById(userId)
+        userCacheService.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + userId));
+        return userRepository.getReferenceById(userId);
     }
 
     private Expense findExpenseByIdAndUser(UUID expenseId, UUID userId) {
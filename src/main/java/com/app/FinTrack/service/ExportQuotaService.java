@@ -0,0 +1,126 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.enums.ExportFormat;
+import com.app.FinTrack.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cota de exportação por usuário, cobrada pelo custo estimado de cada exportação.
+ *
+ * O custo é o número de linhas do relatório (obtido com uma consulta COUNT antes
+ * de gerar o documento) mais um custo fixo por arquivo. Cada formato tem seu próprio
+ * orçamento por janela fixa (quota.exports.&lt;formato&gt;.rows-per-window); ao estourar,
+ * a requisição recebe 429 com o horário de renovação da janela.
+ *
+ * As janelas ficam em memória, por nó: o objetivo é proteger o heap desta instância.
+ */
+@Service
+@Slf4j
+public class ExportQuotaService {
+
+    private static final long DEFAULT_BUDGET = 50_000;
+
+    private final Map<ExportFormat, Long> budgets = new EnumMap<>(ExportFormat.class);
+    private final long windowMillis;
+    private final long baseCost;
+
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder charged = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ExportQuotaService(
+            Environment environment,
+            @Value("${quota.exports.window-minutes:60}") long windowMinutes,
+            @Value("${quota.exports.base-cost:500}") long baseCost) {
+        for (ExportFormat format : ExportFormat.values()) {
+            budgets.put(format, environment.getProperty(
+                    "quota.exports." + format.getCode() + ".rows-per-window", Long.class, DEFAULT_BUDGET));
+        }
+        this.windowMillis = TimeUnit.MINUTES.toMillis(windowMinutes);
+        this.baseCost = baseCost;
+    }
+
+    /**
+     * Debita a exportação do orçamento do usuário para o formato.
+     *
+     * @param estimatedRows linhas que o relatório terá (consulta COUNT)
+     * @throws IllegalArgumentException se a exportação sozinha excede o orçamento
+     * @throws TooManyRequestsException se o orçamento da janela atual não comporta o custo
+     */
+    public void charge(UUID userId, ExportFormat format, long estimatedRows) {
+        long budget = budgets.get(format);
+        long cost = baseCost + estimatedRows;
+
+        if (cost > budget) {
+            throw new IllegalArgumentException(String.format(
+                    "Relatório muito grande para exportar em %s: %d transações (máximo %d). Reduza o período.",
+                    format.getDisplayName(), estimatedRows, Math.max(0, budget - baseCost)));
+        }
+
+        long now = System.currentTimeMillis();
+        boolean[] accepted = new boolean[1];
+        Window window = windows.compute(new Key(userId, format), (key, current) -> {
+            Window active = current == null || current.isExpired(now) ? new Window(now + windowMillis, 0) : current;
+            if (active.used() + cost > budget) {
+                accepted[0] = false;
+                return active;
+            }
+            accepted[0] = true;
+            return new Window(active.resetsAt(), active.used() + cost);
+        });
+
+        if (!accepted[0]) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(window.resetsAt() - now + 999));
+            log.warn("Cota de exportação {} excedida para usuário {} ({} de {} usados)",
+                    format, userId, window.used(), budget);
+            throw new TooManyRequestsException(String.format(
+                    "Cota de exportação em %s excedida. Renova em %s.",
+                    format.getDisplayName(), Instant.ofEpochMilli(window.resetsAt())), retryAfterSeconds);
+        }
+
+        charged.add(cost);
+        log.debug("Exportação {} debitada para usuário {}: custo {}, usado {} de {}",
+                format, userId, cost, window.used(), budget);
+    }
+
+    /**
+     * Remove janelas já expiradas (usuários que não exportam mais).
+     */
+    @Scheduled(fixedDelayString = "${quota.exports.sweep-interval-ms:300000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> window.isExpired(now));
+    }
+
+    public Stats stats() {
+        return new Stats(charged.sum(), rejected.sum(), windows.size(), Map.copyOf(budgets));
+    }
+
+    private record Key(UUID userId, ExportFormat format) {
+    }
+
+    private record Window(long resetsAt, long used) {
+        boolean isExpired(long now) {
+            return now >= resetsAt;
+        }
+    }
+
+    /**
+     * Contadores da cota de exportação (custo em linhas).
+     */
+    public record Stats(long charged, long rejected, int activeWindows, Map<ExportFormat, Long> budgets) {
+    }
+}
@@ -1,23 +1,30 @@
 package com.app.FinTrack.service;
 
+import com.app.FinTrack.domain.dto.BulkResultDTO;
+import com.app.FinTrack.domain.dto.CursorPageDTO;
+import com.app.FinTrack.domain.dto.IncomeBulkRequestDTO;
 import com.app.FinTrack.domain.dto.IncomeRequestDTO;
 import com.app.FinTrack.domain.dto.IncomeResponseDTO;
 import com.app.FinTrack.domain.entity.Income;
 import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
 import com.app.FinTrack.domain.enums.IncomeCategory;
 import com.app.FinTrack.exception.ResourceNotFoundException;
 import com.app.FinTrack.repository.IncomeRepository;
 import com.app.FinTrack.repository.UserRepository;
+import com.app.FinTrack.util.JsonStreamWriter;
+import com.app.FinTrack.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 //Service responsável pela lógica de negócio de Receitas (Income).
 @Service
@@ -28,6 +35,10 @@ public class IncomeService {
 
     private final IncomeRepository incomeRepository;
     private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     //CRUD
     @Transactional
@@ -47,6 +58,8 @@ public class IncomeService {
                 .build();
 
         Income saved = incomeRepository.save(income);
+        monthlyRollupService.add(MonthlyRollupService.of(saved));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
         log.info("Receita criada com ID: {}", saved.getId());
 
         return IncomeResponseDTO.fromEntity(saved);
@@ -54,10 +67,32 @@ public class IncomeService {
 
     public List<IncomeResponseDTO> findAllByUser(UUID userId) {
         log.debug("Buscando receitas do usuário: {}", userId);
-        return incomeRepository.findByUserIdOrderByDateDesc(userId)
-                .stream()
-                .map(IncomeResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return incomeRepository.findResponsesByUserId(userId);
+    }
+
+    /**
+     * Escreve todas as receitas do usuário como array JSON em {@code out}, em stream.
+     * Chamado de dentro do StreamingResponseBody; a transação mantém o cursor aberto.
+     *
+     * @return quantidade de receitas escritas
+     */
+    public long streamAllByUser(UUID userId, OutputStream out) {
+        return jsonStreamWriter.writeArray(incomeRepository.streamByUserId(userId), IncomeResponseDTO::fromEntity, out);
+    }
+
+    /**
+     * Lista receitas por cursor, ordenadas por (date, id) decrescente.
+     */
+    public CursorPageDTO<IncomeResponseDTO> findPageByUser(UUID userId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.normalizeLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Income> rows = after == null
+                ? incomeRepository.findFirstPage(userId, pageSize + 1)
+                : incomeRepository.findPageAfter(userId, after.dateKey(), after.id(), pageSize + 1);
+
+        return CursorPageDTO.of(rows, pageSize,
+                income -> KeysetCursor.encode(income.getDate(), income.getId()),
+                IncomeResponseDTO::fromEntity);
     }
 
     public IncomeResponseDTO findById(UUID userId, UUID incomeId) {
@@ -70,6 +105,7 @@ public class IncomeService {
         log.info("Atualizando receita: {} do usuário: {}", incomeId, userId);
 
         Income income = findIncomeByIdAndUser(incomeId, userId);
+        MonthlyRollupService.Contribution before = MonthlyRollupService.of(income);
 
         income.setDescription(request.description());
         income.setAmount(request.amount());
@@ -79,6 +115,8 @@ public class IncomeService {
         income.setNotes(request.notes());
 
         Income updated = incomeRepository.save(income);
+        monthlyRollupService.replace(before, MonthlyRollupService.of(updated));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
         log.info("Receita atualizada: {}", incomeId);
 
         return IncomeResponseDTO.fromEntity(updated);
@@ -90,31 +128,41 @@ public class IncomeService {
 
         Income income = findIncomeByIdAndUser(incomeId, userId);
         incomeRepository.delete(income);
+        monthlyRollupService.remove(MonthlyRollupService.of(income));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
 
         log.info("Receita deletada: {}", incomeId);
     }
 
+    /**
+     * Exclui as receitas selecionadas (ids ou filtro) em uma única instrução.
+     */
+    @Transactional
+    public BulkResultDTO bulkDelete(UUID userId, IncomeBulkRequestDTO request) {
+        BulkSelection.validate(request.hasIds(), request.hasFilter(), request.startDate(), request.endDate());
+        int affected = request.hasIds()
+                ? incomeRepository.deleteByIds(userId, request.ids())
+                : incomeRepository.deleteByFilter(userId, request.startDate(), request.endDate(),
+                        request.category() != null ? request.category().name() : null);
+        if (affected > 0) {
+            monthlyRollupService.rebuildUsers(List.of(userId));
+        }
+        log.info("{} receitas deletadas em lote para usuário: {}", affected, userId);
+        return new BulkResultDTO(affected);
+    }
+
     // FILTROS
     public List<IncomeResponseDTO> findByPeriod(UUID userId, LocalDate startDate, LocalDate endDate) {
         log.debug("Buscando receitas do período {} a {} do usuário: {}", startDate, endDate, userId);
-        return incomeRepository.findByUserIdAndDateBetween(userId, startDate, endDate)
-                .stream()
-                .map(IncomeResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return incomeRepository.findResponsesByUserIdAndDateBetween(userId, startDate, endDate);
     }
 
     public List<IncomeResponseDTO> findByCategory(UUID userId, IncomeCategory category) {
-        return incomeRepository.findByUserIdAndCategory(userId, category)
-                .stream()
-                .map(IncomeResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return incomeRepository.findResponsesByUserIdAndCategory(userId, category);
     }
 
     public List<IncomeResponseDTO> searchByDescription(UUID userId, String searchTerm) {
-        return incomeRepository.findByUserIdAndDescriptionContainingIgnoreCase(userId, searchTerm)
-                .stream()
-                .map(IncomeResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return incomeRepository.searchResponsesByDescription(userId, searchTerm);
     }
 
     //RELATÓRIOS
@@ -142,16 +190,18 @@ public class IncomeService {
      * Recorrentes aparecem primeiro.
      */
     public List<IncomeResponseDTO> findByPeriodOrderedByRecurrence(UUID userId, LocalDate startDate, LocalDate endDate) {
-        return incomeRepository.findByUserIdAndDateBetweenOrderedByRecurrence(userId, startDate, endDate)
-                .stream()
-                .map(IncomeResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return incomeRepository.findResponsesByUserIdAndDateBetweenOrderedByRecurrence(userId, startDate, endDate);
     }
 
     //MÉTODOS AUXILIARES
+    /**
+     * Confirma a existência do usuário pelo cache e devolve uma referência (proxy)
+     * para associar como dono, sem SELECT em users.
+     */
     private User findUserById(UUID userId) {
-        return userRepository.findById(userId)
+        userCacheService.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + userId));
+        return userRepository.getReferenceById(userId);
     }
 
     private Income findIncomeByIdAndUser(UUID incomeId, UUID userId) {
@@ -1,22 +1,29 @@
 package com.app.FinTrack.service;
 
+import com.app.FinTrack.domain.dto.BulkResultDTO;
+import com.app.FinTrack.domain.dto.CursorPageDTO;
+import com.app.FinTrack.domain.dto.InvestmentBulkRequestDTO;
 import com.app.FinTrack.domain.dto.InvestmentRequestDTO;
 import com.app.FinTrack.domain.dto.InvestmentResponseDTO;
 import com.app.FinTrack.domain.entity.Investment;
 import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
 import com.app.FinTrack.domain.enums.InvestmentType;
 import com.app.FinTrack.exception.ResourceNotFoundException;
 import com.app.FinTrack.repository.InvestmentRepository;
 import com.app.FinTrack.repository.UserRepository;
+import com.app.FinTrack.util.JsonStreamWriter;
+import com.app.FinTrack.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 //Service responsável pela lógica de negócio de Investimentos.
 @Service
@@ -30,6 +37,10 @@ public class InvestmentService {
 
     private final InvestmentRepository investmentRepository;
     private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final MonthlyRollupService monthlyRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     //CRUD
     @Transactional
@@ -52,6 +63,8 @@ public class InvestmentService {
                 .build();
 
         Investment saved = investmentRepository.save(investment);
+        monthlyRollupService.add(MonthlyRollupService.of(saved));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
         log.info("Investimento criado com ID: {}", saved.getId());
 
         return InvestmentResponseDTO.fromEntity(saved);
@@ -59,10 +72,32 @@ public class InvestmentService {
 
     public List<InvestmentResponseDTO> findAllByUser(UUID userId) {
         log.debug("Buscando investimentos do usuário: {}", userId);
-        return investmentRepository.findByUserIdOrderByPurchaseDateDesc(userId)
-                .stream()
-                .map(InvestmentResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return investmentRepository.findResponsesByUserId(userId);
+    }
+
+    /**
+     * Escreve todos os investimentos do usuário como array JSON em {@code out}, em stream.
+     * Chamado de dentro do StreamingResponseBody; a transação mantém o cursor aberto.
+     *
+     * @return quantidade de investimentos escritos
+     */
+    public long streamAllByUser(UUID userId, OutputStream out) {
+        return jsonStreamWriter.writeArray(investmentRepository.streamByUserId(userId), InvestmentResponseDTO::fromEntity, out);
+    }
+
+    /**
+     * Lista investimentos por cursor, ordenados por (purchaseDate, id) decrescente.
+     */
+    public CursorPageDTO<InvestmentResponseDTO> findPageByUser(UUID userId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.normalizeLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Investment> rows = after == null
+                ? investmentRepository.findFirstPage(userId, pageSize + 1)
+                : investmentRepository.findPageAfter(userId, after.dateKey(), after.id(), pageSize + 1);
+
+        return CursorPageDTO.of(rows, pageSize,
+                investment -> KeysetCursor.encode(investment.getPurchaseDate(), investment.getId()),
+                InvestmentResponseDTO::fromEntity);
     }
 
     public InvestmentResponseDTO findById(UUID userId, UUID investmentId) {
@@ -75,6 +110,7 @@ public class InvestmentService {
         log.info("Atualizando investimento: {} do usuário: {}", investmentId, userId);
 
         Investment investment = findInvestmentByIdAndUser(investmentId, userId);
+        MonthlyRollupService.Contribution before = MonthlyRollupService.of(investment);
 
         investment.setName(request.name());
         investment.setType(request.type());
@@ -87,6 +123,8 @@ public class InvestmentService {
         investment.setNotes(request.notes());
 
         Investment updated = investmentRepository.save(investment);
+        monthlyRollupService.replace(before, MonthlyRollupService.of(updated));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
         log.info("Investimento atualizado: {}", investmentId);
 
         return InvestmentResponseDTO.fromEntity(updated);
@@ -98,37 +136,44 @@ public class InvestmentService {
 
         Investment investment = findInvestmentByIdAndUser(investmentId, userId);
         investmentRepository.delete(investment);
+        monthlyRollupService.remove(MonthlyRollupService.of(investment));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
 
         log.info("Investimento deletado: {}", investmentId);
     }
 
+    /**
+     * Exclui os investimentos selecionados (ids ou filtro) em uma única instrução.
+     */
+    @Transactional
+    public BulkResultDTO bulkDelete(UUID userId, InvestmentBulkRequestDTO request) {
+        BulkSelection.validate(request.hasIds(), request.hasFilter(), request.startDate(), request.endDate());
+        int affected = request.hasIds()
+                ? investmentRepository.deleteByIds(userId, request.ids())
+                : investmentRepository.deleteByFilter(userId, request.startDate(), request.endDate(),
+                        request.type() != null ? request.type().name() : null);
+        if (affected > 0) {
+            monthlyRollupService.rebuildUsers(List.of(userId));
+        }
+        log.info("{} investimentos deletados em lote para usuário: {}", affected, userId);
+        return new BulkResultDTO(affected);
+    }
+
     //FILTROS
     public List<InvestmentResponseDTO> findByType(UUID userId, InvestmentType type) {
-        return investmentRepository.findByUserIdAndType(userId, type)
-                .stream()
-                .map(InvestmentResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return investmentRepository.findResponsesByUserIdAndType(userId, type);
     }
 
     public List<InvestmentResponseDTO> findByTicker(UUID userId, String ticker) {
-        return investmentRepository.findByUserIdAndTickerIgnoreCase(userId, ticker)
-                .stream()
-                .map(InvestmentResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return investmentRepository.findResponsesByUserIdAndTicker(userId, ticker);
     }
 
     public List<InvestmentResponseDTO> findByBroker(UUID userId, String broker) {
-        return investmentRepository.findByUserIdAndBrokerIgnoreCase(userId, broker)
-                .stream()
-                .map(InvestmentResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return investmentRepository.findResponsesByUserIdAndBroker(userId, broker);
     }
 
     public List<InvestmentResponseDTO> searchByName(UUID userId, String searchTerm) {
-        return investmentRepository.findByUserIdAndNameContainingIgnoreCase(userId, searchTerm)
-                .stream()
-                .map(InvestmentResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return investmentRepository.searchResponsesByName(userId, searchTerm);
     }
 
     //AÇÕES
@@ -136,13 +181,16 @@ public class InvestmentService {
     public InvestmentResponseDTO updateCurrentPrice(UUID userId, UUID investmentId, BigDecimal newPrice) {
         Investment investment = findInvestmentByIdAndUser(investmentId, userId);
         investment.setCurrentPrice(newPrice);
-        return InvestmentResponseDTO.fromEntity(investmentRepository.save(investment));
+        Investment saved = investmentRepository.save(investment);
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
+        return InvestmentResponseDTO.fromEntity(saved);
     }
 
     @Transactional
     public InvestmentResponseDTO addQuantity(UUID userId, UUID investmentId,
                                              BigDecimal additionalQuantity, BigDecimal purchasePrice) {
         Investment investment = findInvestmentByIdAndUser(investmentId, userId);
+        MonthlyRollupService.Contribution before = MonthlyRollupService.of(investment);
 
         // Calcula novo preço médio: (qtd_atual * preço_médio + qtd_nova * preço_novo) / (qtd_atual + qtd_nova)
         BigDecimal currentTotal = investment.getQuantity().multiply(investment.getPurchasePrice());
@@ -155,7 +203,10 @@ public class InvestmentService {
         investment.setQuantity(totalQuantity);
         investment.setPurchasePrice(newAveragePrice);
 
-        return InvestmentResponseDTO.fromEntity(investmentRepository.save(investment));
+        Investment saved = investmentRepository.save(investment);
+        monthlyRollupService.replace(before, MonthlyRollupService.of(saved));
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId));
+        return InvestmentResponseDTO.fromEntity(saved);
     }
 
     // RELATÓRIO
@@ -176,9 +227,14 @@ public class InvestmentService {
     }
 
     //MÉTODOS AUXILIARES
+    /**
+     * Confirma a existência do usuário pelo cache e devolve uma referência (proxy)
+     * para associar como dono, sem SELECT em users.
+     */
     private User findUserById(UUID userId) {
-        return userRepository.findById(userId)
+        userCacheService.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado: " + userId));
+        return userRepository.getReferenceById(userId);
     }
 
     private Investment findInvestmentByIdAndUser(UUID investmentId, UUID userId) {
@@ -0,0 +1,249 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.RollupTotalsDTO;
+import com.app.FinTrack.domain.entity.Expense;
+import com.app.FinTrack.domain.entity.Income;
+import com.app.FinTrack.domain.entity.Investment;
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
+import com.app.FinTrack.domain.enums.RollupKind;
+import com.app.FinTrack.repository.MonthlyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregados mensais (monthly_rollups): soma e contagem por usuário, mês, tipo e categoria.
+ *
+ * Escrita: os services de receitas, despesas e investimentos aplicam a contribuição de cada
+ * lançamento (antes/depois) na mesma transação da alteração, com upsert atômico por linha.
+ * Operações em lote (rollover de recorrentes) recalculam os usuários afetados.
+ * Um job periódico recalcula tudo a partir das tabelas base, corrigindo qualquer desvio.
+ * Deltas e recálculos do mesmo usuário são serializados por um advisory lock por usuário.
+ *
+ * Leitura: períodos são respondidos com os meses inteiros vindos dos agregados e,
+ * se o período não for alinhado ao mês, as bordas consultadas nas tabelas base,
+ * tudo na mesma consulta.
+ *
+ * Referência de mês: receitas por date, despesas por dueDate (mesma base do total do
+ * dashboard), investimentos por purchaseDate.
+ */
+@Service
+@Slf4j
+public class MonthlyRollupService {
+
+    private static final long ADVISORY_LOCK_KEY = 0x46_54_52_4F_4C_55L; // "FTROLU"
+    private static final int USER_LOCK_NAMESPACE = 0x46_54_52_55; // "FTRU"
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
+
+    private final MonthlyRollupRepository rollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder usersRebuilt = new LongAdder();
+    private final AtomicLong lastRebuildMillis = new AtomicLong();
+
+    public MonthlyRollupService(
+            MonthlyRollupRepository rollupRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${monthly-rollups.rebuild.batch-size:500}") int batchSize) {
+        this.rollupRepository = rollupRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // ==================== ESCRITA ====================
+
+    /**
+     * Contribuição de um lançamento para os agregados. Capture antes de alterar a entidade
+     * e passe para {@link #replace} junto com a contribuição depois da alteração.
+     */
+    public record Contribution(UUID userId, YearMonth month, RollupKind kind, String category, BigDecimal amount) {
+    }
+
+    public static Contribution of(Income income) {
+        return new Contribution(income.getUser().getId(), YearMonth.from(income.getDate()),
+                RollupKind.INCOME, income.getCategory().name(), income.getAmount());
+    }
+
+    public static Contribution of(Expense expense) {
+        RollupKind kind = Boolean.TRUE.equals(expense.getIsPaid()) ? RollupKind.EXPENSE_PAID : RollupKind.EXPENSE_PENDING;
+        return new Contribution(expense.getUser().getId(), YearMonth.from(expense.getDueDate()),
+                kind, expense.getCategory().name(), expense.getAmount());
+    }
+
+    public static Contribution of(Investment investment) {
+        return new Contribution(investment.getUser().getId(), YearMonth.from(investment.getPurchaseDate()),
+                RollupKind.INVESTMENT, investment.getType().name(),
+                Investment.totalInvested(investment.getQuantity(), investment.getPurchasePrice()));
+    }
+
+    @Transactional
+    public void add(Contribution contribution) {
+        apply(contribution, contribution.amount(), 1);
+    }
+
+    @Transactional
+    public void remove(Contribution contribution) {
+        apply(contribution, contribution.amount().negate(), -1);
+    }
+
+    /**
+     * Troca a contribuição antiga pela nova; não escreve nada se o lançamento não mudou
+     * em nenhum campo agregado.
+     */
+    @Transactional
+    public void replace(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        remove(before);
+        add(after);
+    }
+
+    /**
+     * Recalcula os agregados dos usuários a partir das tabelas base, na transação atual.
+     * Usado após alterações em lote, por isso também publica {@link UserDataChangedEvent}.
+     */
+    @Transactional
+    public void rebuildUsers(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        rollupRepository.lockUsers(USER_LOCK_NAMESPACE, userIds);
+        rollupRepository.deleteByUserIds(userIds);
+        rollupRepository.insertFromBaseTables(userIds);
+        eventPublisher.publishEvent(new UserDataChangedEvent(userIds));
+    }
+
+    /**
+     * Reparo: recalcula todos os usuários, em lotes com uma transação cada.
+     */
+    @Scheduled(cron = "${monthly-rollups.rebuild.cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        rebuilds.increment();
+        long start = System.nanoTime();
+
+        UUID afterId = NIL_UUID;
+        int users = 0;
+
+        while (true) {
+            UUID cursor = afterId;
+            List<UUID> batch = transactionTemplate.execute(status -> rebuildBatch(cursor));
+            if (batch == null) {
+                log.debug("Rebuild dos agregados mensais em execução em outro nó; lote ignorado");
+                break;
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            users += batch.size();
+            afterId = batch.get(batch.size() - 1);
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        usersRebuilt.add(users);
+        lastRebuildMillis.set(System.currentTimeMillis());
+        log.info("Rebuild dos agregados mensais: {} usuários em {} ms", users, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ==================== LEITURA ====================
+
+    /**
+     * Entradas do dashboard de todo o histórico, em uma única consulta.
+     */
+    @Transactional(readOnly = true)
+    public MonthlyRollupRepository.DashboardTotals dashboardTotals(UUID userId) {
+        return rollupRepository.findDashboardTotals(userId);
+    }
+
+    /**
+     * Entradas do dashboard com receitas e despesas do período, em uma única consulta:
+     * meses inteiros dos agregados e bordas não alinhadas das tabelas base.
+     */
+    @Transactional(readOnly = true)
+    public MonthlyRollupRepository.PeriodDashboardTotals dashboardTotals(UUID userId, LocalDate startDate, LocalDate endDate) {
+        FullMonths fullMonths = fullMonths(startDate, endDate);
+        return rollupRepository.findPeriodDashboardTotals(
+                userId, startDate, endDate, fullMonths.start(), fullMonths.end());
+    }
+
+    /**
+     * Totais mês a mês de [startMonth, endMonth], somente dos agregados.
+     */
+    @Transactional(readOnly = true)
+    public List<RollupTotalsDTO> monthlyTotals(UUID userId, YearMonth startMonth, YearMonth endMonth) {
+        return rollupRepository.findMonthlyTotals(userId, startMonth.atDay(1), endMonth.atDay(1));
+    }
+
+    public Stats stats() {
+        return new Stats(rebuilds.sum(), usersRebuilt.sum(), lastRebuildMillis.get());
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private void apply(Contribution contribution, BigDecimal amount, long count) {
+        rollupRepository.lockUsers(USER_LOCK_NAMESPACE, List.of(contribution.userId()));
+        rollupRepository.applyDelta(
+                contribution.userId(),
+                contribution.month().atDay(1),
+                contribution.kind().name(),
+                contribution.category(),
+                amount,
+                count);
+    }
+
+    /**
+     * Lote do rebuild; null se outro nó estiver com o lock.
+     */
+    private List<UUID> rebuildBatch(UUID afterId) {
+        if (!rollupRepository.tryAdvisoryLock(ADVISORY_LOCK_KEY)) {
+            return null;
+        }
+        List<UUID> userIds = rollupRepository.findUserIdsAfter(afterId, batchSize);
+        rebuildUsers(userIds);
+        return userIds;
+    }
+
+    /**
+     * Meses inteiros contidos em [startDate, endDate]: do primeiro dia do primeiro mês inteiro
+     * ao último dia do último. Sem nenhum mês inteiro, start fica depois de end.
+     */
+    static FullMonths fullMonths(LocalDate startDate, LocalDate endDate) {
+        YearMonth first = startDate.getDayOfMonth() == 1
+                ? YearMonth.from(startDate)
+                : YearMonth.from(startDate).plusMonths(1);
+        YearMonth last = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? YearMonth.from(endDate)
+                : YearMonth.from(endDate).minusMonths(1);
+        return new FullMonths(first.atDay(1), last.atEndOfMonth());
+    }
+
+    record FullMonths(LocalDate start, LocalDate end) {
+    }
+
+    /**
+     * Contadores do rebuild. lastRebuildAt em epoch millis (0 = nunca executou).
+     */
+    public record Stats(long rebuilds, long usersRebuilt, long lastRebuildAt) {
+    }
+}
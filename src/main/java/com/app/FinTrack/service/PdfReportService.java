@@ -1,7 +1,8 @@
 package com.app.FinTrack.service;
 
-import com.app.FinTrack.domain.dto.ReportSummaryDTO;
+import com.app.FinTrack.domain.dto.ReportTotalsDTO;
 import com.app.FinTrack.domain.dto.TransactionReportDTO;
+import com.app.FinTrack.domain.enums.ReportType;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -12,19 +13,23 @@ import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.UUID;
 
 /**
  * Service para geração de relatórios em formato PDF.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class PdfReportService {
 
@@ -32,18 +37,60 @@ public class PdfReportService {
     private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
     private static final DeviceRgb INCOME_COLOR = new DeviceRgb(76, 175, 80);  // Verde
     private static final DeviceRgb EXPENSE_COLOR = new DeviceRgb(244, 67, 54); // Vermelho
+    private static final int FLUSH_EVERY_ROWS = 100;
+
+    private final ReportService reportService;
 
     /**
-     * Gera um PDF com o relatório financeiro.
+     * Gera o PDF do relatório direto em {@code out}, lendo as transações em stream do banco.
+     *
+     * A tabela de transações usa o modo "large table" do iText: é adicionada ao documento
+     * vazia e descarregada a cada {@value #FLUSH_EVERY_ROWS} linhas, e cada página pronta
+     * vai para {@code out}. A memória fica limitada a um bloco de linhas e à página atual,
+     * qualquer que seja o período, e o cliente recebe os primeiros bytes logo após o cabeçalho.
+     * O cabeçalho da tabela se repete em cada página.
+     *
+     * Chamado de dentro do StreamingResponseBody; {@code out} não é fechado aqui.
+     *
+     * @return quantidade de transações escritas
      */
-    public byte[] generatePdf(ReportSummaryDTO report) {
+    public long writePdf(UUID userId, LocalDate startDate, LocalDate endDate, ReportType type, OutputStream out) {
         log.info("Gerando PDF do relatório");
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        Document document = new Document(pdfDoc);
+
+        PdfSink sink = new PdfSink(document);
+        try {
+            reportService.streamReport(userId, startDate, endDate, type, sink);
+            sink.finish();
+            document.close();
+        } catch (RuntimeException e) {
+            log.error("Erro ao gerar PDF", e);
+            throw new RuntimeException("Erro ao gerar PDF", e);
+        }
+
+        log.info("PDF gerado com sucesso - {} transações - {} bytes", sink.rows, writer.getCurrentPos());
+        return sink.rows;
+    }
+
+    /**
+     * Escreve o cabeçalho e o resumo em {@link #begin} e as transações conforme chegam.
+     */
+    private final class PdfSink implements ReportSink {
+
+        private final Document document;
+        private Table transactionsTable;
+        private long rows;
+
+        private PdfSink(Document document) {
+            this.document = document;
+        }
 
+        @Override
+        public void begin(ReportTotalsDTO totals) {
             // Cabeçalho
             document.add(new Paragraph("FinTrack - Relatório Financeiro")
                     .setFontSize(20)
@@ -53,8 +100,8 @@ public class PdfReportService {
 
             document.add(new Paragraph(
                     String.format("Período: %s a %s",
-                            report.startDate().format(DATE_FORMATTER),
-                            report.endDate().format(DATE_FORMATTER)))
+                            totals.startDate().format(DATE_FORMATTER),
+                            totals.endDate().format(DATE_FORMATTER)))
                     .setFontSize(12)
                     .setTextAlignment(TextAlignment.CENTER)
                     .setMarginBottom(20));
@@ -68,65 +115,64 @@ public class PdfReportService {
             Table summaryTable = new Table(UnitValue.createPercentArray(new float[]{3, 2}))
                     .useAllAvailableWidth();
 
-            addSummaryRow(summaryTable, "Total de Receitas:", report.totalIncome(), INCOME_COLOR);
-            addSummaryRow(summaryTable, "Total de Despesas:", report.totalExpense(), EXPENSE_COLOR);
-            addSummaryRow(summaryTable, "Saldo:", report.balance(),
-                    report.balance().compareTo(BigDecimal.ZERO) >= 0 ? INCOME_COLOR : EXPENSE_COLOR);
+            addSummaryRow(summaryTable, "Total de Receitas:", totals.totalIncome(), INCOME_COLOR);
+            addSummaryRow(summaryTable, "Total de Despesas:", totals.totalExpense(), EXPENSE_COLOR);
+            addSummaryRow(summaryTable, "Saldo:", totals.balance(),
+                    totals.balance().compareTo(BigDecimal.ZERO) >= 0 ? INCOME_COLOR : EXPENSE_COLOR);
 
             document.add(summaryTable);
             document.add(new Paragraph("\n"));
 
-            // Tabela de transações
+            // Tabela de transações (large table: adicionada antes das linhas)
             document.add(new Paragraph("Transações Detalhadas")
                     .setFontSize(14)
                     .setBold()
                     .setMarginBottom(10));
 
-            Table transactionsTable = new Table(UnitValue.createPercentArray(new float[]{2, 2, 2, 4, 2}))
+            transactionsTable = new Table(UnitValue.createPercentArray(new float[]{2, 2, 2, 4, 2}), true)
                     .useAllAvailableWidth();
 
-            // Cabeçalho da tabela
+            // Cabeçalho da tabela (repetido em cada página)
             transactionsTable.addHeaderCell(createHeaderCell("Data"));
             transactionsTable.addHeaderCell(createHeaderCell("Tipo"));
             transactionsTable.addHeaderCell(createHeaderCell("Categoria"));
             transactionsTable.addHeaderCell(createHeaderCell("Descrição"));
             transactionsTable.addHeaderCell(createHeaderCell("Valor"));
 
-            // Linhas de transações
-            for (TransactionReportDTO transaction : report.transactions()) {
-                transactionsTable.addCell(new Cell().add(new Paragraph(transaction.date().format(DATE_FORMATTER))));
-                transactionsTable.addCell(new Cell().add(new Paragraph(transaction.typeDisplayName())));
-                transactionsTable.addCell(new Cell().add(new Paragraph(transaction.categoryDisplayName())));
-                transactionsTable.addCell(new Cell().add(new Paragraph(transaction.description())));
+            document.add(transactionsTable);
+        }
 
-                Cell valueCell = new Cell().add(new Paragraph(CURRENCY_FORMATTER.format(transaction.amount())))
-                        .setTextAlignment(TextAlignment.RIGHT);
+        @Override
+        public void transaction(TransactionReportDTO transaction) {
+            transactionsTable.addCell(new Cell().add(new Paragraph(transaction.date().format(DATE_FORMATTER))));
+            transactionsTable.addCell(new Cell().add(new Paragraph(transaction.typeDisplayName())));
+            transactionsTable.addCell(new Cell().add(new Paragraph(transaction.categoryDisplayName())));
+            transactionsTable.addCell(new Cell().add(new Paragraph(transaction.description())));
 
-                if ("INCOME".equals(transaction.type())) {
-                    valueCell.setFontColor(INCOME_COLOR);
-                } else {
-                    valueCell.setFontColor(EXPENSE_COLOR);
-                }
+            Cell valueCell = new Cell().add(new Paragraph(CURRENCY_FORMATTER.format(transaction.amount())))
+                    .setTextAlignment(TextAlignment.RIGHT);
 
-                transactionsTable.addCell(valueCell);
+            if ("INCOME".equals(transaction.type())) {
+                valueCell.setFontColor(INCOME_COLOR);
+            } else {
+                valueCell.setFontColor(EXPENSE_COLOR);
             }
 
-            document.add(transactionsTable);
+            transactionsTable.addCell(valueCell);
+
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                transactionsTable.flush();
+            }
+        }
+
+        private void finish() {
+            transactionsTable.complete();
 
             // Rodapé
             document.add(new Paragraph("\n"));
-            document.add(new Paragraph(String.format("Total de registros: %d", report.transactions().size()))
+            document.add(new Paragraph(String.format("Total de registros: %d", rows))
                     .setFontSize(10)
                     .setTextAlignment(TextAlignment.RIGHT));
-
-            document.close();
-
-            log.info("PDF gerado com sucesso - {} bytes", baos.size());
-            return baos.toByteArray();
-
-        } catch (Exception e) {
-            log.error("Erro ao gerar PDF", e);
-            throw new RuntimeException("Erro ao gerar PDF", e);
         }
     }
 
@@ -0,0 +1,120 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.DashboardDTO;
+import com.app.FinTrack.domain.dto.ProjectedTotalsDTO;
+import com.app.FinTrack.domain.dto.RecurrenceBucketDTO;
+import com.app.FinTrack.repository.ExpenseRepository;
+import com.app.FinTrack.repository.IncomeRepository;
+import com.app.FinTrack.util.RecurrenceEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Totais projetados com recorrências expandidas (RecurrenceEngine), calculados no servidor
+ * para que o cliente não precise baixar todas as receitas e despesas.
+ *
+ * O banco devolve os lançamentos já agrupados por (recorrência, data); o custo é
+ * proporcional ao número de grupos, não de linhas nem de dias do período.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RecurrenceProjectionService {
+
+    /** Limite da série mensal (10 anos). */
+    private static final int MAX_MONTHS = 120;
+
+    private final IncomeRepository incomeRepository;
+    private final ExpenseRepository expenseRepository;
+
+    /**
+     * Totais projetados de receitas e despesas no período.
+     */
+    public ProjectedTotalsDTO projectTotals(UUID userId, LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        log.debug("Projetando totais do usuário {} - período: {} a {}", userId, startDate, endDate);
+
+        List<RecurrenceBucketDTO> incomes = incomeRepository.findRecurrenceBuckets(userId, startDate, endDate);
+        List<RecurrenceBucketDTO> expenses = expenseRepository.findRecurrenceBuckets(userId, startDate, endDate);
+        return project(incomes, expenses, startDate, endDate);
+    }
+
+    /**
+     * Série mensal dos totais projetados (um item por mês do período; o primeiro e o
+     * último mês são recortados pelas datas informadas). Uma consulta por tipo para
+     * a série inteira.
+     */
+    public List<ProjectedTotalsDTO> projectMonthly(UUID userId, LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        if (ChronoUnit.MONTHS.between(firstMonth, lastMonth) >= MAX_MONTHS) {
+            throw new IllegalArgumentException("Período máximo da série mensal é de " + MAX_MONTHS + " meses");
+        }
+        log.debug("Projetando série mensal do usuário {} - período: {} a {}", userId, startDate, endDate);
+
+        List<RecurrenceBucketDTO> incomes = incomeRepository.findRecurrenceBuckets(userId, startDate, endDate);
+        List<RecurrenceBucketDTO> expenses = expenseRepository.findRecurrenceBuckets(userId, startDate, endDate);
+
+        List<ProjectedTotalsDTO> series = new ArrayList<>();
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            LocalDate monthStart = month.equals(firstMonth) ? startDate : month.atDay(1);
+            LocalDate monthEnd = month.equals(lastMonth) ? endDate : month.atEndOfMonth();
+            series.add(project(incomes, expenses, monthStart, monthEnd));
+        }
+        return series;
+    }
+
+    private ProjectedTotalsDTO project(List<RecurrenceBucketDTO> incomes, List<RecurrenceBucketDTO> expenses,
+                                       LocalDate startDate, LocalDate endDate) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        long incomeCount = 0;
+        for (RecurrenceBucketDTO bucket : incomes) {
+            long occurrences = RecurrenceEngine.occurrences(bucket.recurrence(), bucket.anchor(), startDate, endDate);
+            if (occurrences > 0) {
+                totalIncome = totalIncome.add(bucket.amount().multiply(BigDecimal.valueOf(occurrences)));
+                incomeCount += bucket.count();
+            }
+        }
+
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        BigDecimal pendingExpense = BigDecimal.ZERO;
+        long expenseCount = 0;
+        for (RecurrenceBucketDTO bucket : expenses) {
+            long occurrences = RecurrenceEngine.occurrences(bucket.recurrence(), bucket.anchor(), startDate, endDate);
+            if (occurrences > 0) {
+                BigDecimal projected = bucket.amount().multiply(BigDecimal.valueOf(occurrences));
+                totalExpense = totalExpense.add(projected);
+                if (!bucket.paid()) {
+                    pendingExpense = pendingExpense.add(projected);
+                }
+                expenseCount += bucket.count();
+            }
+        }
+
+        return new ProjectedTotalsDTO(
+                startDate, endDate,
+                totalIncome, incomeCount,
+                totalExpense, pendingExpense, expenseCount,
+                DashboardDTO.calculateBalance(totalIncome, totalExpense),
+                DashboardDTO.calculateSavingsRate(totalIncome, totalExpense)
+        );
+    }
+
+    private static void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior ou igual à data final");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.enums.RecurrenceType;
+import com.app.FinTrack.repository.ExpenseRepository;
+import com.app.FinTrack.repository.RecurringRolloverWatermarkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rollover das despesas recorrentes: quando o mês vira, cada recorrente paga com
+ * vencimento em mês anterior avança para a próxima ocorrência (no mês atual ou depois)
+ * e volta a ficar pendente.
+ *
+ * Roda em background, em lotes de usuários: cada lote é um UPDATE único em expenses
+ * seguido do registro do marco (recurring_rollover_watermarks) e do recálculo dos
+ * agregados mensais dos usuários do lote (o vencimento muda de mês) na mesma transação.
+ * Se o job parar no meio, a próxima execução continua dos usuários sem marco do mês.
+ * O UPDATE é idempotente e cada lote pega um advisory lock do PostgreSQL, então
+ * vários nós podem agendar o job sem processar o mesmo lote ao mesmo tempo.
+ *
+ * Despesas pagas fora do job (ex.: marcar como paga uma recorrente de mês anterior)
+ * continuam pagas na resposta; {@link #reopen(UUID)} remove o marco do usuário e a
+ * próxima execução as avança, pela mesma regra de {@link #nextDueDate}.
+ */
+@Service
+@Slf4j
+public class RecurringRolloverService {
+
+    private static final long ADVISORY_LOCK_KEY = 0x46_54_52_4F_4C_4CL; // "FTROLL"
+    private static final UUID NIL_UUID = new UUID(0L, 0L);
+
+    private final ExpenseRepository expenseRepository;
+    private final RecurringRolloverWatermarkRepository watermarkRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder skippedLocked = new LongAdder();
+    private final LongAdder usersProcessed = new LongAdder();
+    private final LongAdder expensesRolled = new LongAdder();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    public RecurringRolloverService(
+            ExpenseRepository expenseRepository,
+            RecurringRolloverWatermarkRepository watermarkRepository,
+            MonthlyRollupService monthlyRollupService,
+            PlatformTransactionManager transactionManager,
+            @Value("${recurring.rollover.batch-size:500}") int batchSize) {
+        this.expenseRepository = expenseRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Processa todos os usuários ainda sem marco do mês atual. Sem pendências, custa
+     * uma consulta; por isso pode rodar com intervalo curto e cobre a virada do mês.
+     */
+    @Scheduled(fixedDelayString = "${recurring.rollover.interval-ms:600000}",
+               initialDelayString = "${recurring.rollover.initial-delay-ms:30000}")
+    public void rollOverAll() {
+        runs.increment();
+        long start = System.nanoTime();
+
+        YearMonth currentMonth = YearMonth.now();
+        LocalDate monthStart = currentMonth.atDay(1);
+        int monthIndex = currentMonth.getYear() * 12 + currentMonth.getMonthValue() - 1;
+
+        UUID afterId = NIL_UUID;
+        int users = 0;
+        int rolled = 0;
+
+        while (true) {
+            UUID cursor = afterId;
+            BatchResult batch = transactionTemplate.execute(status -> processBatch(cursor, monthStart, monthIndex));
+            if (batch == null || batch.lockBusy()) {
+                skippedLocked.increment();
+                log.debug("Rollover de recorrentes em execução em outro nó; lote ignorado");
+                break;
+            }
+            if (batch.userIds().isEmpty()) {
+                break;
+            }
+            users += batch.userIds().size();
+            rolled += batch.rolled();
+            afterId = batch.userIds().get(batch.userIds().size() - 1);
+            if (batch.userIds().size() < batchSize) {
+                break;
+            }
+        }
+
+        usersProcessed.add(users);
+        expensesRolled.add(rolled);
+        lastRunMillis.set(System.currentTimeMillis());
+        if (users > 0) {
+            log.info("Rollover de recorrentes ({}): {} usuários, {} despesas avançadas em {} ms",
+                    currentMonth, users, rolled, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Próximo vencimento de uma recorrente paga: a primeira ocorrência a partir do
+     * mês atual, avançando quantos períodos forem necessários de uma vez.
+     * Vencimentos já no mês atual (ou futuros) e despesas únicas não mudam.
+     */
+    public static LocalDate nextDueDate(LocalDate dueDate, RecurrenceType recurrence, YearMonth currentMonth) {
+        LocalDate monthStart = currentMonth.atDay(1);
+        if (recurrence == null || recurrence == RecurrenceType.ONCE || !dueDate.isBefore(monthStart)) {
+            return dueDate;
+        }
+        return switch (recurrence) {
+            case DAILY -> advanceDays(dueDate, monthStart, 1);
+            case WEEKLY -> advanceDays(dueDate, monthStart, 7);
+            case BIWEEKLY -> advanceDays(dueDate, monthStart, 14);
+            case MONTHLY -> advanceMonths(dueDate, currentMonth, 1);
+            case BIMONTHLY -> advanceMonths(dueDate, currentMonth, 2);
+            case QUARTERLY -> advanceMonths(dueDate, currentMonth, 3);
+            case SEMIANNUAL -> advanceMonths(dueDate, currentMonth, 6);
+            case ANNUAL -> advanceMonths(dueDate, currentMonth, 12);
+            case ONCE -> dueDate;
+        };
+    }
+
+    /**
+     * Devolve o usuário à fila do job no mês atual. Chamado na transação de quem gravou
+     * uma recorrente paga com vencimento em mês anterior.
+     */
+    public void reopen(UUID userId) {
+        watermarkRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Se a despesa gravada precisa de rollover (recorrente paga vencida em mês anterior).
+     */
+    public static boolean isDue(LocalDate dueDate, RecurrenceType recurrence, Boolean isPaid, YearMonth currentMonth) {
+        return Boolean.TRUE.equals(isPaid) && !nextDueDate(dueDate, recurrence, currentMonth).equals(dueDate);
+    }
+
+    public Stats stats() {
+        return new Stats(runs.sum(), skippedLocked.sum(), usersProcessed.sum(), expensesRolled.sum(), lastRunMillis.get());
+    }
+
+    private BatchResult processBatch(UUID afterId, LocalDate monthStart, int monthIndex) {
+        if (!watermarkRepository.tryAdvisoryLock(ADVISORY_LOCK_KEY)) {
+            return BatchResult.LOCK_BUSY;
+        }
+        List<UUID> userIds = watermarkRepository.findUsersPendingRollover(monthStart, afterId, batchSize);
+        if (userIds.isEmpty()) {
+            return new BatchResult(userIds, 0, false);
+        }
+        int rolled = expenseRepository.rollOverRecurring(userIds, monthStart, monthIndex);
+        if (rolled > 0) {
+            // Também invalida os caches dos usuários do lote (UserDataChangedEvent após o commit)
+            monthlyRollupService.rebuildUsers(userIds);
+        }
+        watermarkRepository.upsertRolledThrough(userIds, monthStart);
+        return new BatchResult(userIds, rolled, false);
+    }
+
+    // Mesma aritmética do UPDATE em lote (ExpenseRepository.rollOverRecurring)
+    private static LocalDate advanceDays(LocalDate dueDate, LocalDate monthStart, int step) {
+        long days = ChronoUnit.DAYS.between(dueDate, monthStart);
+        return dueDate.plusDays((days + step - 1) / step * step);
+    }
+
+    private static LocalDate advanceMonths(LocalDate dueDate, YearMonth currentMonth, int step) {
+        long months = ChronoUnit.MONTHS.between(YearMonth.from(dueDate), currentMonth);
+        return dueDate.plusMonths((months + step - 1) / step * step);
+    }
+
+    private record BatchResult(List<UUID> userIds, int rolled, boolean lockBusy) {
+        static final BatchResult LOCK_BUSY = new BatchResult(List.of(), 0, true);
+    }
+
+    /**
+     * Contadores do job de rollover. lastRunAt em epoch millis (0 = nunca executou).
+     */
+    public record Stats(long runs, long skippedLocked, long usersProcessed, long expensesRolled, long lastRunAt) {
+    }
+}
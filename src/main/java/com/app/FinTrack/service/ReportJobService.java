@@ -0,0 +1,490 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.ReportJobDTO;
+import com.app.FinTrack.domain.entity.ReportJob;
+import com.app.FinTrack.domain.enums.ExportFormat;
+import com.app.FinTrack.domain.enums.ReportJobStatus;
+import com.app.FinTrack.domain.enums.ReportType;
+import com.app.FinTrack.exception.ReportNotReadyException;
+import com.app.FinTrack.exception.ResourceNotFoundException;
+import com.app.FinTrack.exception.TooManyRequestsException;
+import com.app.FinTrack.repository.ReportJobRepository;
+import com.app.FinTrack.util.ReportRowWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exportações de relatório em segundo plano: o request só cria o job e responde na hora;
+ * o arquivo é gerado por um pool fixo de workers no disco local e baixado depois.
+ *
+ * A tabela report_jobs é a fila. Os workers reservam jobs QUEUED com um UPDATE condicional,
+ * então o número de gerações simultâneas (e de conexões presas a elas) nunca passa de
+ * reports.jobs.workers por instância. Um poll periódico pega jobs que ficaram na fila.
+ *
+ * Cada job em execução tem um lease: a instância (reports.jobs.worker-id) renova heartbeat_at
+ * a cada reports.jobs.heartbeat-interval-ms. Só jobs com lease vencido há mais de
+ * reports.jobs.lease-seconds (o nó parou) ou deixados em RUNNING pela própria instância antes
+ * de reiniciar voltam para a fila, até reports.jobs.max-attempts; jobs que outra instância
+ * ainda está gerando não são tocados. O arquivo fica no disco do nó que gerou o job.
+ * O heartbeat roda em uma thread própria, fora do scheduler compartilhado dos @Scheduled,
+ * para que um job agendado demorado (rebuild, rollover) não deixe o lease vencer.
+ *
+ * Cada usuário tem no máximo reports.jobs.max-active-per-user jobs na fila ou em execução,
+ * e a cota de exportação do formato é debitada na submissão. Jobs e arquivos são removidos
+ * após reports.jobs.ttl-hours.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final List<ReportJobStatus> ACTIVE = Arrays.stream(ReportJobStatus.values())
+            .filter(ReportJobStatus::isActive)
+            .toList();
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final long RETRY_AFTER_SECONDS = 30;
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportService reportService;
+    private final PdfReportService pdfReportService;
+    private final ExcelReportService excelReportService;
+    private final ExportQuotaService exportQuotaService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path storageDir;
+    private final int workers;
+    private final int maxActivePerUser;
+    private final Duration ttl;
+    private final int maxAttempts;
+    private final String workerId;
+    private final Duration lease;
+    private final long heartbeatIntervalMs;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService leaseScheduler;
+    private final Semaphore slots;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder requeued = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public ReportJobService(
+            ReportJobRepository reportJobRepository,
+            ReportService reportService,
+            PdfReportService pdfReportService,
+            ExcelReportService excelReportService,
+            ExportQuotaService exportQuotaService,
+            PlatformTransactionManager transactionManager,
+            @Value("${reports.jobs.storage-dir:${java.io.tmpdir}/fintrack-reports}") String storageDir,
+            @Value("${reports.jobs.workers:2}") int workers,
+            @Value("${reports.jobs.max-active-per-user:2}") int maxActivePerUser,
+            @Value("${reports.jobs.ttl-hours:24}") long ttlHours,
+            @Value("${reports.jobs.max-attempts:2}") int maxAttempts,
+            @Value("${reports.jobs.worker-id:}") String workerId,
+            @Value("${reports.jobs.lease-seconds:120}") long leaseSeconds,
+            @Value("${reports.jobs.heartbeat-interval-ms:30000}") long heartbeatIntervalMs) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportService = reportService;
+        this.pdfReportService = pdfReportService;
+        this.excelReportService = excelReportService;
+        this.exportQuotaService = exportQuotaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storageDir = Paths.get(storageDir);
+        this.workers = workers;
+        this.maxActivePerUser = maxActivePerUser;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxAttempts = maxAttempts;
+        this.workerId = workerId.isBlank() ? UUID.randomUUID().toString() : workerId;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+
+        // A fila real é a tabela; o semáforo garante no máximo 'workers' tarefas no executor
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                namedThreadFactory("report-job-"));
+        this.slots = new Semaphore(workers);
+        this.leaseScheduler = Executors.newSingleThreadScheduledExecutor(namedThreadFactory("report-lease-"));
+    }
+
+    /**
+     * Inicialização: prepara o diretório, descarta arquivos parciais e devolve à fila os
+     * jobs que esta instância deixou em RUNNING e os de lease vencido. Só depois disso os
+     * workers passam a reservar jobs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() throws IOException {
+        Files.createDirectories(storageDir);
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(storageDir, "*.part")) {
+            for (Path part : parts) {
+                deleteQuietly(part);
+            }
+        }
+
+        requeueInterrupted(workerId);
+
+        ready = true;
+        leaseScheduler.scheduleWithFixedDelay(this::heartbeatSafely,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Jobs de relatório: {} workers, worker-id {}, diretório {}",
+                workers, workerId, storageDir.toAbsolutePath());
+        dispatch();
+    }
+
+    /**
+     * Cria o job e responde imediatamente; a geração começa assim que houver worker livre.
+     *
+     * @throws TooManyRequestsException se o usuário já tem o máximo de jobs ativos
+     *                                  ou se a cota de exportação do formato estiver esgotada
+     */
+    public ReportJobDTO submit(UUID userId, ExportFormat format, ReportType type, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior ou igual à data final");
+        }
+
+        ReportJob job = transactionTemplate.execute(status -> {
+            reportJobRepository.lockUser(userId);
+            if (reportJobRepository.countByUserIdAndStatusIn(userId, ACTIVE) >= maxActivePerUser) {
+                throw new TooManyRequestsException(String.format(
+                        "Limite de %d relatórios em andamento atingido. Aguarde a conclusão de um deles.",
+                        maxActivePerUser), RETRY_AFTER_SECONDS);
+            }
+
+            exportQuotaService.charge(userId, format,
+                    reportService.countTransactions(userId, startDate, endDate, type));
+
+            Instant now = Instant.now();
+            return reportJobRepository.save(ReportJob.builder()
+                    .userId(userId)
+                    .format(format)
+                    .reportType(type)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .status(ReportJobStatus.QUEUED)
+                    .createdAt(now)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+        });
+
+        submitted.increment();
+        log.info("Job de relatório {} criado - usuário {} - {} - {} a {}", job.getId(), userId, format, startDate, endDate);
+        dispatch();
+        return ReportJobDTO.fromEntity(job);
+    }
+
+    public ReportJobDTO findById(UUID userId, UUID jobId) {
+        return ReportJobDTO.fromEntity(findJob(userId, jobId));
+    }
+
+    public List<ReportJobDTO> findRecentByUser(UUID userId) {
+        return reportJobRepository.findTop20ByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(ReportJobDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Arquivo pronto do job.
+     *
+     * @throws ReportNotReadyException se o job ainda não terminou ou falhou
+     * @throws ResourceNotFoundException se o job não existe ou o arquivo não está no disco deste nó
+     */
+    public JobFile resultFile(UUID userId, UUID jobId) {
+        ReportJob job = findJob(userId, jobId);
+        if (job.getStatus() != ReportJobStatus.DONE) {
+            throw new ReportNotReadyException(job.getStatus() == ReportJobStatus.FAILED
+                    ? "Relatório falhou: " + job.getErrorMessage()
+                    : "Relatório ainda em processamento (" + job.getStatus() + ")");
+        }
+
+        // O job continua DONE: o arquivo pode estar no disco de outro nó (worker_id)
+        Path file = fileOf(job.getId());
+        if (!Files.isRegularFile(file)) {
+            log.warn("Arquivo do job de relatório {} (worker {}) não encontrado neste nó", job.getId(), job.getWorkerId());
+            throw new ResourceNotFoundException("Arquivo do relatório não está disponível neste servidor");
+        }
+        return new JobFile(ReportJobDTO.fromEntity(job), file, downloadName(job));
+    }
+
+    /**
+     * Pega jobs que ficaram na fila (ex.: criados quando todos os workers estavam ocupados).
+     */
+    @Scheduled(fixedDelayString = "${reports.jobs.poll-interval-ms:5000}")
+    public void poll() {
+        dispatch();
+    }
+
+    /**
+     * Renova o lease dos jobs em execução nesta instância e devolve à fila os jobs
+     * cujo lease venceu (instância que parou no meio). Chamado pelo leaseScheduler.
+     */
+    public void heartbeat() {
+        if (!ready) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(running);
+        if (!ids.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    reportJobRepository.heartbeat(ids, workerId, Instant.now()));
+        }
+        requeueInterrupted(null);
+    }
+
+    /**
+     * Remove jobs expirados e seus arquivos (jobs em execução esperam terminar).
+     * As linhas saem primeiro; os arquivos só são apagados depois do commit, então um
+     * download nunca encontra job DONE sem arquivo.
+     */
+    @Scheduled(fixedDelayString = "${reports.jobs.sweep-interval-ms:600000}",
+               initialDelayString = "${reports.jobs.sweep-initial-delay-ms:60000}")
+    public void purgeExpired() {
+        List<UUID> ids = transactionTemplate.execute(status -> reportJobRepository.deleteExpired(Instant.now()));
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        for (UUID id : ids) {
+            deleteQuietly(fileOf(id));
+        }
+        expired.add(ids.size());
+        log.info("Jobs de relatório expirados removidos: {}", ids.size());
+    }
+
+    /**
+     * Uma exceção em scheduleWithFixedDelay cancelaria as próximas execuções.
+     */
+    private void heartbeatSafely() {
+        try {
+            heartbeat();
+        } catch (RuntimeException e) {
+            log.error("Falha no heartbeat dos jobs de relatório", e);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(workers, workers - slots.availablePermits(),
+                submitted.sum(), completed.sum(), failed.sum(), requeued.sum(), expired.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        ready = false;
+        leaseScheduler.shutdownNow();
+        // Jobs interrompidos ficam RUNNING e voltam para a fila no próximo start (ou quando o lease vencer)
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // ==================== EXECUÇÃO ====================
+
+    /**
+     * Ocupa os workers livres com jobs da fila. Seguro para chamadas concorrentes:
+     * o semáforo limita as tarefas e o UPDATE condicional impede dois workers no mesmo job.
+     */
+    void dispatch() {
+        while (ready && slots.tryAcquire()) {
+            ReportJob job;
+            try {
+                job = claimNext();
+            } catch (RuntimeException e) {
+                slots.release();
+                log.warn("Falha ao reservar job de relatório", e);
+                return;
+            }
+            if (job == null) {
+                slots.release();
+                return;
+            }
+            running.add(job.getId());
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                // Desligando: o job fica RUNNING e volta para a fila no próximo start
+                running.remove(job.getId());
+                slots.release();
+                return;
+            }
+        }
+    }
+
+    private ReportJob claimNext() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            for (UUID id : reportJobRepository.findQueuedIds(workers)) {
+                if (reportJobRepository.claim(id, workerId, now) == 1) {
+                    return reportJobRepository.findById(id).orElse(null);
+                }
+            }
+            return null;
+        });
+    }
+
+    private void run(ReportJob job) {
+        Path file = fileOf(job.getId());
+        Path part = file.resolveSibling(file.getFileName() + ".part");
+        long start = System.nanoTime();
+        try {
+            long rows;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), OUTPUT_BUFFER_SIZE)) {
+                rows = write(job, out);
+            }
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(file);
+
+            Integer updated = transactionTemplate.execute(status ->
+                    reportJobRepository.markDone(job.getId(), workerId, rows, size, Instant.now()));
+            if (updated == null || updated == 0) {
+                // O lease venceu e o job voltou para a fila: esta geração é descartada
+                deleteQuietly(file);
+                log.warn("Job de relatório {} perdeu o lease durante a geração; resultado descartado", job.getId());
+                return;
+            }
+            completed.increment();
+            log.info("Job de relatório {} concluído - {} transações, {} bytes em {} ms",
+                    job.getId(), rows, size, (System.nanoTime() - start) / 1_000_000);
+
+        } catch (Exception e) {
+            deleteQuietly(part);
+            if (executor.isShutdown()) {
+                log.info("Job de relatório {} interrompido pelo desligamento; volta à fila no próximo start", job.getId());
+                return;
+            }
+            failed.increment();
+            log.error("Job de relatório {} falhou", job.getId(), e);
+            markFailed(job.getId(), e);
+        } finally {
+            running.remove(job.getId());
+            slots.release();
+            dispatch();
+        }
+    }
+
+    private long write(ReportJob job, OutputStream out) throws IOException {
+        UUID userId = job.getUserId();
+        LocalDate startDate = job.getStartDate();
+        LocalDate endDate = job.getEndDate();
+        ReportType type = job.getReportType();
+        return switch (job.getFormat()) {
+            case PDF -> pdfReportService.writePdf(userId, startDate, endDate, type, out);
+            case EXCEL -> excelReportService.writeExcel(userId, startDate, endDate, type, out);
+            case CSV, NDJSON -> reportService.writeRows(userId, startDate, endDate, type,
+                    ReportRowWriter.open(out, job.getFormat()));
+        };
+    }
+
+    private void markFailed(UUID jobId, Exception cause) {
+        String message = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+        String truncated = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    reportJobRepository.markFailed(jobId, workerId, truncated, Instant.now()));
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível marcar o job de relatório {} como falho", jobId, e);
+        }
+    }
+
+    /**
+     * Devolve à fila (ou falha, sem tentativas restantes) os jobs de lease vencido e,
+     * se informado, os deixados em RUNNING por {@code restartedWorkerId}.
+     */
+    private void requeueInterrupted(String restartedWorkerId) {
+        Instant now = Instant.now();
+        Instant staleBefore = now.minus(lease);
+        Integer[] counts = transactionTemplate.execute(status -> new Integer[]{
+                reportJobRepository.requeueInterrupted(staleBefore, restartedWorkerId, maxAttempts),
+                reportJobRepository.failInterrupted(staleBefore, restartedWorkerId, maxAttempts,
+                        "Interrompido: o servidor que gerava o relatório parou", now)});
+        if (counts != null && (counts[0] > 0 || counts[1] > 0)) {
+            requeued.add(counts[0]);
+            log.info("Jobs de relatório interrompidos: {} de volta à fila, {} falharam", counts[0], counts[1]);
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private ReportJob findJob(UUID userId, UUID jobId) {
+        return reportJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Relatório", "id", jobId));
+    }
+
+    private Path fileOf(UUID jobId) {
+        return storageDir.resolve(jobId.toString());
+    }
+
+    private static String downloadName(ReportJob job) {
+        String extension = switch (job.getFormat()) {
+            case PDF -> "pdf";
+            case EXCEL -> "xlsx";
+            case CSV -> "csv";
+            case NDJSON -> "ndjson";
+        };
+        return String.format("relatorio_fintrack_%s_%s.%s", job.getStartDate(), job.getEndDate(), extension);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}", path, e);
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Arquivo pronto para download.
+     *
+     * @param filename nome sugerido ao cliente (Content-Disposition)
+     */
+    public record JobFile(ReportJobDTO job, Path path, String filename) {
+    }
+
+    /**
+     * Contadores dos jobs desde o start. running = workers ocupados agora.
+     */
+    public record Stats(int workers, int running, long submitted, long completed, long failed,
+                        long requeued, long expired) {
+    }
+}
@@ -1,24 +1,34 @@
 package com.app.FinTrack.service;
 
+import com.app.FinTrack.domain.dto.MonthlySummaryDTO;
 import com.app.FinTrack.domain.dto.ReportSummaryDTO;
+import com.app.FinTrack.domain.dto.ReportTotalsDTO;
+import com.app.FinTrack.domain.dto.RollupTotalsDTO;
 import com.app.FinTrack.domain.dto.TransactionReportDTO;
-import com.app.FinTrack.domain.entity.Expense;
-import com.app.FinTrack.domain.entity.Income;
 import com.app.FinTrack.domain.enums.ReportType;
+import com.app.FinTrack.domain.enums.RollupKind;
 import com.app.FinTrack.repository.ExpenseRepository;
 import com.app.FinTrack.repository.IncomeRepository;
+import com.app.FinTrack.repository.ReportRepository;
+import com.app.FinTrack.util.ReportRowWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service responsável por gerar relatórios financeiros.
@@ -32,6 +42,11 @@ public class ReportService {
 
     private final IncomeRepository incomeRepository;
     private final ExpenseRepository expenseRepository;
+    private final ReportRepository reportRepository;
+    private final MonthlyRollupService monthlyRollupService;
+
+    /** Limite da série mensal (10 anos). */
+    private static final int MAX_MONTHS = 120;
 
     /**
      * Gera relatório de transações (receitas e despesas) por período.
@@ -47,79 +62,171 @@ public class ReportService {
      * @param type      Tipo de transação: ALL, INCOME ou EXPENSE
      * @return Resumo do relatório com transações e totais
      */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public ReportSummaryDTO generateReport(UUID userId, LocalDate startDate, LocalDate endDate, ReportType type) {
+        ArrayList<TransactionReportDTO> transactions = new ArrayList<>();
+        ReportTotalsDTO totals = streamReport(userId, startDate, endDate, type, new ReportSink() {
+            @Override
+            public void begin(ReportTotalsDTO header) {
+                transactions.ensureCapacity((int) Math.min(header.transactionCount(), Integer.MAX_VALUE));
+            }
+
+            @Override
+            public void transaction(TransactionReportDTO transaction) {
+                transactions.add(transaction);
+            }
+        });
+
+        return new ReportSummaryDTO(
+                startDate,
+                endDate,
+                type,
+                transactions,
+                totals.totalIncome(),
+                totals.totalExpense(),
+                totals.balance(),
+                (int) totals.incomeCount(),
+                (int) totals.expenseCount()
+        );
+    }
+
+    /**
+     * Gera o relatório de transações em streaming: os totais vêm de uma consulta agregada e as
+     * transações de um único UNION ALL já ordenado pelo banco (mais recentes primeiro), entregues
+     * ao sink conforme o driver as lê. A memória não depende do tamanho do período.
+     *
+     * Mesmos filtros de data de {@link #generateReport}. Deve rodar dentro da transação deste
+     * service (o cursor do driver depende dela). A transação é REPEATABLE READ: totais e
+     * linhas vêm do mesmo snapshot, mesmo com lançamentos gravados durante a exportação.
+     *
+     * @return os totais, também entregues em {@link ReportSink#begin}
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ReportTotalsDTO streamReport(UUID userId, LocalDate startDate, LocalDate endDate, ReportType type,
+                                        ReportSink sink) {
         log.info("Gerando relatório para usuário {} - Período: {} a {} - Tipo: {}", userId, startDate, endDate, type);
 
-        List<TransactionReportDTO> transactions = new ArrayList<>();
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpense = BigDecimal.ZERO;
-        int incomeCount = 0;
-        int expenseCount = 0;
+        boolean includeIncomes = type == ReportType.ALL || type == ReportType.INCOME;
+        boolean includeExpenses = type == ReportType.ALL || type == ReportType.EXPENSE;
 
-        // Buscar receitas se necessário
-        if (type == ReportType.ALL || type == ReportType.INCOME) {
-            List<Income> incomes = incomeRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-            incomeCount = incomes.size();
-            totalIncome = incomes.stream()
-                    .map(Income::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            transactions.addAll(incomes.stream()
-                    .map(income -> TransactionReportDTO.fromIncome(
-                            income.getId().toString(),
-                            income.getDate(),
-                            income.getCategory().name(),
-                            income.getCategory().getDisplayName(),
-                            income.getDescription(),
-                            income.getAmount(),
-                            income.getNotes(),
-                            income.getCreatedAt()
-                    ))
-                    .collect(Collectors.toList()));
+        ReportRepository.Totals sums = reportRepository.findTotals(
+                userId, startDate, endDate, includeIncomes, includeExpenses);
+        ReportTotalsDTO totals = new ReportTotalsDTO(
+                startDate,
+                endDate,
+                type,
+                sums.totalIncome(),
+                sums.totalExpense(),
+                sums.totalIncome().subtract(sums.totalExpense()),
+                sums.incomeCount(),
+                sums.expenseCount());
+
+        sink.begin(totals);
+        if (totals.transactionCount() > 0) {
+            reportRepository.streamTransactions(userId, startDate, endDate, includeIncomes, includeExpenses,
+                    sink::transaction);
         }
 
-        // Buscar despesas se necessário
-        if (type == ReportType.ALL || type == ReportType.EXPENSE) {
-            List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-            expenseCount = expenses.size();
-            totalExpense = expenses.stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            transactions.addAll(expenses.stream()
-                    .map(expense -> TransactionReportDTO.fromExpense(
-                            expense.getId().toString(),
-                            expense.getDate(),
-                            expense.getDueDate(),
-                            expense.getCategory().name(),
-                            expense.getCategory().getDisplayName(),
-                            expense.getDescription(),
-                            expense.getAmount(),
-                            expense.getNotes(),
-                            expense.getCreatedAt()
-                    ))
-                    .collect(Collectors.toList()));
+        log.info("Relatório gerado: {} transações - Receitas: {} - Despesas: {} - Saldo: {}",
+                totals.transactionCount(), totals.totalIncome(), totals.totalExpense(), totals.balance());
+        return totals;
+    }
+
+    /**
+     * Escreve as transações do relatório em um formato por linha (CSV, NDJSON) conforme são
+     * lidas do banco, sem DTOs nem totais. Mesmos filtros de {@link #generateReport}.
+     *
+     * @return quantidade de transações escritas
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long writeRows(UUID userId, LocalDate startDate, LocalDate endDate, ReportType type,
+                          ReportRowWriter writer) throws IOException {
+        log.info("Exportando linhas do relatório para usuário {} - Período: {} a {} - Tipo: {}",
+                userId, startDate, endDate, type);
+
+        writer.writeHeader();
+        long rows;
+        try {
+            rows = reportRepository.writeTransactions(userId, startDate, endDate,
+                    type == ReportType.ALL || type == ReportType.INCOME,
+                    type == ReportType.ALL || type == ReportType.EXPENSE,
+                    writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        writer.flush();
+        return rows;
+    }
 
-        // Ordenar por data (mais recente primeiro)
-        transactions.sort(Comparator.comparing(TransactionReportDTO::date).reversed());
+    /**
+     * Conta as transações que o relatório terá, sem carregá-las.
+     * Usado para estimar o custo de uma exportação antes de gerá-la.
+     */
+    public long countTransactions(UUID userId, LocalDate startDate, LocalDate endDate, ReportType type) {
+        long count = 0;
+        if (type == ReportType.ALL || type == ReportType.INCOME) {
+            count += incomeRepository.countByUserIdAndDateBetween(userId, startDate, endDate);
+        }
+        if (type == ReportType.ALL || type == ReportType.EXPENSE) {
+            count += expenseRepository.countByUserIdAndDateBetween(userId, startDate, endDate);
+        }
+        return count;
+    }
 
-        BigDecimal balance = totalIncome.subtract(totalExpense);
+    /**
+     * Resumo mês a mês de [startMonth, endMonth] (inclusivos), lido só dos agregados
+     * mensais: o custo depende do número de meses, não de lançamentos.
+     * Meses sem lançamentos aparecem zerados.
+     */
+    public List<MonthlySummaryDTO> generateMonthlySummary(UUID userId, YearMonth startMonth, YearMonth endMonth) {
+        if (startMonth.isAfter(endMonth)) {
+            throw new IllegalArgumentException("Mês inicial deve ser anterior ou igual ao mês final");
+        }
+        if (ChronoUnit.MONTHS.between(startMonth, endMonth) >= MAX_MONTHS) {
+            throw new IllegalArgumentException("Período máximo do resumo mensal é de " + MAX_MONTHS + " meses");
+        }
+        log.info("Gerando resumo mensal para usuário {} - {} a {}", userId, startMonth, endMonth);
 
-        log.info("Relatório gerado: {} transações - Receitas: {} - Despesas: {} - Saldo: {}",
-                transactions.size(), totalIncome, totalExpense, balance);
+        Map<YearMonth, List<RollupTotalsDTO>> byMonth = new HashMap<>();
+        for (RollupTotalsDTO row : monthlyRollupService.monthlyTotals(userId, startMonth, endMonth)) {
+            byMonth.computeIfAbsent(YearMonth.from(row.month()), month -> new ArrayList<>()).add(row);
+        }
 
-        return new ReportSummaryDTO(
-                startDate,
-                endDate,
-                type,
-                transactions,
-                totalIncome,
-                totalExpense,
-                balance,
-                incomeCount,
-                expenseCount
-        );
+        List<MonthlySummaryDTO> summary = new ArrayList<>();
+        for (YearMonth month = startMonth; !month.isAfter(endMonth); month = month.plusMonths(1)) {
+            BigDecimal totalIncome = BigDecimal.ZERO;
+            BigDecimal totalExpense = BigDecimal.ZERO;
+            BigDecimal pendingExpense = BigDecimal.ZERO;
+            long incomeCount = 0;
+            long expenseCount = 0;
+
+            for (RollupTotalsDTO row : byMonth.getOrDefault(month, List.of())) {
+                switch (row.kind()) {
+                    case INCOME -> {
+                        totalIncome = totalIncome.add(row.amount());
+                        incomeCount += row.count();
+                    }
+                    case EXPENSE_PAID, EXPENSE_PENDING -> {
+                        totalExpense = totalExpense.add(row.amount());
+                        expenseCount += row.count();
+                        if (row.kind() == RollupKind.EXPENSE_PENDING) {
+                            pendingExpense = pendingExpense.add(row.amount());
+                        }
+                    }
+                    case INVESTMENT -> {
+                    }
+                }
+            }
+
+            totalIncome = totalIncome.setScale(2, RoundingMode.HALF_UP);
+            totalExpense = totalExpense.setScale(2, RoundingMode.HALF_UP);
+            summary.add(new MonthlySummaryDTO(
+                    month,
+                    totalIncome, incomeCount,
+                    totalExpense, pendingExpense.setScale(2, RoundingMode.HALF_UP), expenseCount,
+                    totalIncome.subtract(totalExpense)));
+        }
+        return summary;
     }
 
     /**
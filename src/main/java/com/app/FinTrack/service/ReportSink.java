@@ -0,0 +1,16 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.ReportTotalsDTO;
+import com.app.FinTrack.domain.dto.TransactionReportDTO;
+
+/**
+ * Destino do relatório gerado em streaming ({@link ReportService#streamReport}):
+ * recebe primeiro os totais e depois as transações, mais recentes primeiro,
+ * conforme são lidas do banco.
+ */
+public interface ReportSink {
+
+    void begin(ReportTotalsDTO totals);
+
+    void transaction(TransactionReportDTO transaction);
+}
@@ -0,0 +1,74 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.SearchPageDTO;
+import com.app.FinTrack.domain.dto.SearchResultDTO;
+import com.app.FinTrack.domain.enums.SearchScope;
+import com.app.FinTrack.repository.SearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Busca textual ranqueada em receitas, despesas e investimentos (descrição/nome e observações).
+ *
+ * O termo precisa de ao menos 3 caracteres: é o mínimo para os índices de trigramas
+ * filtrarem, o que mantém a latência estável conforme o histórico cresce. A paginação é por
+ * página (ordem de relevância não permite cursor), com profundidade limitada.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SearchService {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int MAX_TERM_LENGTH = 100;
+    private static final int MAX_SIZE = 100;
+    private static final int MAX_OFFSET = 1000;
+
+    private final SearchRepository searchRepository;
+
+    public SearchPageDTO search(UUID userId, String query, SearchScope scope, Integer page, Integer size) {
+        String term = normalize(query);
+        int pageSize = size == null ? DEFAULT_SIZE : size;
+        int pageNumber = page == null ? 0 : page;
+        if (pageSize < 1 || pageSize > MAX_SIZE) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_SIZE);
+        }
+        if (pageNumber < 0 || (long) pageNumber * pageSize > MAX_OFFSET) {
+            throw new IllegalArgumentException("Página fora do limite (até " + MAX_OFFSET + " resultados); refine a busca");
+        }
+        log.debug("Busca '{}' ({}) do usuário {} - página {}", term, scope, userId, pageNumber);
+
+        List<SearchResultDTO> rows = searchRepository.search(userId, term, "%" + escapeLike(term) + "%",
+                (scope == null ? SearchScope.ALL : scope).name(), pageSize + 1, (long) pageNumber * pageSize);
+
+        boolean hasMore = rows.size() > pageSize;
+        return new SearchPageDTO(hasMore ? rows.subList(0, pageSize) : rows, pageNumber, pageSize, hasMore);
+    }
+
+    private static String normalize(String query) {
+        String term = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_TERM_LENGTH) {
+            throw new IllegalArgumentException("Termo de busca deve ter ao menos " + MIN_TERM_LENGTH + " caracteres");
+        }
+        if (term.length() > MAX_TERM_LENGTH) {
+            throw new IllegalArgumentException("Termo de busca deve ter no máximo " + MAX_TERM_LENGTH + " caracteres");
+        }
+        return term;
+    }
+
+    /**
+     * Escapa os curingas do LIKE (escape padrão do PostgreSQL: '\').
+     */
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,226 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.ImportResultDTO;
+import com.app.FinTrack.domain.dto.ImportRowErrorDTO;
+import com.app.FinTrack.domain.enums.ImportFormat;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.repository.StatementImportRepository;
+import com.app.FinTrack.util.StatementParseException;
+import com.app.FinTrack.util.StatementReader;
+import com.app.FinTrack.util.StatementRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Importação de extratos bancários (CSV/OFX): créditos viram receitas e débitos viram
+ * despesas pagas, com categoria "Outros".
+ *
+ * O arquivo é lido em stream e gravado em blocos de {@code imports.chunk-size} lançamentos,
+ * cada bloco em uma transação com JDBC batch; a memória não cresce com o arquivo, exceto
+ * pelo contador de ocorrências de cada assinatura (abaixo).
+ *
+ * Idempotência: cada lançamento recebe o hash de (data, valor, descrição normalizada,
+ * ocorrência). A ocorrência diferencia lançamentos idênticos no mesmo arquivo (dois cafés
+ * iguais no mesmo dia) e é a mesma ao reimportar o arquivo, então a reimportação não duplica.
+ * Extratos com períodos sobrepostos também são deduplicados enquanto a ordem das repetições
+ * se mantiver.
+ */
+@Service
+@Slf4j
+public class StatementImportService {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999999.99");
+
+    private final StatementImportRepository importRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    private final LongAdder imports = new LongAdder();
+    private final LongAdder rowsImported = new LongAdder();
+    private final LongAdder rowsDuplicated = new LongAdder();
+    private final LongAdder rowsFailed = new LongAdder();
+
+    public StatementImportService(
+            StatementImportRepository importRepository,
+            MonthlyRollupService monthlyRollupService,
+            PlatformTransactionManager transactionManager,
+            @Value("${imports.chunk-size:500}") int chunkSize,
+            @Value("${imports.max-errors:200}") int maxErrors) {
+        this.importRepository = importRepository;
+        this.monthlyRollupService = monthlyRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportResultDTO importStatement(UUID userId, InputStream in, ImportFormat format,
+                                           PaymentMethod paymentMethod) throws IOException {
+        log.info("Importando extrato {} para usuário: {}", format, userId);
+        imports.increment();
+        long start = System.nanoTime();
+
+        Progress progress = new Progress();
+        Map<String, Integer> occurrences = new HashMap<>();
+        MessageDigest digest = sha256();
+        List<StatementImportRepository.Row> incomes = new ArrayList<>(chunkSize);
+        List<StatementImportRepository.Row> expenses = new ArrayList<>(chunkSize);
+
+        try {
+            try (StatementReader reader = StatementReader.open(in, format)) {
+                while (true) {
+                    StatementRow row;
+                    try {
+                        row = reader.next();
+                    } catch (StatementParseException e) {
+                        progress.totalRows++;
+                        progress.fail(e.getLine(), e.getMessage());
+                        continue;
+                    }
+                    if (row == null) {
+                        break;
+                    }
+                    progress.totalRows++;
+
+                    String error = validate(row);
+                    if (error != null) {
+                        progress.fail(row.line(), error);
+                        continue;
+                    }
+
+                    BigDecimal amount = row.amount().setScale(2, RoundingMode.HALF_UP);
+                    String description = row.description().trim();
+                    if (description.length() > MAX_DESCRIPTION_LENGTH) {
+                        description = description.substring(0, MAX_DESCRIPTION_LENGTH);
+                    }
+                    String signature = row.date() + "|" + amount.toPlainString() + "|" + normalize(description);
+                    int occurrence = occurrences.merge(signature, 1, Integer::sum);
+
+                    StatementImportRepository.Row importRow = new StatementImportRepository.Row(
+                            UUID.randomUUID(), row.date(), amount.abs(), description,
+                            hash(digest, signature + "|" + occurrence));
+                    (amount.signum() > 0 ? incomes : expenses).add(importRow);
+
+                    if (incomes.size() + expenses.size() >= chunkSize) {
+                        flush(userId, incomes, expenses, paymentMethod, progress);
+                    }
+                }
+            }
+            flush(userId, incomes, expenses, paymentMethod, progress);
+        } finally {
+            // Os lotes já gravados foram confirmados, mesmo que a leitura tenha falhado depois:
+            // agregados mensais, cache do dashboard e ETags
+            if (progress.incomesImported + progress.expensesImported > 0) {
+                monthlyRollupService.rebuildUsers(List.of(userId));
+            }
+        }
+
+        rowsImported.add(progress.incomesImported + progress.expensesImported);
+        rowsDuplicated.add(progress.duplicates);
+        rowsFailed.add(progress.failed);
+        log.info("Extrato importado para usuário {}: {} lançamentos, {} receitas, {} despesas, {} duplicados, {} rejeitados em {} ms",
+                userId, progress.totalRows, progress.incomesImported, progress.expensesImported,
+                progress.duplicates, progress.failed, (System.nanoTime() - start) / 1_000_000);
+
+        return new ImportResultDTO(progress.totalRows, progress.incomesImported, progress.expensesImported,
+                progress.duplicates, progress.failed, progress.errors, progress.failed > progress.errors.size());
+    }
+
+    public Stats stats() {
+        return new Stats(imports.sum(), rowsImported.sum(), rowsDuplicated.sum(), rowsFailed.sum());
+    }
+
+    /**
+     * Grava o bloco atual em uma transação e esvazia as listas.
+     */
+    private void flush(UUID userId, List<StatementImportRepository.Row> incomes,
+                       List<StatementImportRepository.Row> expenses, PaymentMethod paymentMethod, Progress progress) {
+        if (incomes.isEmpty() && expenses.isEmpty()) {
+            return;
+        }
+        int[] inserted = transactionTemplate.execute(status -> new int[]{
+                importRepository.insertIncomes(userId, incomes),
+                importRepository.insertExpenses(userId, expenses, paymentMethod)
+        });
+        progress.incomesImported += inserted[0];
+        progress.expensesImported += inserted[1];
+        progress.duplicates += (incomes.size() - inserted[0]) + (expenses.size() - inserted[1]);
+        incomes.clear();
+        expenses.clear();
+    }
+
+    private static String validate(StatementRow row) {
+        if (row.description() == null || row.description().isBlank()) {
+            return "Descrição vazia";
+        }
+        if (row.amount().signum() == 0) {
+            return "Valor zero";
+        }
+        if (row.amount().abs().compareTo(MAX_AMOUNT) > 0) {
+            return "Valor acima do limite: " + row.amount().toPlainString();
+        }
+        return null;
+    }
+
+    private static String normalize(String description) {
+        return description.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String hash(MessageDigest digest, String value) {
+        return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Contadores da importação em andamento.
+     */
+    private final class Progress {
+        long totalRows;
+        long incomesImported;
+        long expensesImported;
+        long duplicates;
+        long failed;
+        final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowErrorDTO(line, message));
+            }
+        }
+    }
+
+    /**
+     * Contadores acumulados das importações.
+     */
+    public record Stats(long imports, long rowsImported, long rowsDuplicated, long rowsFailed) {
+    }
+}
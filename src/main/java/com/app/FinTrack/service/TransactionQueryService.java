@@ -0,0 +1,172 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.DashboardDTO;
+import com.app.FinTrack.domain.dto.TransactionQueryDTO;
+import com.app.FinTrack.domain.dto.TransactionQueryResultDTO;
+import com.app.FinTrack.domain.dto.TransactionRowDTO;
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.IncomeCategory;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.domain.enums.ReportType;
+import com.app.FinTrack.repository.TransactionQueryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Consulta combinável sobre receitas e despesas: filtros, página e totais em uma única
+ * instrução SQL (ver {@link TransactionQueryRepository}).
+ *
+ * Cada categoria informada vai para o ramo a que pertence; um ramo sem nenhuma categoria
+ * válida, ou excluído por filtro exclusivo de despesas, nem entra na instrução.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TransactionQueryService {
+
+    public static final int DEFAULT_SIZE = 50;
+
+    private static final int MAX_SIZE = 200;
+    private static final int MAX_OFFSET = 10_000;
+    private static final int MAX_TERM_LENGTH = 100;
+
+    private final TransactionQueryRepository transactionQueryRepository;
+
+    public TransactionQueryResultDTO query(UUID userId, TransactionQueryDTO filters) {
+        int pageSize = filters.size() == null ? DEFAULT_SIZE : filters.size();
+        int pageNumber = filters.page() == null ? 0 : filters.page();
+        validate(filters, pageSize, pageNumber);
+
+        ReportType type = filters.type() == null ? ReportType.ALL : filters.type();
+        List<String> incomeCategories = new ArrayList<>();
+        List<String> expenseCategories = new ArrayList<>();
+        splitCategories(filters.categories(), incomeCategories, expenseCategories);
+        boolean hasCategories = !incomeCategories.isEmpty() || !expenseCategories.isEmpty();
+
+        boolean includeIncomes = type != ReportType.EXPENSE
+                && !filters.hasExpenseOnlyFilter()
+                && (!hasCategories || !incomeCategories.isEmpty());
+        boolean includeExpenses = type != ReportType.INCOME
+                && (!hasCategories || !expenseCategories.isEmpty());
+
+        if (!includeIncomes && !includeExpenses) {
+            return empty(pageNumber, pageSize);
+        }
+
+        String term = filters.q() == null ? "" : filters.q().trim().toLowerCase(Locale.ROOT);
+        log.debug("Consulta de transações do usuário {} - página {}", userId, pageNumber);
+
+        TransactionQueryRepository.Result result = transactionQueryRepository.query(new TransactionQueryRepository.Criteria(
+                userId,
+                includeIncomes,
+                includeExpenses,
+                incomeCategories,
+                expenseCategories,
+                filters.paymentMethods() == null ? List.of() : filters.paymentMethods().stream().map(PaymentMethod::name).toList(),
+                filters.isPaid(),
+                filters.minAmount(),
+                filters.maxAmount(),
+                filters.startDate(),
+                filters.endDate(),
+                filters.dueDateFrom(),
+                filters.dueDateTo(),
+                term.isEmpty() ? null : "%" + SearchService.escapeLike(term) + "%",
+                pageSize,
+                (long) pageNumber * pageSize));
+
+        TransactionQueryRepository.Totals totals = result.totals();
+        List<TransactionRowDTO> rows = result.rows();
+        return new TransactionQueryResultDTO(
+                rows,
+                pageNumber,
+                pageSize,
+                (long) pageNumber * pageSize + rows.size() < totals.totalCount(),
+                totals.totalCount(),
+                totals.totalIncome(),
+                totals.incomeCount(),
+                totals.totalExpense(),
+                totals.pendingExpense(),
+                totals.expenseCount(),
+                DashboardDTO.calculateBalance(totals.totalIncome(), totals.totalExpense()));
+    }
+
+    private static void validate(TransactionQueryDTO filters, int pageSize, int pageNumber) {
+        if (pageSize < 1 || pageSize > MAX_SIZE) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_SIZE);
+        }
+        if (pageNumber < 0 || (long) pageNumber * pageSize > MAX_OFFSET) {
+            throw new IllegalArgumentException("Página fora do limite (até " + MAX_OFFSET + " resultados); refine os filtros");
+        }
+        if (filters.minAmount() != null && filters.maxAmount() != null
+                && filters.minAmount().compareTo(filters.maxAmount()) > 0) {
+            throw new IllegalArgumentException("Valor mínimo deve ser menor ou igual ao valor máximo");
+        }
+        if (filters.startDate() != null && filters.endDate() != null
+                && filters.startDate().isAfter(filters.endDate())) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior ou igual à data final");
+        }
+        if (filters.dueDateFrom() != null && filters.dueDateTo() != null
+                && filters.dueDateFrom().isAfter(filters.dueDateTo())) {
+            throw new IllegalArgumentException("Vencimento inicial deve ser anterior ou igual ao vencimento final");
+        }
+        if (filters.q() != null && filters.q().trim().length() > MAX_TERM_LENGTH) {
+            throw new IllegalArgumentException("Texto da consulta deve ter no máximo " + MAX_TERM_LENGTH + " caracteres");
+        }
+    }
+
+    /**
+     * Separa as categorias por tipo; um nome que não é categoria de receita nem de despesa é erro.
+     */
+    static void splitCategories(List<String> categories, List<String> incomeCategories, List<String> expenseCategories) {
+        if (categories == null) {
+            return;
+        }
+        for (String raw : categories) {
+            String name = raw.trim().toUpperCase(Locale.ROOT);
+            boolean known = false;
+            if (isIncomeCategory(name)) {
+                incomeCategories.add(name);
+                known = true;
+            }
+            if (isExpenseCategory(name)) {
+                expenseCategories.add(name);
+                known = true;
+            }
+            if (!known) {
+                throw new IllegalArgumentException("Categoria inválida: " + raw);
+            }
+        }
+    }
+
+    private static boolean isIncomeCategory(String name) {
+        for (IncomeCategory category : IncomeCategory.values()) {
+            if (category.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExpenseCategory(String name) {
+        for (ExpenseCategory category : ExpenseCategory.values()) {
+            if (category.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TransactionQueryResultDTO empty(int pageNumber, int pageSize) {
+        return new TransactionQueryResultDTO(List.of(), pageNumber, pageSize, false, 0,
+                BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,140 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.repository.UserRepository;
+import com.app.FinTrack.util.BoundedCache;
+import com.app.FinTrack.util.EmailUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache em processo para consultas de usuário, indexado por ID e por email normalizado.
+ *
+ * Armazena um snapshot imutável e devolve uma nova instância de {@link User} (desanexada)
+ * a cada leitura, para que nenhuma entidade gerenciada seja compartilhada entre sessões.
+ * Apenas resultados positivos são cacheados. Alterações e exclusões devem chamar
+ * {@link #evict}, que remove as entradas imediatamente e novamente após o commit.
+ */
+@Service
+@Slf4j
+public class UserCacheService {
+
+    private final UserRepository userRepository;
+    private final BoundedCache<UUID, CachedUser> byId;
+    private final BoundedCache<String, UUID> idByEmail;
+
+    public UserCacheService(
+            UserRepository userRepository,
+            @Value("${cache.users.max-size:10000}") int maxSize,
+            @Value("${cache.users.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.byId = new BoundedCache<>(maxSize, ttlSeconds * 1000);
+        this.idByEmail = new BoundedCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public Optional<User> findById(UUID id) {
+        CachedUser cached = byId.get(id);
+        if (cached != null) {
+            return Optional.of(cached.toEntity());
+        }
+        return userRepository.findById(id).map(this::store);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        String normalizedEmail = EmailUtils.normalize(email);
+
+        UUID id = idByEmail.get(normalizedEmail);
+        if (id != null) {
+            CachedUser cached = byId.get(id);
+            // O índice por email pode estar defasado se o email mudou
+            if (cached != null && cached.email().equals(normalizedEmail)) {
+                return Optional.of(cached.toEntity());
+            }
+        }
+        return userRepository.findByEmail(normalizedEmail).map(this::store);
+    }
+
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    /**
+     * Remove o usuário do cache agora e, se houver transação ativa, novamente após o commit
+     * (evita que uma leitura concorrente recoloque o estado antigo antes da gravação).
+     */
+    public void evict(UUID id, String... emails) {
+        evictNow(id, emails);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(id, emails);
+                }
+            });
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(byId.stats(), idByEmail.stats());
+    }
+
+    private void evictNow(UUID id, String... emails) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        for (String email : emails) {
+            String normalizedEmail = EmailUtils.normalizeOrNull(email);
+            if (normalizedEmail != null) {
+                idByEmail.invalidate(normalizedEmail);
+            }
+        }
+        log.debug("Usuário {} removido do cache", id);
+    }
+
+    private User store(User user) {
+        CachedUser cached = CachedUser.from(user);
+        byId.put(cached.id(), cached);
+        idByEmail.put(cached.email(), cached.id());
+        return cached.toEntity();
+    }
+
+    /**
+     * Snapshot imutável do usuário.
+     */
+    private record CachedUser(UUID id, String name, String email, String password, LocalDateTime createdAt) {
+
+        static CachedUser from(User user) {
+            return new CachedUser(
+                    user.getId(),
+                    user.getName(),
+                    Objects.requireNonNull(EmailUtils.normalizeOrNull(user.getEmail())),
+                    user.getPassword(),
+                    user.getCreatedAt());
+        }
+
+        User toEntity() {
+            return User.builder()
+                    .id(id)
+                    .name(name)
+                    .email(email)
+                    .password(password)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+
+    /**
+     * Estatísticas dos índices do cache (por ID e por email).
+     */
+    public record Stats(BoundedCache.Stats byId, BoundedCache.Stats byEmail) {
+    }
+}
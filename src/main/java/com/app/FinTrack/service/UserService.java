@@ -1,5 +1,6 @@
 package com.app.FinTrack.service;
 
+import com.app.FinTrack.domain.dto.CursorPageDTO;
 import com.app.FinTrack.domain.dto.UserRequestDTO;
 import com.app.FinTrack.domain.dto.UserResponseDTO;
 import com.app.FinTrack.domain.entity.User;
@@ -7,6 +8,7 @@ import com.app.FinTrack.exception.EmailAlreadyExistsException;
 import com.app.FinTrack.exception.UserNotFoundException;
 import com.app.FinTrack.repository.UserRepository;
 import com.app.FinTrack.util.EmailUtils;
+import com.app.FinTrack.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,7 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
     private final PasswordEncoder passwordEncoder;
 
     @Transactional
@@ -52,7 +55,7 @@ public class UserService {
     public UserResponseDTO findById(UUID id) {
         log.debug("Buscando usuário por ID: {}", id);
 
-        User user = userRepository.findById(id)
+        User user = userCacheService.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + id));
 
         return UserResponseDTO.fromEntity(user);
@@ -62,9 +65,7 @@ public class UserService {
     public UserResponseDTO findByEmail(String email) {
         log.debug("Buscando usuário por email: {}", email);
 
-        String normalizedEmail = EmailUtils.normalize(email);
-
-        User user = userRepository.findByEmail(normalizedEmail)
+        User user = userCacheService.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com email: " + email));
 
         return UserResponseDTO.fromEntity(user);
@@ -79,6 +80,22 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista usuários por cursor, ordenados por (createdAt, id) decrescente.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserResponseDTO> findPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.normalizeLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<User> rows = after == null
+                ? userRepository.findFirstPage(pageSize + 1)
+                : userRepository.findPageAfter(after.dateTimeKey(), after.id(), pageSize + 1);
+
+        return CursorPageDTO.of(rows, pageSize,
+                user -> KeysetCursor.encode(user.getCreatedAt(), user.getId()),
+                UserResponseDTO::fromEntity);
+    }
+
     @Transactional
     public UserResponseDTO updateUser(UUID id, UserRequestDTO request) {
         log.info("Atualizando usuário ID: {}", id);
@@ -87,6 +104,8 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + id));
 
+        String previousEmail = user.getEmail();
+
         // Validação: Se email mudou, verificar unicidade
         String normalizedNewEmail = EmailUtils.normalize(request.getEmail());
         if (!user.getEmail().equals(normalizedNewEmail)) {
@@ -104,6 +123,7 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userCacheService.evict(id, previousEmail, normalizedNewEmail);
 
         log.info("Usuário atualizado com sucesso. ID: {}", updatedUser.getId());
 
@@ -114,11 +134,11 @@ public class UserService {
     public void deleteUser(UUID id) {
         log.warn("Deletando usuário ID: {}", id);
 
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException("Usuário não encontrado com ID: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com ID: " + id));
 
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userCacheService.evict(id, user.getEmail());
 
         log.info("Usuário deletado com sucesso. ID: {}", id);
     }
@@ -139,8 +159,7 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        String normalizedEmail = EmailUtils.normalize(email);
-        return userRepository.existsByEmail(normalizedEmail);
+        return userCacheService.existsByEmail(email);
     }
 
     @Transactional(readOnly = true)
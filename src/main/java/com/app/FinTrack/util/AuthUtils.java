@@ -1,6 +1,7 @@
 package com.app.FinTrack.util;
 
 import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.security.JwtPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -19,6 +20,10 @@ public class AuthUtils {
 
         Object principal = authentication.getPrincipal();
 
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.userId();
+        }
+
         if (principal instanceof User user) {
             return user.getId();
         }
@@ -37,6 +42,10 @@ public class AuthUtils {
 
         Object principal = authentication.getPrincipal();
 
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.email();
+        }
+
         if (principal instanceof User user) {
             return user.getEmail();
         }
@@ -0,0 +1,69 @@
+package com.app.FinTrack.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV (RFC 4180): separador ',', linhas terminadas em CRLF, cabeçalho com os nomes das colunas.
+ * Campos com vírgula, aspas ou quebra de linha vão entre aspas, com aspas duplicadas.
+ */
+class CsvReportRowWriter implements ReportRowWriter {
+
+    private final Writer out;
+
+    CsvReportRowWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writeRow(COLUMNS);
+    }
+
+    @Override
+    public void writeRow(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,174 @@
+package com.app.FinTrack.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extrato em CSV (RFC 4180: aspas, aspas duplicadas e quebras de linha dentro de aspas).
+ *
+ * A primeira linha é o cabeçalho; o separador (',', ';' ou tab) é detectado nela. As colunas
+ * são encontradas pelo nome, em português ou inglês: data, descrição/histórico e valor.
+ * Valor negativo é débito (despesa); positivo é crédito (receita).
+ */
+class CsvStatementReader implements StatementReader {
+
+    private static final List<String> DATE_COLUMNS = List.of("data", "date", "data lancamento", "data do lancamento");
+    private static final List<String> DESCRIPTION_COLUMNS = List.of("descricao", "description", "historico", "memo", "titulo", "lancamento");
+    private static final List<String> AMOUNT_COLUMNS = List.of("valor", "amount", "value", "valor (r$)");
+
+    private final BufferedReader reader;
+    private final char separator;
+    private final int dateColumn;
+    private final int descriptionColumn;
+    private final int amountColumn;
+
+    private long lineNumber;
+
+    CsvStatementReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        lineNumber = 1;
+        if (header == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        this.separator = detectSeparator(header);
+
+        List<String> columns = new ArrayList<>();
+        for (String column : splitRecord(header, separator)) {
+            columns.add(StatementValues.normalizeName(column));
+        }
+        this.dateColumn = findColumn(columns, DATE_COLUMNS);
+        this.descriptionColumn = findColumn(columns, DESCRIPTION_COLUMNS);
+        this.amountColumn = findColumn(columns, AMOUNT_COLUMNS);
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        String record;
+        long start;
+        do {
+            start = lineNumber + 1;
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.isBlank());
+
+        List<String> fields = splitRecord(record, separator);
+        int required = Math.max(dateColumn, Math.max(descriptionColumn, amountColumn));
+        if (fields.size() <= required) {
+            throw new StatementParseException(start, "Esperadas ao menos " + (required + 1) + " colunas, encontradas " + fields.size());
+        }
+        try {
+            return new StatementRow(
+                    start,
+                    StatementValues.parseDate(fields.get(dateColumn)),
+                    StatementValues.parseAmount(fields.get(amountColumn)),
+                    fields.get(descriptionColumn).trim());
+        } catch (IllegalArgumentException e) {
+            throw new StatementParseException(start, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Lê um registro inteiro, juntando linhas enquanto houver aspas abertas.
+     */
+    private String readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        if (!hasOpenQuote(line)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (hasOpenQuote(record)) {
+            String next = reader.readLine();
+            if (next == null) {
+                throw new StatementParseException(lineNumber, "Aspas não fechadas até o fim do arquivo");
+            }
+            lineNumber++;
+            record.append('\n').append(next);
+        }
+        return record.toString();
+    }
+
+    private static boolean hasOpenQuote(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    static List<String> splitRecord(String record, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static char detectSeparator(String header) {
+        char best = ',';
+        long bestCount = 0;
+        for (char candidate : new char[]{',', ';', '\t'}) {
+            long count = header.chars().filter(c -> c == candidate).count();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private static int findColumn(List<String> columns, List<String> aliases) {
+        for (String alias : aliases) {
+            int index = columns.indexOf(alias);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Coluna obrigatória não encontrada no cabeçalho do CSV: " + aliases.get(0)
+                + " (aceitos: " + String.join(", ", aliases) + ")");
+    }
+}
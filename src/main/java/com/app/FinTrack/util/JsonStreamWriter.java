@@ -0,0 +1,52 @@
+package com.app.FinTrack.util;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Serializa um Stream de entidades como array JSON direto no OutputStream da resposta.
+ *
+ * Cada linha é convertida em DTO, escrita e descartada; a cada {@value #BATCH_SIZE}
+ * linhas o contexto de persistência é limpo e a saída é descarregada. Assim nem as
+ * entidades, nem os DTOs, nem o JSON ficam acumulados em memória.
+ * Deve ser chamado dentro de uma transação (o cursor do banco vive nela).
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamWriter {
+
+    /** Mesmo valor do fetch size das consultas em stream dos repositories. */
+    public static final int BATCH_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @return quantidade de itens escritos
+     */
+    public <E, D> long writeArray(Stream<E> rows, Function<E, D> mapper, OutputStream out) {
+        long count = 0;
+        try (rows; SequenceWriter writer = objectMapper.writer().writeValuesAsArray(out)) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(mapper.apply(iterator.next()));
+                if (++count % BATCH_SIZE == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,74 @@
+package com.app.FinTrack.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor de paginação keyset: a chave de ordenação (data) e o id da última linha
+ * entregue. É serializado como base64 url-safe para que o cliente o trate como opaco.
+ *
+ * Como a consulta seguinte filtra por {@code (data, id) < (:data, :id)} sobre um índice
+ * composto, o custo de cada página não depende da profundidade da rolagem.
+ */
+public record KeysetCursor(String sortKey, UUID id) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final char SEPARATOR = '|';
+
+    public static String encode(Object sortKey, UUID id) {
+        String raw = sortKey.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return cursor decodificado, ou null para a primeira página
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new KeysetCursor(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+
+    /**
+     * Limita o tamanho de página solicitado a [1, {@value #MAX_LIMIT}].
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido", ex);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.FinTrack.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * NDJSON: um objeto JSON por linha, terminado em '\n', sem cabeçalho. O valor sai como
+ * número JSON; os demais campos como string (null quando vazios).
+ */
+class NdjsonReportRowWriter implements ReportRowWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Prefixo de cada campo ({"type":  ,"id":  ...), montado uma vez. */
+    private static final String[] KEYS = new String[COLUMNS.length];
+
+    static {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            KEYS[i] = (i == 0 ? "{\"" : ",\"") + COLUMNS[i] + "\":";
+        }
+    }
+
+    private final Writer out;
+
+    NdjsonReportRowWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON não tem cabeçalho
+    }
+
+    @Override
+    public void writeRow(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            out.write(KEYS[i]);
+            String value = values[i];
+            if (value == null) {
+                out.write("null");
+            } else if (i == AMOUNT) {
+                out.write(value);
+            } else {
+                writeString(value);
+            }
+        }
+        out.write("}\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.write(value, start, i - start);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    out.write("\\u");
+                    out.write(HEX[(c >> 12) & 0xF]);
+                    out.write(HEX[(c >> 8) & 0xF]);
+                    out.write(HEX[(c >> 4) & 0xF]);
+                    out.write(HEX[c & 0xF]);
+                }
+            }
+            start = i + 1;
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+}
@@ -0,0 +1,153 @@
+package com.app.FinTrack.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Extrato em OFX, tanto 1.x (SGML, sem fechamento nos campos) quanto 2.x (XML).
+ *
+ * Lê as tags em sequência, sem montar árvore: cada bloco STMTTRN vira um lançamento com
+ * DTPOSTED (data), TRNAMT (valor com sinal) e MEMO ou NAME (descrição). O charset vem do
+ * cabeçalho (CHARSET:1252 é comum em bancos brasileiros); sem indicação, UTF-8.
+ */
+class OfxStatementReader implements StatementReader {
+
+    private static final int HEADER_PEEK_BYTES = 4096;
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private final BufferedReader reader;
+    private long lineNumber = 1;
+
+    OfxStatementReader(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        this.reader = new BufferedReader(new InputStreamReader(buffered, detectCharset(buffered)));
+    }
+
+    @Override
+    public StatementRow next() throws IOException {
+        boolean inTransaction = false;
+        long start = 0;
+        String date = null;
+        String amount = null;
+        String name = null;
+        String memo = null;
+
+        String tag;
+        while ((tag = readTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                inTransaction = true;
+                start = lineNumber;
+                date = amount = name = memo = null;
+            } else if (inTransaction && tag.equals("/STMTTRN")) {
+                return toRow(start, date, amount, memo != null && !memo.isBlank() ? memo : name);
+            } else if (inTransaction && !tag.startsWith("/")) {
+                String value = readText();
+                switch (tag) {
+                    case "DTPOSTED" -> date = value;
+                    case "TRNAMT" -> amount = value;
+                    case "NAME" -> name = value;
+                    case "MEMO" -> memo = value;
+                    default -> {
+                        // demais campos (FITID, TRNTYPE, CHECKNUM...) não são usados
+                    }
+                }
+            }
+        }
+        if (inTransaction) {
+            throw new StatementParseException(start, "Bloco STMTTRN não fechado até o fim do arquivo");
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static StatementRow toRow(long line, String date, String amount, String description) {
+        if (date == null || date.isBlank()) {
+            throw new StatementParseException(line, "Lançamento sem DTPOSTED");
+        }
+        if (amount == null || amount.isBlank()) {
+            throw new StatementParseException(line, "Lançamento sem TRNAMT");
+        }
+        try {
+            return new StatementRow(line, StatementValues.parseDate(date), StatementValues.parseAmount(amount),
+                    description == null ? "" : description);
+        } catch (IllegalArgumentException e) {
+            throw new StatementParseException(line, e.getMessage());
+        }
+    }
+
+    /**
+     * Avança até a próxima tag e devolve o nome em maiúsculas (com '/' se for de fechamento),
+     * ou null no fim do arquivo.
+     */
+    private String readTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // texto fora de tag (cabeçalho SGML, quebras de linha)
+        }
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder();
+        while ((c = read()) != -1 && c != '>') {
+            tag.append((char) c);
+        }
+        return tag.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Texto até a próxima tag, sem consumir o '<'.
+     */
+    private String readText() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            reader.mark(1);
+            int c = read();
+            if (c == -1) {
+                break;
+            }
+            if (c == '<') {
+                reader.reset();
+                break;
+            }
+            text.append((char) c);
+        }
+        return text.toString().trim()
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+
+    private int read() throws IOException {
+        int c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private static Charset detectCharset(BufferedInputStream in) throws IOException {
+        in.mark(HEADER_PEEK_BYTES);
+        byte[] peek = in.readNBytes(HEADER_PEEK_BYTES);
+        in.reset();
+
+        String header = new String(peek, StandardCharsets.ISO_8859_1).toUpperCase(Locale.ROOT);
+        if (header.contains("CHARSET:1252") || header.contains("ENCODING=\"WINDOWS-1252\"")) {
+            return WINDOWS_1252;
+        }
+        if (header.contains("CHARSET:ISO-8859-1") || header.contains("CHARSET:8859-1")
+                || header.contains("ENCODING=\"ISO-8859-1\"")) {
+            return StandardCharsets.ISO_8859_1;
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
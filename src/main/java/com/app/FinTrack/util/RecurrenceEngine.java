@@ -0,0 +1,95 @@
+package com.app.FinTrack.util;
+
+import com.app.FinTrack.domain.enums.RecurrenceType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Expansão de recorrências para totais projetados em um período.
+ *
+ * Conta as datas anchor + k × passo (k >= 0) que caem no período, em tempo constante por
+ * item, só com aritmética de calendário:
+ * - ONCE: conta 1 se a data estiver dentro do período;
+ * - DAILY/WEEKLY/BIWEEKLY: passo em dias;
+ * - mensais: passo em meses, com o mesmo ajuste de fim de mês do rollover
+ *   (anchor.plusMonths(k × passo), ver RecurringRolloverService.nextDueDate).
+ * Itens com data posterior ao fim do período não contam.
+ */
+public final class RecurrenceEngine {
+
+    private RecurrenceEngine() {
+    }
+
+    /**
+     * Quantas vezes o item ocorre em [startDate, endDate] (ambos inclusivos).
+     *
+     * @param anchor data do item (criação/lançamento)
+     */
+    public static long occurrences(RecurrenceType recurrence, LocalDate anchor, LocalDate startDate, LocalDate endDate) {
+        if (anchor == null || startDate.isAfter(endDate)) {
+            return 0;
+        }
+        if (recurrence == null || recurrence == RecurrenceType.ONCE) {
+            return !anchor.isBefore(startDate) && !anchor.isAfter(endDate) ? 1 : 0;
+        }
+        if (anchor.isAfter(endDate)) {
+            return 0;
+        }
+
+        LocalDate effectiveStart = anchor.isAfter(startDate) ? anchor : startDate;
+        return switch (recurrence) {
+            case DAILY -> dayOccurrences(anchor, effectiveStart, endDate, 1);
+            case WEEKLY -> dayOccurrences(anchor, effectiveStart, endDate, 7);
+            case BIWEEKLY -> dayOccurrences(anchor, effectiveStart, endDate, 14);
+            case MONTHLY -> monthOccurrences(anchor, effectiveStart, endDate, 1);
+            case BIMONTHLY -> monthOccurrences(anchor, effectiveStart, endDate, 2);
+            case QUARTERLY -> monthOccurrences(anchor, effectiveStart, endDate, 3);
+            case SEMIANNUAL -> monthOccurrences(anchor, effectiveStart, endDate, 6);
+            case ANNUAL -> monthOccurrences(anchor, effectiveStart, endDate, 12);
+            case ONCE -> 0;
+        };
+    }
+
+    /**
+     * Valor projetado do item no período (valor × ocorrências).
+     */
+    public static BigDecimal projectedTotal(BigDecimal amount, RecurrenceType recurrence,
+                                            LocalDate anchor, LocalDate startDate, LocalDate endDate) {
+        long occurrences = occurrences(recurrence, anchor, startDate, endDate);
+        return occurrences == 0 ? BigDecimal.ZERO : amount.multiply(BigDecimal.valueOf(occurrences));
+    }
+
+    /**
+     * Ocorrências anchor + k × step dias em [from, to]; from nunca é anterior ao anchor.
+     */
+    private static long dayOccurrences(LocalDate anchor, LocalDate from, LocalDate to, long step) {
+        long first = ceilDiv(ChronoUnit.DAYS.between(anchor, from), step);
+        long last = ChronoUnit.DAYS.between(anchor, to) / step;
+        return Math.max(0, last - first + 1);
+    }
+
+    /**
+     * Ocorrências anchor.plusMonths(k × step) em [from, to]; from nunca é anterior ao anchor.
+     * O k é estimado pelo mês e corrigido pelo dia (o dia ajustado ao fim do mês pode ficar
+     * antes de from ou depois de to no mesmo mês).
+     */
+    private static long monthOccurrences(LocalDate anchor, LocalDate from, LocalDate to, long step) {
+        YearMonth anchorMonth = YearMonth.from(anchor);
+        long first = ceilDiv(ChronoUnit.MONTHS.between(anchorMonth, YearMonth.from(from)), step);
+        if (anchor.plusMonths(first * step).isBefore(from)) {
+            first++;
+        }
+        long last = ChronoUnit.MONTHS.between(anchorMonth, YearMonth.from(to)) / step;
+        if (anchor.plusMonths(last * step).isAfter(to)) {
+            last--;
+        }
+        return Math.max(0, last - first + 1);
+    }
+
+    private static long ceilDiv(long value, long step) {
+        return (value + step - 1) / step;
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.FinTrack.util;
+
+import com.app.FinTrack.domain.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escrita em stream do relatório de transações, uma linha por chamada, em formatos de
+ * texto por linha (CSV, NDJSON).
+ *
+ * Os valores chegam como texto já no formato final (datas ISO, valor decimal sem separador
+ * de milhar) num array reutilizado entre as linhas, na ordem de {@link #COLUMNS}; null
+ * significa campo vazio. O escape é feito caractere a caractere direto no buffer de saída,
+ * sem montar strings intermediárias. {@code out} não é fechado; chame {@link #flush()} ao final.
+ */
+public interface ReportRowWriter extends Flushable {
+
+    String[] COLUMNS = {"type", "id", "date", "dueDate", "category", "categoryName", "description", "amount", "notes"};
+
+    /** Índice da coluna numérica (valor). */
+    int AMOUNT = 7;
+
+    int BUFFER_SIZE = 32 * 1024;
+
+    void writeHeader() throws IOException;
+
+    void writeRow(String[] values) throws IOException;
+
+    static ReportRowWriter open(OutputStream out, ExportFormat format) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return switch (format) {
+            case CSV -> new CsvReportRowWriter(writer);
+            case NDJSON -> new NdjsonReportRowWriter(writer);
+            default -> throw new IllegalArgumentException("Formato sem escrita por linhas: " + format.getDisplayName());
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.app.FinTrack.util;
+
+import java.io.Serial;
+
+/**
+ * Lançamento inválido no extrato. A leitura pode continuar no lançamento seguinte.
+ */
+public class StatementParseException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long line;
+
+    public StatementParseException(long line, String message) {
+        super(message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,28 @@
+package com.app.FinTrack.util;
+
+import com.app.FinTrack.domain.enums.ImportFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Leitura em stream de um extrato bancário: um lançamento por chamada, sem carregar o
+ * arquivo em memória.
+ */
+public interface StatementReader extends Closeable {
+
+    /**
+     * @return próximo lançamento, ou null no fim do arquivo
+     * @throws StatementParseException se o lançamento for inválido (a próxima chamada segue adiante)
+     * @throws IllegalArgumentException se o arquivo não puder ser lido no formato
+     */
+    StatementRow next() throws IOException;
+
+    static StatementReader open(InputStream in, ImportFormat format) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvStatementReader(in);
+            case OFX -> new OfxStatementReader(in);
+        };
+    }
+}
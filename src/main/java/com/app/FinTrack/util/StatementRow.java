@@ -0,0 +1,13 @@
+package com.app.FinTrack.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lançamento lido de um extrato bancário.
+ *
+ * @param line        linha do arquivo onde o lançamento começa
+ * @param amount      valor com sinal: positivo = crédito (receita), negativo = débito (despesa)
+ */
+public record StatementRow(long line, LocalDate date, BigDecimal amount, String description) {
+}
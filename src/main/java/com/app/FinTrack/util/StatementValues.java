@@ -0,0 +1,102 @@
+package com.app.FinTrack.util;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Conversão dos valores de texto dos extratos (datas e valores em formato brasileiro ou ISO).
+ */
+final class StatementValues {
+
+    private static final DateTimeFormatter BR_DATE = DateTimeFormatter.ofPattern("dd/MM/uuuu");
+    private static final DateTimeFormatter COMPACT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private StatementValues() {
+    }
+
+    /**
+     * Aceita yyyy-MM-dd, dd/MM/yyyy e yyyyMMdd (o restante, como hora e fuso do OFX, é ignorado).
+     */
+    static LocalDate parseDate(String value) {
+        String text = value.trim();
+        try {
+            if (text.length() >= 10 && text.charAt(4) == '-') {
+                return LocalDate.parse(text.substring(0, 10));
+            }
+            if (text.length() >= 10 && text.charAt(2) == '/') {
+                return LocalDate.parse(text.substring(0, 10), BR_DATE);
+            }
+            if (text.length() >= 8) {
+                return LocalDate.parse(text.substring(0, 8), COMPACT_DATE);
+            }
+        } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+            // formato reconhecido, mas data inválida
+        }
+        throw new IllegalArgumentException("Data inválida: " + text);
+    }
+
+    /**
+     * Aceita "1234.56", "-1.234,56", "1,234.56", "1.000", "R$ 10,00" e "(10,00)" (negativo).
+     * Com os dois separadores, o último é o decimal. Com um só tipo, ele é o de milhar se
+     * aparecer mais de uma vez ou se for seguido de exatamente 3 dígitos depois de uma parte
+     * inteira não nula ("1.000" = 1000, "0,500" = 0.5); senão é o decimal.
+     */
+    static BigDecimal parseAmount(String value) {
+        String text = value.trim().replace("R$", "").replace(" ", "").replace("\u00A0", "");
+        boolean negative = false;
+        if (text.startsWith("(") && text.endsWith(")")) {
+            negative = true;
+            text = text.substring(1, text.length() - 1);
+        }
+        int decimal = decimalSeparator(text);
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (i == decimal) {
+                normalized.append('.');
+            } else if (c != ',' && c != '.') {
+                normalized.append(c);
+            }
+        }
+        try {
+            BigDecimal amount = new BigDecimal(normalized.toString());
+            return negative ? amount.negate() : amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido: " + value.trim());
+        }
+    }
+
+    /**
+     * Posição do separador decimal em {@code text}, ou -1 se todos forem de milhar.
+     */
+    private static int decimalSeparator(String text) {
+        int last = Math.max(text.lastIndexOf(','), text.lastIndexOf('.'));
+        if (last < 0) {
+            return -1;
+        }
+        char separator = text.charAt(last);
+        char other = separator == ',' ? '.' : ',';
+        if (text.indexOf(other) >= 0) {
+            return last;
+        }
+        if (text.indexOf(separator) != last) {
+            return -1;
+        }
+        String integerPart = text.substring(0, last).replace("-", "").replace("+", "");
+        boolean groupOfThree = text.length() - last - 1 == 3;
+        boolean zeroInteger = integerPart.isEmpty() || integerPart.chars().allMatch(c -> c == '0');
+        return groupOfThree && !zeroInteger ? -1 : last;
+    }
+
+    /**
+     * Minúsculas, sem acentos e sem espaços nas pontas (para casar nomes de coluna).
+     */
+    static String normalizeName(String value) {
+        String stripped = Normalizer.normalize(value.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,48 @@
+-- Migration: Agregados mensais por usuário
+-- Objetivo: Dashboard por período em O(meses), sem varrer todo o histórico de lançamentos
+--
+-- kind / mês de referência:
+--   INCOME           receitas pelo mês de date
+--   EXPENSE_PAID     despesas pagas pelo mês de due_date (mesma base do total do dashboard)
+--   EXPENSE_PENDING  despesas pendentes pelo mês de due_date
+--   INVESTMENT       valor investido (quantity * purchase_price) pelo mês de purchase_date
+
+CREATE TABLE monthly_rollups (
+    user_id UUID NOT NULL,
+    month DATE NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    total_amount NUMERIC(28, 10) NOT NULL DEFAULT 0,
+    item_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_monthly_rollups PRIMARY KEY (user_id, kind, month, category),
+    CONSTRAINT fk_monthly_rollup_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+-- Carga inicial a partir das tabelas base
+INSERT INTO monthly_rollups (user_id, month, kind, category, total_amount, item_count)
+SELECT user_id, date_trunc('month', date)::date, 'INCOME', category, SUM(amount), COUNT(*)
+FROM incomes
+GROUP BY user_id, date_trunc('month', date), category;
+
+INSERT INTO monthly_rollups (user_id, month, kind, category, total_amount, item_count)
+SELECT user_id, date_trunc('month', due_date)::date,
+       CASE WHEN is_paid THEN 'EXPENSE_PAID' ELSE 'EXPENSE_PENDING' END,
+       category, SUM(amount), COUNT(*)
+FROM expenses
+GROUP BY user_id, date_trunc('month', due_date), is_paid, category;
+
+INSERT INTO monthly_rollups (user_id, month, kind, category, total_amount, item_count)
+SELECT user_id, date_trunc('month', purchase_date)::date, 'INVESTMENT', type, SUM(quantity * purchase_price), COUNT(*)
+FROM investments
+GROUP BY user_id, date_trunc('month', purchase_date), type;
+
+-- Bordas de períodos não alinhados ao mês contam despesas pelo vencimento
+CREATE INDEX idx_expense_user_due_date ON expenses(user_id, due_date);
+
+-- Comentários
+COMMENT ON TABLE monthly_rollups IS 'Somas e contagens mensais por usuário, tipo e categoria (mantidas pelos services)';
+COMMENT ON COLUMN monthly_rollups.month IS 'Primeiro dia do mês de referência';
+COMMENT ON COLUMN monthly_rollups.kind IS 'INCOME, EXPENSE_PAID, EXPENSE_PENDING ou INVESTMENT';
@@ -0,0 +1,15 @@
+-- Migration: Importação de extratos bancários (CSV/OFX)
+-- Objetivo: Tornar a reimportação idempotente com um hash do conteúdo de cada lançamento
+
+ALTER TABLE incomes ADD COLUMN import_hash VARCHAR(64);
+ALTER TABLE expenses ADD COLUMN import_hash VARCHAR(64);
+
+-- Um lançamento importado por hash e usuário (o INSERT usa ON CONFLICT DO NOTHING)
+CREATE UNIQUE INDEX uq_income_user_import_hash ON incomes(user_id, import_hash)
+    WHERE import_hash IS NOT NULL;
+CREATE UNIQUE INDEX uq_expense_user_import_hash ON expenses(user_id, import_hash)
+    WHERE import_hash IS NOT NULL;
+
+-- Comentários
+COMMENT ON COLUMN incomes.import_hash IS 'SHA-256 de (data, valor, descrição, ocorrência) quando criado por importação de extrato';
+COMMENT ON COLUMN expenses.import_hash IS 'SHA-256 de (data, valor, descrição, ocorrência) quando criado por importação de extrato';
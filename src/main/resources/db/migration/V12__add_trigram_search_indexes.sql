@@ -0,0 +1,24 @@
+-- Migration: Busca textual indexada (pg_trgm)
+-- Objetivo: Buscas por trecho ('%termo%') e aproximadas em descrições, observações e nomes
+-- usarem índice, com custo proporcional aos resultados e não ao histórico do usuário
+
+-- Extensões "trusted" (PostgreSQL 13+): o dono do banco pode criá-las
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- GIN composto (user_id, trigramas do texto): o filtro por usuário e o LIKE/similaridade
+-- são resolvidos no mesmo índice. Expressões iguais às das consultas (lower(coluna)).
+CREATE INDEX idx_income_search_description ON incomes
+    USING gin (user_id, lower(description) gin_trgm_ops);
+CREATE INDEX idx_income_search_notes ON incomes
+    USING gin (user_id, lower(notes) gin_trgm_ops);
+
+CREATE INDEX idx_expense_search_description ON expenses
+    USING gin (user_id, lower(description) gin_trgm_ops);
+CREATE INDEX idx_expense_search_notes ON expenses
+    USING gin (user_id, lower(notes) gin_trgm_ops);
+
+CREATE INDEX idx_investment_search_name ON investments
+    USING gin (user_id, lower(name) gin_trgm_ops);
+CREATE INDEX idx_investment_search_notes ON investments
+    USING gin (user_id, lower(notes) gin_trgm_ops);
@@ -0,0 +1,39 @@
+-- Migration: Jobs assíncronos de relatório
+-- Objetivo: Gerar exportações grandes fora da thread do request; a tabela é a fila
+-- (sobrevive a reinícios) e guarda o estado consultado pelo cliente
+
+CREATE TABLE report_jobs (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    format VARCHAR(20) NOT NULL,
+    report_type VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    row_count BIGINT,
+    file_size BIGINT,
+    error_message VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP WITH TIME ZONE,
+    finished_at TIMESTAMP WITH TIME ZONE,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_report_job_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_report_job_status
+        CHECK (status IN ('QUEUED', 'RUNNING', 'DONE', 'FAILED'))
+);
+
+-- Listagem e limite de jobs ativos por usuário
+CREATE INDEX idx_report_job_user_created ON report_jobs(user_id, created_at DESC);
+-- Fila: próximos jobs a executar
+CREATE INDEX idx_report_job_queued ON report_jobs(created_at) WHERE status = 'QUEUED';
+-- Limpeza por TTL
+CREATE INDEX idx_report_job_expires_at ON report_jobs(expires_at);
+
+-- Comentários
+COMMENT ON TABLE report_jobs IS 'Exportações de relatório geradas em segundo plano; o arquivo fica no disco local do nó';
+COMMENT ON COLUMN report_jobs.attempts IS 'Execuções iniciadas; jobs interrompidos por reinício voltam para a fila até o limite';
+COMMENT ON COLUMN report_jobs.expires_at IS 'Após esta data o job e o arquivo são removidos';
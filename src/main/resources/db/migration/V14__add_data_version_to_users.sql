@@ -0,0 +1,8 @@
+-- Migration: Versão dos dados por usuário
+-- Objetivo: ETags consistentes entre instâncias; a versão é incrementada na mesma
+-- transação de cada alteração e lida pelo GET condicional
+
+ALTER TABLE users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
+
+-- Comentários
+COMMENT ON COLUMN users.data_version IS 'Incrementada a cada alteração nos dados do usuário (ETag das rotas de leitura)';
@@ -0,0 +1,13 @@
+-- Migration: Lease dos jobs de relatório
+-- Objetivo: Com várias instâncias, devolver à fila só os jobs cujo nó parou de responder
+-- (heartbeat vencido), e não os que outro nó ainda está gerando
+
+ALTER TABLE report_jobs ADD COLUMN worker_id VARCHAR(100);
+ALTER TABLE report_jobs ADD COLUMN heartbeat_at TIMESTAMP WITH TIME ZONE;
+
+-- Busca de leases vencidos
+CREATE INDEX idx_report_job_running_heartbeat ON report_jobs(heartbeat_at) WHERE status = 'RUNNING';
+
+-- Comentários
+COMMENT ON COLUMN report_jobs.worker_id IS 'Instância que está gerando (ou gerou) o arquivo';
+COMMENT ON COLUMN report_jobs.heartbeat_at IS 'Último sinal do worker; RUNNING com heartbeat vencido volta para a fila';
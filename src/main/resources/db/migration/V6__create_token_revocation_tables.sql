@@ -0,0 +1,31 @@
+-- Migration: Revogação de tokens JWT (logout)
+-- Objetivo: Invalidar tokens individuais (por jti) e todas as sessões de um usuário (not-before)
+
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    user_id UUID NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_revoked_token_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+-- Limpeza periódica dos tokens já expirados
+CREATE INDEX idx_revoked_token_expires_at ON revoked_tokens(expires_at);
+
+CREATE TABLE user_token_revocations (
+    user_id UUID PRIMARY KEY,
+    not_before TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_user_token_revocation_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_token_revocation_not_before ON user_token_revocations(not_before);
+
+-- Comentários
+COMMENT ON TABLE revoked_tokens IS 'Tokens JWT revogados individualmente (logout), mantidos até expirarem';
+COMMENT ON TABLE user_token_revocations IS 'Tokens emitidos antes de not_before são inválidos (logout de todas as sessões)';
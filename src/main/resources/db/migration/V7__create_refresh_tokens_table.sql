@@ -0,0 +1,26 @@
+-- Migration: Refresh tokens com rotação
+-- Objetivo: Renovar o access token sem repetir o login (e o BCrypt) a cada expiração
+
+CREATE TABLE refresh_tokens (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    family_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    revoked_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fk_refresh_token_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+-- Índices para performance (token_hash já possui índice pela constraint UNIQUE)
+CREATE INDEX idx_refresh_token_family ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_token_user ON refresh_tokens(user_id);
+CREATE INDEX idx_refresh_token_expires_at ON refresh_tokens(expires_at);
+
+-- Comentários
+COMMENT ON TABLE refresh_tokens IS 'Refresh tokens (apenas o hash SHA-256 é armazenado)';
+COMMENT ON COLUMN refresh_tokens.family_id IS 'Sessão de origem: todos os tokens gerados por rotação a partir do mesmo login';
+COMMENT ON COLUMN refresh_tokens.revoked_at IS 'Preenchido quando o token é usado (rotação) ou revogado; reuso de token revogado revoga a família';
@@ -0,0 +1,12 @@
+-- Migration: Índices para paginação por cursor (keyset)
+-- Objetivo: Cada página é uma leitura de intervalo no índice, independente da profundidade
+
+-- (user_id, date DESC, id DESC) atende ORDER BY date DESC, id DESC e o filtro (date, id) < (...)
+CREATE INDEX idx_expense_user_date_id ON expenses(user_id, date DESC, id DESC);
+CREATE INDEX idx_income_user_date_id ON incomes(user_id, date DESC, id DESC);
+CREATE INDEX idx_investment_user_purchase_date_id ON investments(user_id, purchase_date DESC, id DESC);
+CREATE INDEX idx_user_created_at_id ON users(created_at DESC, id DESC);
+
+-- Os índices (user_id, date) passam a ser prefixos dos novos e só custariam escrita
+DROP INDEX IF EXISTS idx_expense_user_date;
+DROP INDEX IF EXISTS idx_income_user_date;
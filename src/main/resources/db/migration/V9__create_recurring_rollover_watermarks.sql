@@ -0,0 +1,20 @@
+-- Migration: Rollover de despesas recorrentes em background
+-- Objetivo: Registrar até que mês cada usuário já teve suas despesas recorrentes avançadas
+
+CREATE TABLE recurring_rollover_watermarks (
+    user_id UUID PRIMARY KEY,
+    rolled_through DATE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_rollover_watermark_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+-- Candidatas ao rollover: recorrentes já pagas (o UPDATE em lote filtra por usuário e vencimento)
+CREATE INDEX idx_expense_rollover_candidates ON expenses(user_id, due_date)
+    WHERE is_paid = TRUE AND recurrence <> 'ONCE';
+
+-- Comentários
+COMMENT ON TABLE recurring_rollover_watermarks IS 'Progresso do job de rollover de despesas recorrentes por usuário';
+COMMENT ON COLUMN recurring_rollover_watermarks.rolled_through IS 'Primeiro dia do mês até o qual o rollover já foi aplicado';
@@ -0,0 +1,81 @@
+package com.app.FinTrack.config;
+
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
+import com.app.FinTrack.repository.UserRepository;
+import com.app.FinTrack.service.DataVersionService;
+import com.app.FinTrack.util.AuthUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConditionalGetInterceptorTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final DataVersionService dataVersionService =
+            new DataVersionService(userRepository, mock(PlatformTransactionManager.class));
+    private final AuthUtils authUtils = mock(AuthUtils.class);
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(dataVersionService, authUtils);
+
+    @BeforeEach
+    void setUp() {
+        when(authUtils.getCurrentUserId()).thenReturn(USER_ID);
+        when(userRepository.findDataVersion(USER_ID)).thenReturn(Optional.of(7L));
+    }
+
+    @Test
+    @DisplayName("ETag igual à versão atual deve responder 304 sem chamar o controller")
+    void shouldReturnNotModifiedWhenETagMatches() {
+        String eTag = dataVersionService.userETag(USER_ID);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        request.addHeader("If-None-Match", eTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, null));
+        assertEquals(304, response.getStatus());
+        assertEquals(eTag, response.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("Alteração nos dados deve trocar a ETag e liberar a resposta completa")
+    void shouldProceedAfterDataChanged() {
+        String oldETag = dataVersionService.userETag(USER_ID);
+        dataVersionService.beforeCommit(UserDataChangedEvent.of(USER_ID));
+        verify(userRepository).incrementDataVersion(List.of(USER_ID));
+        when(userRepository.findDataVersion(USER_ID)).thenReturn(Optional.of(8L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("If-None-Match", oldETag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertNotEquals(oldETag, response.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("ETag deve depender só da versão no banco, igual em qualquer instância")
+    void shouldShareETagAcrossInstances() {
+        DataVersionService otherNode = new DataVersionService(userRepository, mock(PlatformTransactionManager.class));
+
+        assertEquals(dataVersionService.userETag(USER_ID), otherNode.userETag(USER_ID));
+        assertNotEquals(dataVersionService.userETag(USER_ID), dataVersionService.userETag(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("If-None-Match deve aceitar lista e prefixo W/")
+    void shouldMatchListAndWeakValidators() {
+        assertTrue(ConditionalGetInterceptor.matches("\"a\", W/\"b\"", "\"b\""));
+        assertFalse(ConditionalGetInterceptor.matches("\"a\"", "\"b\""));
+        assertFalse(ConditionalGetInterceptor.matches(null, "\"b\""));
+    }
+}
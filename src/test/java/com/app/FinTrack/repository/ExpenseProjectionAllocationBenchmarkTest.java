@@ -0,0 +1,123 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.dto.ExpenseResponseDTO;
+import com.app.FinTrack.domain.entity.Expense;
+import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.domain.enums.RecurrenceType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de integração: bytes alocados por linha na listagem de despesas,
+ * entidade gerenciada + fromEntity versus projeção direta para o DTO.
+ * Requer o banco configurado (igual ao FinTrackApplicationTests).
+ *
+ * Fora do mvn test padrão (tag "benchmark", excluída no pom.xml); para rodar:
+ * mvn test -Dgroups=benchmark -DexcludedGroups=none
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class ExpenseProjectionAllocationBenchmarkTest {
+
+    private static final int ROWS = 2_000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 5;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .name("Benchmark User")
+                .email("benchmark-" + UUID.randomUUID() + "@email.com")
+                .password("$2a$10$encodedPassword")
+                .build());
+        userId = user.getId();
+
+        List<Expense> expenses = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            expenses.add(Expense.builder()
+                    .user(user)
+                    .description("Despesa " + i)
+                    .amount(new BigDecimal("10.00"))
+                    .category(ExpenseCategory.FOOD)
+                    .paymentMethod(PaymentMethod.PIX)
+                    .date(LocalDate.now().minusDays(i % 365))
+                    .dueDate(LocalDate.now())
+                    .recurrence(RecurrenceType.ONCE)
+                    .isPaid(false)
+                    .notes("Observação da despesa " + i)
+                    .build());
+        }
+        expenseRepository.saveAll(expenses);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Projeção para DTO deve alocar menos por linha que entidade + fromEntity")
+    void projectionShouldAllocateLessPerRowThanEntityHydration() {
+        long entityBytes = bytesPerRow(() -> expenseRepository.findByUserIdOrderByDateDesc(userId)
+                .stream()
+                .map(ExpenseResponseDTO::fromEntity)
+                .toList());
+        long projectionBytes = bytesPerRow(() -> expenseRepository.findResponsesByUserId(userId));
+
+        assertTrue(projectionBytes < entityBytes,
+                "projeção (" + projectionBytes + " B/linha) deveria alocar menos que entidade (" + entityBytes + " B/linha)");
+    }
+
+    /**
+     * Menor alocação observada (em bytes por linha) entre as execuções medidas.
+     * O contexto de persistência é limpo antes de cada execução para não reaproveitar entidades.
+     */
+    private long bytesPerRow(Supplier<List<ExpenseResponseDTO>> query) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            entityManager.clear();
+            assertEquals(ROWS, query.get().size());
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            entityManager.clear();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            List<ExpenseResponseDTO> result = query.get();
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            assertEquals(ROWS, result.size());
+            best = Math.min(best, allocated);
+        }
+        return best / ROWS;
+    }
+}
@@ -0,0 +1,96 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.dto.ExpenseResponseDTO;
+import com.app.FinTrack.domain.entity.Expense;
+import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.domain.enums.RecurrenceType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integração: a projeção direta para o DTO deve devolver exatamente o que
+ * a entidade + fromEntity devolveria.
+ * Requer o banco configurado (igual ao FinTrackApplicationTests).
+ */
+@SpringBootTest
+@Transactional
+class ExpenseProjectionTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .name("Projection User")
+                .email("projection-" + UUID.randomUUID() + "@email.com")
+                .password("$2a$10$encodedPassword")
+                .build());
+        userId = user.getId();
+
+        LocalDate today = LocalDate.now();
+        expenseRepository.saveAll(List.of(
+                expense(user, "Mercado", "152.37", ExpenseCategory.FOOD, PaymentMethod.PIX,
+                        today, RecurrenceType.ONCE, false, "Compra do mês"),
+                expense(user, "Aluguel", "1800.00", ExpenseCategory.HOUSING, PaymentMethod.BANK_TRANSFER,
+                        today.minusDays(1), RecurrenceType.MONTHLY, true, null),
+                expense(user, "Academia", "99.90", ExpenseCategory.HEALTH, PaymentMethod.CREDIT_CARD,
+                        today.minusDays(2), RecurrenceType.MONTHLY, false, "")));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Projeção deve devolver os mesmos DTOs que entidade + fromEntity")
+    void projectionShouldMatchFromEntity() {
+        List<ExpenseResponseDTO> fromEntities = expenseRepository.findByUserIdOrderByDateDesc(userId)
+                .stream()
+                .map(ExpenseResponseDTO::fromEntity)
+                .toList();
+        entityManager.clear();
+
+        List<ExpenseResponseDTO> projected = expenseRepository.findResponsesByUserId(userId);
+
+        assertEquals(3, projected.size());
+        assertEquals(fromEntities, projected);
+    }
+
+    private static Expense expense(User user, String description, String amount,
+                                   ExpenseCategory category, PaymentMethod paymentMethod,
+                                   LocalDate date, RecurrenceType recurrence, boolean paid, String notes) {
+        return Expense.builder()
+                .user(user)
+                .description(description)
+                .amount(new BigDecimal(amount))
+                .category(category)
+                .paymentMethod(paymentMethod)
+                .date(date)
+                .dueDate(date.plusDays(5))
+                .recurrence(recurrence)
+                .isPaid(paid)
+                .notes(notes)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.entity.Expense;
+import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.domain.enums.RecurrenceType;
+import com.app.FinTrack.service.RecurringRolloverService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integração: o UPDATE em lote do rollover (ExpenseRepository.rollOverRecurring) deve
+ * aplicar a mesma regra de RecurringRolloverService.nextDueDate.
+ * Requer o banco configurado (igual ao FinTrackApplicationTests).
+ */
+@SpringBootTest
+@Transactional
+class ExpenseRolloverQueryTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2025, 6);
+    private static final LocalDate MONTH_START = CURRENT_MONTH.atDay(1);
+    private static final int MONTH_INDEX = CURRENT_MONTH.getYear() * 12 + CURRENT_MONTH.getMonthValue() - 1;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Rollover User")
+                .email("rollover-" + UUID.randomUUID() + "@email.com")
+                .password("$2a$10$encodedPassword")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Recorrentes pagas vencidas devem avançar para a mesma data calculada por nextDueDate")
+    void shouldRollOverPaidRecurringLikeNextDueDate() {
+        List<Expense> overdue = List.of(
+                save(RecurrenceType.DAILY, LocalDate.of(2025, 5, 20), true),
+                save(RecurrenceType.WEEKLY, LocalDate.of(2025, 5, 26), true),
+                save(RecurrenceType.BIWEEKLY, LocalDate.of(2025, 4, 30), true),
+                save(RecurrenceType.MONTHLY, LocalDate.of(2025, 1, 31), true),
+                save(RecurrenceType.BIMONTHLY, LocalDate.of(2025, 3, 10), true),
+                save(RecurrenceType.QUARTERLY, LocalDate.of(2025, 1, 15), true),
+                save(RecurrenceType.SEMIANNUAL, LocalDate.of(2024, 2, 29), true),
+                save(RecurrenceType.ANNUAL, LocalDate.of(2022, 6, 30), true));
+        entityManager.flush();
+
+        int rolled = expenseRepository.rollOverRecurring(List.of(user.getId()), MONTH_START, MONTH_INDEX);
+        entityManager.clear();
+
+        assertEquals(overdue.size(), rolled);
+        for (Expense before : overdue) {
+            Expense after = expenseRepository.findById(before.getId()).orElseThrow();
+            LocalDate expected = RecurringRolloverService.nextDueDate(
+                    before.getDueDate(), before.getRecurrence(), CURRENT_MONTH);
+            assertEquals(expected, after.getDueDate(), before.getRecurrence().name());
+            assertFalse(after.getIsPaid(), before.getRecurrence().name());
+        }
+    }
+
+    @Test
+    @DisplayName("Únicas, pendentes e vencimentos no mês atual não mudam; reexecutar não altera nada")
+    void shouldIgnoreNotDueAndBeIdempotent() {
+        List<Expense> untouched = List.of(
+                save(RecurrenceType.ONCE, LocalDate.of(2025, 1, 10), true),
+                save(RecurrenceType.MONTHLY, LocalDate.of(2025, 1, 10), false),
+                save(RecurrenceType.MONTHLY, LocalDate.of(2025, 6, 5), true));
+        save(RecurrenceType.MONTHLY, LocalDate.of(2025, 4, 5), true);
+        entityManager.flush();
+
+        assertEquals(1, expenseRepository.rollOverRecurring(List.of(user.getId()), MONTH_START, MONTH_INDEX));
+        assertEquals(0, expenseRepository.rollOverRecurring(List.of(user.getId()), MONTH_START, MONTH_INDEX));
+        entityManager.clear();
+
+        for (Expense before : untouched) {
+            Expense after = expenseRepository.findById(before.getId()).orElseThrow();
+            assertEquals(before.getDueDate(), after.getDueDate());
+            assertEquals(before.getIsPaid(), after.getIsPaid());
+        }
+    }
+
+    private Expense save(RecurrenceType recurrence, LocalDate dueDate, boolean paid) {
+        return expenseRepository.save(Expense.builder()
+                .user(user)
+                .description("Despesa " + recurrence)
+                .amount(new BigDecimal("50.00"))
+                .category(ExpenseCategory.SUBSCRIPTION)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .date(dueDate)
+                .dueDate(dueDate)
+                .recurrence(recurrence)
+                .isPaid(paid)
+                .build());
+    }
+}
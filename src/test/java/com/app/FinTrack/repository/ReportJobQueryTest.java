@@ -0,0 +1,177 @@
+package com.app.FinTrack.repository;
+
+import com.app.FinTrack.domain.entity.ReportJob;
+import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.enums.ExportFormat;
+import com.app.FinTrack.domain.enums.ReportJobStatus;
+import com.app.FinTrack.domain.enums.ReportType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integração: consultas de lease e limpeza da fila de relatórios (ReportJobRepository).
+ * Os instantes são fixos e antigos para não alcançar jobs de outros testes no mesmo banco.
+ * Requer o banco configurado (igual ao FinTrackApplicationTests).
+ */
+@SpringBootTest
+@Transactional
+class ReportJobQueryTest {
+
+    private static final Instant NOW = Instant.parse("2001-01-01T12:00:00Z");
+    private static final Instant STALE_BEFORE = NOW.minus(Duration.ofSeconds(120));
+    private static final int MAX_ATTEMPTS = 2;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Report Job User")
+                .email("report-job-" + UUID.randomUUID() + "@email.com")
+                .password("$2a$10$encodedPassword")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Claim deve reservar o job uma única vez e iniciar o lease")
+    void shouldClaimQueuedJobOnlyOnce() {
+        ReportJob job = save(ReportJobStatus.QUEUED, null, null, 0, NOW.plus(Duration.ofDays(1)));
+        entityManager.flush();
+
+        assertEquals(1, reportJobRepository.claim(job.getId(), "worker-a", NOW));
+        assertEquals(0, reportJobRepository.claim(job.getId(), "worker-b", NOW));
+        entityManager.clear();
+
+        ReportJob claimed = reportJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ReportJobStatus.RUNNING, claimed.getStatus());
+        assertEquals("worker-a", claimed.getWorkerId());
+        assertEquals(NOW, claimed.getHeartbeatAt());
+        assertEquals(1, claimed.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Heartbeat deve renovar só os jobs em execução do próprio worker")
+    void shouldRenewOnlyOwnRunningJobs() {
+        Instant old = NOW.minus(Duration.ofSeconds(60));
+        ReportJob own = save(ReportJobStatus.RUNNING, "worker-a", old, 1, NOW.plus(Duration.ofDays(1)));
+        ReportJob other = save(ReportJobStatus.RUNNING, "worker-b", old, 1, NOW.plus(Duration.ofDays(1)));
+        entityManager.flush();
+
+        assertEquals(1, reportJobRepository.heartbeat(List.of(own.getId(), other.getId()), "worker-a", NOW));
+        entityManager.clear();
+
+        assertEquals(NOW, reportJobRepository.findById(own.getId()).orElseThrow().getHeartbeatAt());
+        assertEquals(old, reportJobRepository.findById(other.getId()).orElseThrow().getHeartbeatAt());
+    }
+
+    @Test
+    @DisplayName("Lease vencido volta para a fila; lease em dia só volta se for do worker reiniciado")
+    void shouldRequeueStaleLeasesAndRestartedWorkerJobs() {
+        ReportJob stale = save(ReportJobStatus.RUNNING, "worker-a", STALE_BEFORE.minusSeconds(1), 1, NOW);
+        ReportJob fresh = save(ReportJobStatus.RUNNING, "worker-b", NOW, 1, NOW);
+        ReportJob restarted = save(ReportJobStatus.RUNNING, "worker-c", NOW, 1, NOW);
+        entityManager.flush();
+
+        assertEquals(1, reportJobRepository.requeueInterrupted(STALE_BEFORE, null, MAX_ATTEMPTS));
+        assertEquals(1, reportJobRepository.requeueInterrupted(STALE_BEFORE, "worker-c", MAX_ATTEMPTS));
+        entityManager.clear();
+
+        ReportJob requeued = reportJobRepository.findById(stale.getId()).orElseThrow();
+        assertEquals(ReportJobStatus.QUEUED, requeued.getStatus());
+        assertNull(requeued.getWorkerId());
+        assertNull(requeued.getHeartbeatAt());
+        assertEquals(ReportJobStatus.RUNNING, reportJobRepository.findById(fresh.getId()).orElseThrow().getStatus());
+        assertEquals(ReportJobStatus.QUEUED, reportJobRepository.findById(restarted.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Lease vencido sem tentativas restantes deve falhar em vez de voltar para a fila")
+    void shouldFailStaleJobsWithoutAttemptsLeft() {
+        ReportJob exhausted = save(ReportJobStatus.RUNNING, "worker-a", STALE_BEFORE.minusSeconds(1), MAX_ATTEMPTS, NOW);
+        entityManager.flush();
+
+        assertEquals(0, reportJobRepository.requeueInterrupted(STALE_BEFORE, null, MAX_ATTEMPTS));
+        assertEquals(1, reportJobRepository.failInterrupted(STALE_BEFORE, null, MAX_ATTEMPTS, "interrompido", NOW));
+        entityManager.clear();
+
+        ReportJob failed = reportJobRepository.findById(exhausted.getId()).orElseThrow();
+        assertEquals(ReportJobStatus.FAILED, failed.getStatus());
+        assertEquals("interrompido", failed.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Conclusão só vale para o worker que ainda detém o lease")
+    void shouldMarkDoneOnlyForLeaseOwner() {
+        ReportJob job = save(ReportJobStatus.RUNNING, "worker-a", NOW, 1, NOW.plus(Duration.ofDays(1)));
+        ReportJob requeued = save(ReportJobStatus.QUEUED, null, null, 1, NOW.plus(Duration.ofDays(1)));
+        entityManager.flush();
+
+        assertEquals(0, reportJobRepository.markDone(job.getId(), "worker-b", 10, 100, NOW));
+        assertEquals(0, reportJobRepository.markDone(requeued.getId(), "worker-a", 10, 100, NOW));
+        assertEquals(1, reportJobRepository.markDone(job.getId(), "worker-a", 10, 100, NOW));
+        entityManager.clear();
+
+        ReportJob done = reportJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ReportJobStatus.DONE, done.getStatus());
+        assertEquals(10L, done.getRowCount());
+        assertEquals(ReportJobStatus.QUEUED, reportJobRepository.findById(requeued.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Limpeza deve remover só expirados fora de execução e devolver os ids removidos")
+    void shouldDeleteExpiredJobsExceptRunning() {
+        Instant expiredAt = NOW.minus(Duration.ofHours(1));
+        ReportJob done = save(ReportJobStatus.DONE, "worker-a", null, 1, expiredAt);
+        ReportJob failed = save(ReportJobStatus.FAILED, "worker-a", null, 2, expiredAt);
+        ReportJob running = save(ReportJobStatus.RUNNING, "worker-a", NOW, 1, expiredAt);
+        ReportJob notExpired = save(ReportJobStatus.DONE, "worker-a", null, 1, NOW.plus(Duration.ofHours(1)));
+        entityManager.flush();
+
+        List<UUID> deleted = reportJobRepository.deleteExpired(NOW);
+        entityManager.clear();
+
+        assertEquals(2, deleted.size());
+        assertTrue(deleted.containsAll(List.of(done.getId(), failed.getId())));
+        assertFalse(reportJobRepository.existsById(done.getId()));
+        assertTrue(reportJobRepository.existsById(running.getId()));
+        assertTrue(reportJobRepository.existsById(notExpired.getId()));
+    }
+
+    private ReportJob save(ReportJobStatus status, String workerId, Instant heartbeatAt, int attempts, Instant expiresAt) {
+        return reportJobRepository.save(ReportJob.builder()
+                .userId(user.getId())
+                .format(ExportFormat.PDF)
+                .reportType(ReportType.ALL)
+                .startDate(LocalDate.of(2000, 1, 1))
+                .endDate(LocalDate.of(2000, 12, 31))
+                .status(status)
+                .attempts(attempts)
+                .workerId(workerId)
+                .heartbeatAt(heartbeatAt)
+                .createdAt(NOW.minus(Duration.ofHours(2)))
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
@@ -0,0 +1,132 @@
+package com.app.FinTrack.security;
+
+import com.app.FinTrack.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private static final String EMAIL = "user@email.com";
+    private static final String IP = "203.0.113.10";
+
+    private final AtomicLong clock = new AtomicLong();
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // email: 3 tentativas, 1 por 20s; IP: 10 tentativas, 1 por 6s; ociosidade: 15 min
+        limiter = new LoginRateLimiter(3, 3, 10, 10, 15, clock::get);
+    }
+
+    @Test
+    @DisplayName("Deve permitir tentativas até a capacidade e rejeitar a seguinte com Retry-After")
+    void shouldRejectAfterCapacity() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, IP);
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire(EMAIL, IP));
+
+        assertEquals(20, ex.getRetryAfterSeconds());
+        assertEquals(3, limiter.stats().allowed());
+        assertEquals(1, limiter.stats().rejectedByEmail());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar tokens com o passar do tempo")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, IP);
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire(EMAIL, IP));
+
+        advanceSeconds(20);
+
+        assertDoesNotThrow(() -> limiter.acquire(EMAIL, IP));
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire(EMAIL, IP));
+    }
+
+    @Test
+    @DisplayName("Rejeições têm custo constante: não criam estado nem adiam a liberação")
+    void rejectedAttemptsShouldNotChangeState() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, IP);
+        }
+
+        int rejected = 0;
+        for (int i = 0; i < 100_000; i++) {
+            try {
+                limiter.acquire(EMAIL, IP);
+            } catch (TooManyRequestsException ex) {
+                rejected++;
+            }
+        }
+
+        assertEquals(100_000, rejected);
+        assertEquals(1, limiter.stats().trackedEmails());
+        assertEquals(1, limiter.stats().trackedIps());
+
+        // A enxurrada de rejeições não consumiu tokens: a liberação ocorre no mesmo instante
+        advanceSeconds(20);
+        assertDoesNotThrow(() -> limiter.acquire(EMAIL, IP));
+    }
+
+    @Test
+    @DisplayName("Deve limitar por IP mesmo variando o email")
+    void shouldLimitByIpAcrossEmails() {
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("user" + i + "@email.com", IP);
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("another@email.com", IP));
+        assertEquals(1, limiter.stats().rejectedByIp());
+
+        // Outro IP não é afetado
+        assertDoesNotThrow(() -> limiter.acquire("another@email.com", "198.51.100.7"));
+    }
+
+    @Test
+    @DisplayName("Tentativa rejeitada pelo email não deve consumir o bucket do IP")
+    void emailRejectionShouldNotConsumeIpBucket() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(EMAIL, IP);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThrows(TooManyRequestsException.class, () -> limiter.acquire(EMAIL, IP));
+        }
+
+        // O IP gastou só as 3 tentativas aceitas e ainda tem 7
+        for (int i = 0; i < 7; i++) {
+            limiter.acquire("user" + i + "@email.com", IP);
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("another@email.com", IP));
+        assertEquals(20, limiter.stats().rejectedByEmail());
+        assertEquals(1, limiter.stats().rejectedByIp());
+    }
+
+    @Test
+    @DisplayName("Deve remover buckets ociosos")
+    void shouldEvictIdleBuckets() {
+        limiter.acquire(EMAIL, IP);
+        assertEquals(1, limiter.stats().trackedEmails());
+
+        advanceSeconds(TimeUnit.MINUTES.toSeconds(15));
+        limiter.evictIdle();
+
+        assertEquals(0, limiter.stats().trackedEmails());
+        assertEquals(0, limiter.stats().trackedIps());
+        assertEquals(2, limiter.stats().expiredBuckets());
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
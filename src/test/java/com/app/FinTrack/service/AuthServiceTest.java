@@ -0,0 +1,66 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.LoginRequestDTO;
+import com.app.FinTrack.exception.TooManyRequestsException;
+import com.app.FinTrack.repository.UserRepository;
+import com.app.FinTrack.security.JwtService;
+import com.app.FinTrack.security.LoginRateLimiter;
+import com.app.FinTrack.security.RefreshTokenService;
+import com.app.FinTrack.security.TokenRevocationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @Test
+    @DisplayName("Login rejeitado pelo limitador não deve consultar usuário nem verificar senha")
+    void shouldRejectLoginBeforeAuthentication() {
+        LoginRequestDTO request = new LoginRequestDTO(" User@Email.com ", "wrong-password");
+        doThrow(new TooManyRequestsException("Muitas tentativas", 30))
+                .when(loginRateLimiter).acquire("user@email.com", "203.0.113.10");
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> authService.login(request, "203.0.113.10"));
+
+        assertEquals(30, ex.getRetryAfterSeconds());
+        verifyNoInteractions(authenticationManager, passwordEncoder, userCacheService, userRepository,
+                refreshTokenService, jwtService);
+    }
+}
@@ -0,0 +1,104 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.DashboardDTO;
+import com.app.FinTrack.domain.event.UserDataChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DashboardCacheServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    private final DataVersionService dataVersionService = mock(DataVersionService.class);
+    private final DashboardCacheService cache = new DashboardCacheService(dataVersionService, 100, 300);
+
+    @Test
+    @DisplayName("Segunda leitura do mesmo período deve vir do cache")
+    void shouldServeRepeatedReadsFromCache() {
+        UUID userId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(userId, START, END, () -> dashboard(loads.incrementAndGet()));
+        DashboardDTO second = cache.get(userId, START, END, () -> dashboard(loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, second.incomeCount());
+        assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    @DisplayName("Evento de alteração deve invalidar só o usuário afetado")
+    void shouldInvalidateOnlyChangedUser() {
+        UUID changed = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(changed, START, END, () -> dashboard(loads.incrementAndGet()));
+        cache.get(other, START, END, () -> dashboard(loads.incrementAndGet()));
+
+        cache.onUserDataChanged(UserDataChangedEvent.of(changed));
+
+        assertEquals(3, cache.get(changed, START, END, () -> dashboard(loads.incrementAndGet())).incomeCount());
+        assertEquals(2, cache.get(other, START, END, () -> dashboard(loads.incrementAndGet())).incomeCount());
+    }
+
+    @Test
+    @DisplayName("Resultado carregado durante uma alteração não deve ser servido na versão nova")
+    void shouldNotServeResultLoadedDuringChangeUnderNewVersion() {
+        UUID userId = UUID.randomUUID();
+        when(dataVersionService.currentVersion(userId)).thenReturn(1L);
+
+        cache.get(userId, START, END, () -> {
+            when(dataVersionService.currentVersion(userId)).thenReturn(2L);
+            cache.onUserDataChanged(UserDataChangedEvent.of(userId));
+            return dashboard(1);
+        });
+
+        assertEquals(2, cache.get(userId, START, END, () -> dashboard(2)).incomeCount());
+    }
+
+    @Test
+    @DisplayName("Alteração de um usuário não deve descartar a carga em andamento de outro")
+    void shouldStoreOtherUserLoadDuringChange() {
+        UUID userId = UUID.randomUUID();
+        UUID writer = UUID.randomUUID();
+
+        cache.get(userId, START, END, () -> {
+            cache.onUserDataChanged(UserDataChangedEvent.of(writer));
+            return dashboard(1);
+        });
+
+        assertEquals(1, cache.get(userId, START, END, () -> dashboard(2)).incomeCount());
+    }
+
+    @Test
+    @DisplayName("Versão alterada por outro nó deve ignorar a entrada antiga ainda no cache")
+    void shouldMissWhenVersionChangedWithoutLocalInvalidation() {
+        UUID userId = UUID.randomUUID();
+        when(dataVersionService.currentVersion(userId)).thenReturn(1L);
+        cache.get(userId, START, END, () -> dashboard(1));
+        assertEquals(1, cache.get(userId, START, END, () -> dashboard(99)).incomeCount());
+
+        // Commit em outro nó (ou antes do AFTER_COMMIT deste): nenhum evento recebido aqui
+        when(dataVersionService.currentVersion(userId)).thenReturn(2L);
+
+        assertEquals(2, cache.get(userId, START, END, () -> dashboard(2)).incomeCount());
+        assertEquals(2, cache.get(userId, START, END, () -> dashboard(99)).incomeCount());
+    }
+
+    private static DashboardDTO dashboard(long incomeCount) {
+        return new DashboardDTO(
+                BigDecimal.ZERO, incomeCount,
+                BigDecimal.ZERO, BigDecimal.ZERO, 0,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0,
+                BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,149 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.DashboardDTO;
+import com.app.FinTrack.domain.entity.Expense;
+import com.app.FinTrack.domain.entity.Income;
+import com.app.FinTrack.domain.entity.Investment;
+import com.app.FinTrack.domain.entity.User;
+import com.app.FinTrack.domain.enums.ExpenseCategory;
+import com.app.FinTrack.domain.enums.IncomeCategory;
+import com.app.FinTrack.domain.enums.InvestmentType;
+import com.app.FinTrack.domain.enums.PaymentMethod;
+import com.app.FinTrack.domain.enums.RecurrenceType;
+import com.app.FinTrack.repository.ExpenseRepository;
+import com.app.FinTrack.repository.IncomeRepository;
+import com.app.FinTrack.repository.InvestmentRepository;
+import com.app.FinTrack.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integração: o dashboard (total e por período) deve custar uma única instrução SQL,
+ * além da leitura da versão dos dados do usuário (chave do cache).
+ * Requer o banco configurado (igual ao FinTrackApplicationTests).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class DashboardStatementCountTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID userId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .name("Dashboard User")
+                .email("dashboard-" + UUID.randomUUID() + "@email.com")
+                .password("$2a$10$encodedPassword")
+                .build());
+        userId = user.getId();
+
+        incomeRepository.save(Income.builder()
+                .user(user)
+                .description("Salário")
+                .amount(new BigDecimal("5000.00"))
+                .category(IncomeCategory.SALARY)
+                .date(LocalDate.of(2025, 2, 5))
+                .recurrence(RecurrenceType.ONCE)
+                .build());
+        incomeRepository.save(Income.builder()
+                .user(user)
+                .description("Freelance")
+                .amount(new BigDecimal("700.00"))
+                .category(IncomeCategory.FREELANCE)
+                .date(LocalDate.of(2025, 1, 20))
+                .recurrence(RecurrenceType.ONCE)
+                .build());
+        expenseRepository.save(Expense.builder()
+                .user(user)
+                .description("Aluguel")
+                .amount(new BigDecimal("1500.00"))
+                .category(ExpenseCategory.HOUSING)
+                .paymentMethod(PaymentMethod.PIX)
+                .date(LocalDate.of(2025, 2, 1))
+                .dueDate(LocalDate.of(2025, 2, 10))
+                .recurrence(RecurrenceType.ONCE)
+                .isPaid(false)
+                .build());
+        investmentRepository.save(Investment.builder()
+                .user(user)
+                .name("Tesouro Selic")
+                .type(InvestmentType.TREASURY)
+                .quantity(new BigDecimal("2"))
+                .purchasePrice(new BigDecimal("1000.00"))
+                .currentPrice(new BigDecimal("1100.00"))
+                .purchaseDate(LocalDate.of(2025, 1, 10))
+                .build());
+        entityManager.flush();
+        monthlyRollupService.rebuildUsers(List.of(userId));
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Dashboard completo deve usar uma única instrução (mais a versão)")
+    void dashboardShouldUseSingleStatement() {
+        DashboardDTO dashboard = dashboardService.getDashboard(userId);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(new BigDecimal("5700.00"), dashboard.totalIncome());
+        assertEquals(2, dashboard.incomeCount());
+        assertEquals(new BigDecimal("1500.00"), dashboard.pendingExpense());
+        assertEquals(1, dashboard.investmentCount());
+        assertEquals(0, new BigDecimal("2200.00").compareTo(dashboard.currentInvestmentValue()));
+    }
+
+    @Test
+    @DisplayName("Dashboard por período não alinhado ao mês também deve usar uma única instrução (mais a versão)")
+    void periodDashboardShouldUseSingleStatement() {
+        DashboardDTO dashboard = dashboardService.getDashboardByPeriod(
+                userId, LocalDate.of(2025, 1, 25), LocalDate.of(2025, 2, 28));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(new BigDecimal("5000.00"), dashboard.totalIncome());
+        assertEquals(1, dashboard.incomeCount());
+        assertEquals(new BigDecimal("1500.00"), dashboard.totalExpense());
+        assertEquals(1, dashboard.expenseCount());
+    }
+}
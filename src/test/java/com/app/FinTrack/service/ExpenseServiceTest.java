@@ -1,5 +1,7 @@
 package com.app.FinTrack.service;
 
+import com.app.FinTrack.domain.dto.BulkResultDTO;
+import com.app.FinTrack.domain.dto.ExpenseBulkRequestDTO;
 import com.app.FinTrack.domain.dto.ExpenseRequestDTO;
 import com.app.FinTrack.domain.dto.ExpenseResponseDTO;
 import com.app.FinTrack.domain.entity.Expense;
@@ -17,10 +19,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,6 +41,18 @@ class ExpenseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private RecurringRolloverService recurringRolloverService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -87,7 +103,8 @@ class ExpenseServiceTest {
     @DisplayName("Deve criar despesa com sucesso")
     void shouldCreateExpenseSuccessfully() {
         UUID userId = validUser.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(validUser));
+        when(userCacheService.findById(userId)).thenReturn(Optional.of(validUser));
+        when(userRepository.getReferenceById(userId)).thenReturn(validUser);
         when(expenseRepository.save(any(Expense.class))).thenReturn(validExpense);
 
         ExpenseResponseDTO result = expenseService.create(userId, validRequest);
@@ -97,7 +114,7 @@ class ExpenseServiceTest {
         assertEquals(validExpense.getDescription(), result.description());
         assertEquals(validExpense.getAmount(), result.amount());
 
-        verify(userRepository).findById(userId);
+        verify(userCacheService).findById(userId);
         verify(expenseRepository).save(any(Expense.class));
     }
 
@@ -138,13 +155,13 @@ class ExpenseServiceTest {
     @DisplayName("Deve lançar exceção ao criar despesa para usuário inexistente")
     void shouldThrowExceptionWhenUserNotFound() {
         UUID userId = UUID.randomUUID();
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userCacheService.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
             expenseService.create(userId, validRequest)
         );
 
-        verify(userRepository).findById(userId);
+        verify(userCacheService).findById(userId);
         verify(expenseRepository, never()).save(any(Expense.class));
     }
 
@@ -229,8 +246,29 @@ class ExpenseServiceTest {
     }
 
     @Test
-    @DisplayName("Deve atualizar data de vencimento de despesa recorrente ao marcar como paga")
-    void shouldUpdateDueDateForRecurringExpenseWhenMarkedAsPaid() {
+    @DisplayName("Recorrente vencida em mês anterior deve ficar paga e agendar o rollover")
+    void shouldKeepOverdueRecurringExpensePaidAndReopenRollover() {
+        UUID userId = validUser.getId();
+        UUID expenseId = validExpense.getId();
+        LocalDate originalDueDate = LocalDate.now().minusMonths(2);
+
+        validExpense.setRecurrence(RecurrenceType.MONTHLY);
+        validExpense.setDueDate(originalDueDate);
+        validExpense.setIsPaid(false);
+
+        when(expenseRepository.findById(expenseId)).thenReturn(Optional.of(validExpense));
+        when(expenseRepository.save(any(Expense.class))).thenReturn(validExpense);
+
+        ExpenseResponseDTO result = expenseService.markAsPaid(userId, expenseId);
+
+        assertTrue(result.isPaid());
+        assertEquals(originalDueDate, result.dueDate());
+        verify(recurringRolloverService).reopen(userId);
+    }
+
+    @Test
+    @DisplayName("Recorrente com vencimento no mês atual não deve agendar rollover")
+    void shouldNotReopenRolloverForCurrentMonthRecurringExpense() {
         UUID userId = validUser.getId();
         UUID expenseId = validExpense.getId();
         LocalDate originalDueDate = LocalDate.now();
@@ -244,10 +282,9 @@ class ExpenseServiceTest {
 
         expenseService.markAsPaid(userId, expenseId);
 
-        assertNotEquals(originalDueDate, validExpense.getDueDate());
-        assertEquals(originalDueDate.plusMonths(1), validExpense.getDueDate());
-        verify(expenseRepository).findById(expenseId);
-        verify(expenseRepository).save(validExpense);
+        assertEquals(originalDueDate, validExpense.getDueDate());
+        assertTrue(validExpense.getIsPaid());
+        verify(recurringRolloverService, never()).reopen(any());
     }
 
     @Test
@@ -270,4 +307,30 @@ class ExpenseServiceTest {
         assertTrue(validExpense.getIsPaid());
         verify(expenseRepository).save(validExpense);
     }
+
+    @Test
+    @DisplayName("Pagamento em lote por ids deve usar uma instrução e recalcular os agregados")
+    void shouldBulkPayByIdsAndRebuildRollups() {
+        UUID userId = validUser.getId();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(expenseRepository.payByIds(userId, ids)).thenReturn(2);
+
+        BulkResultDTO result = expenseService.bulkMarkAsPaid(userId,
+                new ExpenseBulkRequestDTO(ids, null, null, null, null));
+
+        assertEquals(2, result.affected());
+        verify(monthlyRollupService).rebuildUsers(List.of(userId));
+        verify(recurringRolloverService).reopen(userId);
+        verify(expenseRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Operação em lote sem ids nem filtro deve ser rejeitada")
+    void shouldRejectBulkWithoutSelection() {
+        UUID userId = validUser.getId();
+
+        assertThrows(IllegalArgumentException.class, () -> expenseService.bulkDelete(userId,
+                new ExpenseBulkRequestDTO(List.of(), null, null, null, null)));
+        verifyNoInteractions(expenseRepository);
+    }
 }
@@ -0,0 +1,104 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.enums.RollupKind;
+import com.app.FinTrack.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private MonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MonthlyRollupService monthlyRollupService;
+
+    @BeforeEach
+    void setUp() {
+        monthlyRollupService = new MonthlyRollupService(rollupRepository, eventPublisher, transactionManager, 500);
+    }
+
+    @Test
+    @DisplayName("Período alinhado ao mês deve ser inteiro respondido pelos agregados")
+    void shouldUseWholePeriodWhenMonthAligned() {
+        MonthlyRollupService.FullMonths fullMonths = MonthlyRollupService.fullMonths(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+
+        assertEquals(LocalDate.of(2025, 1, 1), fullMonths.start());
+        assertEquals(LocalDate.of(2025, 3, 31), fullMonths.end());
+    }
+
+    @Test
+    @DisplayName("Período não alinhado deve usar agregados só nos meses inteiros")
+    void shouldShrinkToInnerFullMonths() {
+        MonthlyRollupService.FullMonths fullMonths = MonthlyRollupService.fullMonths(
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 4, 10));
+
+        assertEquals(LocalDate.of(2025, 2, 1), fullMonths.start());
+        assertEquals(LocalDate.of(2025, 3, 31), fullMonths.end());
+    }
+
+    @Test
+    @DisplayName("Período sem mês inteiro deve ficar vazio nos agregados (início depois do fim)")
+    void shouldBeEmptyWithoutFullMonth() {
+        MonthlyRollupService.FullMonths fullMonths = MonthlyRollupService.fullMonths(
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 10));
+
+        assertTrue(fullMonths.start().isAfter(fullMonths.end()));
+    }
+
+    @Test
+    @DisplayName("Atualização sem mudança em campos agregados não deve escrever")
+    void shouldSkipReplaceWhenContributionIsUnchanged() {
+        MonthlyRollupService.Contribution contribution = new MonthlyRollupService.Contribution(
+                USER_ID, YearMonth.of(2025, 1), RollupKind.INCOME, "SALARY", new BigDecimal("100.00"));
+
+        monthlyRollupService.replace(contribution, contribution);
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    @DisplayName("Delta e rebuild devem travar o usuário antes de escrever nos agregados")
+    void shouldLockUserBeforeDeltaAndRebuild() {
+        MonthlyRollupService.Contribution contribution = new MonthlyRollupService.Contribution(
+                USER_ID, YearMonth.of(2025, 1), RollupKind.INCOME, "SALARY", new BigDecimal("100.00"));
+
+        monthlyRollupService.add(contribution);
+        monthlyRollupService.rebuildUsers(List.of(USER_ID));
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockUsers(anyInt(), eq(List.of(USER_ID)));
+        inOrder.verify(rollupRepository).applyDelta(USER_ID, LocalDate.of(2025, 1, 1), "INCOME", "SALARY",
+                new BigDecimal("100.00"), 1);
+        inOrder.verify(rollupRepository).lockUsers(anyInt(), eq(List.of(USER_ID)));
+        inOrder.verify(rollupRepository).deleteByUserIds(List.of(USER_ID));
+        inOrder.verify(rollupRepository).insertFromBaseTables(List.of(USER_ID));
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.enums.RecurrenceType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurringRolloverServiceTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2025, 6);
+
+    @Test
+    @DisplayName("Mensal atrasada vários meses deve pular direto para o mês atual")
+    void shouldAdvanceMonthlyManyPeriodsAtOnce() {
+        LocalDate next = RecurringRolloverService.nextDueDate(
+                LocalDate.of(2025, 1, 10), RecurrenceType.MONTHLY, CURRENT_MONTH);
+
+        assertEquals(LocalDate.of(2025, 6, 10), next);
+    }
+
+    @Test
+    @DisplayName("Trimestral deve avançar em múltiplos de 3 meses até o mês atual ou depois")
+    void shouldAdvanceQuarterlyToFirstOccurrenceFromCurrentMonth() {
+        LocalDate next = RecurringRolloverService.nextDueDate(
+                LocalDate.of(2025, 1, 15), RecurrenceType.QUARTERLY, CURRENT_MONTH);
+
+        assertEquals(LocalDate.of(2025, 7, 15), next);
+    }
+
+    @Test
+    @DisplayName("Semanal deve avançar para a primeira ocorrência a partir do dia 1 do mês atual")
+    void shouldAdvanceWeeklyToFirstOccurrenceInCurrentMonth() {
+        LocalDate next = RecurringRolloverService.nextDueDate(
+                LocalDate.of(2025, 5, 26), RecurrenceType.WEEKLY, CURRENT_MONTH);
+
+        assertEquals(LocalDate.of(2025, 6, 2), next);
+    }
+
+    @Test
+    @DisplayName("Vencimento no mês atual e despesa única não devem mudar")
+    void shouldNotChangeCurrentMonthOrOnce() {
+        LocalDate current = LocalDate.of(2025, 6, 5);
+        LocalDate past = LocalDate.of(2025, 3, 5);
+
+        assertEquals(current, RecurringRolloverService.nextDueDate(current, RecurrenceType.MONTHLY, CURRENT_MONTH));
+        assertEquals(past, RecurringRolloverService.nextDueDate(past, RecurrenceType.ONCE, CURRENT_MONTH));
+    }
+}
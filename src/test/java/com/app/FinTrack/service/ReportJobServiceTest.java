@@ -0,0 +1,107 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.entity.ReportJob;
+import com.app.FinTrack.domain.enums.ExportFormat;
+import com.app.FinTrack.domain.enums.ReportJobStatus;
+import com.app.FinTrack.domain.enums.ReportType;
+import com.app.FinTrack.exception.ReportNotReadyException;
+import com.app.FinTrack.exception.ResourceNotFoundException;
+import com.app.FinTrack.exception.TooManyRequestsException;
+import com.app.FinTrack.repository.ReportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ExportQuotaService exportQuotaService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        reportJobService = new ReportJobService(reportJobRepository, reportService, null, null,
+                exportQuotaService, transactionManager, "target/report-jobs-test", 2, 2, 24, 2, "test-worker", 120, 30000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reportJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Usuário no limite de jobs ativos deve receber 429 sem debitar a cota")
+    void shouldRejectWhenUserHasTooManyActiveJobs() {
+        when(reportJobRepository.countByUserIdAndStatusIn(eq(USER_ID), any())).thenReturn(2L);
+
+        assertThrows(TooManyRequestsException.class,
+                () -> reportJobService.submit(USER_ID, ExportFormat.PDF, ReportType.ALL, START, END));
+
+        verifyNoInteractions(exportQuotaService);
+        verify(reportJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Download de job ainda em execução deve lançar ReportNotReadyException")
+    void shouldRejectDownloadWhileRunning() {
+        UUID jobId = UUID.randomUUID();
+        when(reportJobRepository.findByIdAndUserId(jobId, USER_ID)).thenReturn(Optional.of(ReportJob.builder()
+                .id(jobId)
+                .userId(USER_ID)
+                .format(ExportFormat.CSV)
+                .reportType(ReportType.ALL)
+                .startDate(START)
+                .endDate(END)
+                .status(ReportJobStatus.RUNNING)
+                .build()));
+
+        assertThrows(ReportNotReadyException.class, () -> reportJobService.resultFile(USER_ID, jobId));
+    }
+
+    @Test
+    @DisplayName("Arquivo ausente neste nó não deve marcar o job como falho")
+    void shouldNotFailJobWhenFileIsMissingLocally() {
+        UUID jobId = UUID.randomUUID();
+        when(reportJobRepository.findByIdAndUserId(jobId, USER_ID)).thenReturn(Optional.of(ReportJob.builder()
+                .id(jobId)
+                .userId(USER_ID)
+                .format(ExportFormat.CSV)
+                .reportType(ReportType.ALL)
+                .startDate(START)
+                .endDate(END)
+                .status(ReportJobStatus.DONE)
+                .workerId("other-node")
+                .build()));
+
+        assertThrows(ResourceNotFoundException.class, () -> reportJobService.resultFile(USER_ID, jobId));
+        verify(reportJobRepository, never()).markFailed(any(), any(), any(), any());
+    }
+}
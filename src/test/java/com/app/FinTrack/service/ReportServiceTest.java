@@ -0,0 +1,71 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.ReportSummaryDTO;
+import com.app.FinTrack.domain.dto.TransactionReportDTO;
+import com.app.FinTrack.domain.enums.ReportType;
+import com.app.FinTrack.repository.ReportRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    @Test
+    @DisplayName("Relatório deve usar os totais agregados e as linhas na ordem do banco")
+    @SuppressWarnings("unchecked")
+    void shouldBuildReportFromTotalsAndStreamedRows() {
+        when(reportRepository.findTotals(USER_ID, START, END, true, true)).thenReturn(new ReportRepository.Totals(
+                new BigDecimal("5000.00"), 1, new BigDecimal("1500.00"), 1));
+        doAnswer(invocation -> {
+            Consumer<TransactionReportDTO> consumer = invocation.getArgument(5);
+            consumer.accept(TransactionReportDTO.fromExpense("2", LocalDate.of(2025, 2, 1), null, "HOUSING",
+                    "Moradia", "Aluguel", new BigDecimal("1500.00"), null, null));
+            consumer.accept(TransactionReportDTO.fromIncome("1", LocalDate.of(2025, 1, 5), "SALARY",
+                    "Salário", "Salário", new BigDecimal("5000.00"), null, null));
+            return null;
+        }).when(reportRepository).streamTransactions(eq(USER_ID), eq(START), eq(END), eq(true), eq(true), any(Consumer.class));
+
+        ReportSummaryDTO report = reportService.generateReport(USER_ID, START, END, ReportType.ALL);
+
+        assertEquals(new BigDecimal("3500.00"), report.balance());
+        assertEquals(2, report.transactions().size());
+        assertEquals("2", report.transactions().get(0).id());
+    }
+
+    @Test
+    @DisplayName("Relatório sem transações não deve abrir o cursor das linhas")
+    void shouldSkipRowQueryWhenTotalsAreEmpty() {
+        when(reportRepository.findTotals(USER_ID, START, END, true, false)).thenReturn(new ReportRepository.Totals(
+                BigDecimal.ZERO, 0, BigDecimal.ZERO, 0));
+
+        ReportSummaryDTO report = reportService.generateReport(USER_ID, START, END, ReportType.INCOME);
+
+        assertTrue(report.transactions().isEmpty());
+        verify(reportRepository, never()).streamTransactions(any(), any(), any(), anyBoolean(), anyBoolean(), any());
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.SearchPageDTO;
+import com.app.FinTrack.domain.dto.SearchResultDTO;
+import com.app.FinTrack.domain.enums.SearchScope;
+import com.app.FinTrack.repository.SearchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    @DisplayName("Busca deve normalizar o termo, escapar curingas e buscar uma linha extra para hasMore")
+    void shouldNormalizeTermAndDetectNextPage() {
+        when(searchRepository.search(USER_ID, "50% off_", "%50\\% off\\_%", "EXPENSE", 3, 2L))
+                .thenReturn(List.of(result(), result(), result()));
+
+        SearchPageDTO page = searchService.search(USER_ID, "  50%   OFF_ ", SearchScope.EXPENSE, 1, 2);
+
+        assertEquals(2, page.items().size());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    @DisplayName("Termo curto demais deve ser rejeitado sem consultar o banco")
+    void shouldRejectShortTerm() {
+        assertThrows(IllegalArgumentException.class,
+                () -> searchService.search(USER_ID, " ab ", SearchScope.ALL, null, null));
+        verifyNoInteractions(searchRepository);
+    }
+
+    private static SearchResultDTO result() {
+        return new SearchResultDTO("EXPENSE", UUID.randomUUID(), "Desconto 50% off", "OTHER",
+                new BigDecimal("10.00"), LocalDate.of(2025, 1, 1), null, 1.5);
+    }
+}
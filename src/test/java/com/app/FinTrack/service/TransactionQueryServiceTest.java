@@ -0,0 +1,68 @@
+package com.app.FinTrack.service;
+
+import com.app.FinTrack.domain.dto.TransactionQueryDTO;
+import com.app.FinTrack.domain.dto.TransactionQueryResultDTO;
+import com.app.FinTrack.domain.enums.ReportType;
+import com.app.FinTrack.repository.TransactionQueryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionQueryServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private TransactionQueryRepository transactionQueryRepository;
+
+    @InjectMocks
+    private TransactionQueryService transactionQueryService;
+
+    @Test
+    @DisplayName("Filtro exclusivo de despesas deve tirar as receitas da consulta")
+    void shouldQueryOnlyExpensesWhenExpenseOnlyFilterIsSet() {
+        when(transactionQueryRepository.query(any())).thenReturn(new TransactionQueryRepository.Result(List.of(),
+                new TransactionQueryRepository.Totals(0, BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0)));
+
+        transactionQueryService.query(USER_ID, new TransactionQueryDTO(ReportType.ALL, List.of("food"), null, false,
+                null, null, null, null, null, null, "50%", null, null));
+
+        ArgumentCaptor<TransactionQueryRepository.Criteria> captor =
+                ArgumentCaptor.forClass(TransactionQueryRepository.Criteria.class);
+        verify(transactionQueryRepository).query(captor.capture());
+        assertFalse(captor.getValue().includeIncomes());
+        assertTrue(captor.getValue().includeExpenses());
+        assertEquals(List.of("FOOD"), captor.getValue().expenseCategories());
+        assertEquals("%50\\%%", captor.getValue().pattern());
+    }
+
+    @Test
+    @DisplayName("Categoria só de despesa com tipo INCOME não deve consultar o banco")
+    void shouldReturnEmptyWithoutQueryWhenNoBranchMatches() {
+        TransactionQueryResultDTO result = transactionQueryService.query(USER_ID, new TransactionQueryDTO(
+                ReportType.INCOME, List.of("FOOD"), null, null, null, null, null, null, null, null, null, null, null));
+
+        assertEquals(0, result.totalCount());
+        verifyNoInteractions(transactionQueryRepository);
+    }
+
+    @Test
+    @DisplayName("Categoria desconhecida deve lançar exceção")
+    void shouldRejectUnknownCategory() {
+        assertThrows(IllegalArgumentException.class, () -> transactionQueryService.query(USER_ID,
+                new TransactionQueryDTO(null, List.of("NOPE"), null, null, null, null, null, null, null, null, null, null, null)));
+    }
+}
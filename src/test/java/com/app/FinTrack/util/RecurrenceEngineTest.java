@@ -0,0 +1,84 @@
+package com.app.FinTrack.util;
+
+import com.app.FinTrack.domain.enums.RecurrenceType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Test
+    @DisplayName("Mensal criada no meio do ano deve contar só os meses a partir da criação")
+    void shouldCountMonthlyFromAnchorMonth() {
+        long occurrences = RecurrenceEngine.occurrences(
+                RecurrenceType.MONTHLY, LocalDate.of(2025, 7, 20), START, END);
+
+        assertEquals(6, occurrences);
+    }
+
+    @Test
+    @DisplayName("Trimestral e semanal devem contar só as datas na fase da data do item")
+    void shouldCountOnlyDatesInAnchorPhase() {
+        assertEquals(4, RecurrenceEngine.occurrences(RecurrenceType.QUARTERLY, LocalDate.of(2024, 3, 1), START, END));
+        // Segundas-feiras a partir de 2024-01-01: 6, 13, 20 e 27 de janeiro de 2025
+        assertEquals(4, RecurrenceEngine.occurrences(RecurrenceType.WEEKLY, LocalDate.of(2024, 1, 1),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+    }
+
+    @Test
+    @DisplayName("Anual deve contar 1 só no mês de aniversário e 0 nos demais")
+    void shouldCountAnnualOnlyInAnniversaryMonth() {
+        LocalDate anchor = LocalDate.of(2020, 5, 5);
+
+        assertEquals(1, RecurrenceEngine.occurrences(RecurrenceType.ANNUAL, anchor,
+                LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31)));
+        assertEquals(0, RecurrenceEngine.occurrences(RecurrenceType.ANNUAL, anchor,
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30)));
+        assertEquals(0, RecurrenceEngine.occurrences(RecurrenceType.ANNUAL, anchor,
+                LocalDate.of(2025, 5, 6), LocalDate.of(2025, 5, 31)));
+    }
+
+    @Test
+    @DisplayName("Trimestral ao longo do ano: soma dos meses igual ao total do ano, com ajuste de fim de mês")
+    void shouldMatchYearTotalWhenSummingMonthsForQuarterly() {
+        LocalDate anchor = LocalDate.of(2024, 11, 30);
+        long sum = 0;
+        for (int month = 1; month <= 12; month++) {
+            LocalDate monthStart = LocalDate.of(2025, month, 1);
+            long occurrences = RecurrenceEngine.occurrences(RecurrenceType.QUARTERLY, anchor,
+                    monthStart, monthStart.withDayOfMonth(monthStart.lengthOfMonth()));
+            assertEquals(month % 3 == 2 ? 1 : 0, occurrences, "mês " + month);
+            sum += occurrences;
+        }
+
+        assertEquals(4, sum);
+        assertEquals(sum, RecurrenceEngine.occurrences(RecurrenceType.QUARTERLY, anchor, START, END));
+        // 2024-11-30 + 3 meses = 2025-02-28 (ajustado ao fim do mês, como no rollover)
+        assertEquals(1, RecurrenceEngine.occurrences(RecurrenceType.QUARTERLY, anchor,
+                LocalDate.of(2025, 2, 28), LocalDate.of(2025, 2, 28)));
+    }
+
+    @Test
+    @DisplayName("Única fora do período e recorrente criada depois do período não devem contar")
+    void shouldIgnoreItemsOutsidePeriod() {
+        assertEquals(0, RecurrenceEngine.occurrences(RecurrenceType.ONCE, LocalDate.of(2024, 12, 31), START, END));
+        assertEquals(0, RecurrenceEngine.occurrences(RecurrenceType.DAILY, LocalDate.of(2026, 1, 1), START, END));
+        assertEquals(1, RecurrenceEngine.occurrences(RecurrenceType.ONCE, END, START, END));
+    }
+
+    @Test
+    @DisplayName("Total projetado deve multiplicar o valor pelas ocorrências")
+    void shouldMultiplyAmountByOccurrences() {
+        BigDecimal total = RecurrenceEngine.projectedTotal(
+                new BigDecimal("1500.00"), RecurrenceType.MONTHLY, LocalDate.of(2020, 5, 5), START, END);
+
+        assertEquals(new BigDecimal("18000.00"), total);
+    }
+}
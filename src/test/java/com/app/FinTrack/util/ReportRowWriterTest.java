@@ -0,0 +1,45 @@
+package com.app.FinTrack.util;
+
+import com.app.FinTrack.domain.enums.ExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportRowWriterTest {
+
+    private static final String[] ROW = {"EXPENSE", "1", "2025-02-01", null, "HOUSING", "Moradia",
+            "Aluguel, \"apto\"", "1500.00", "linha 1\nlinha 2"};
+
+    @Test
+    @DisplayName("CSV deve pôr entre aspas campos com vírgula, aspas ou quebra de linha")
+    void shouldQuoteCsvFields() throws IOException {
+        String csv = write(ExportFormat.CSV);
+
+        assertTrue(csv.startsWith("type,id,date,dueDate,category,categoryName,description,amount,notes\r\n"));
+        assertTrue(csv.endsWith("EXPENSE,1,2025-02-01,,HOUSING,Moradia,\"Aluguel, \"\"apto\"\"\",1500.00,\"linha 1\nlinha 2\"\r\n"));
+    }
+
+    @Test
+    @DisplayName("NDJSON deve escapar strings, manter o valor numérico e usar null para campo vazio")
+    void shouldEscapeNdjsonFields() throws IOException {
+        String ndjson = write(ExportFormat.NDJSON);
+
+        assertEquals("{\"type\":\"EXPENSE\",\"id\":\"1\",\"date\":\"2025-02-01\",\"dueDate\":null,"
+                + "\"category\":\"HOUSING\",\"categoryName\":\"Moradia\",\"description\":\"Aluguel, \\\"apto\\\"\","
+                + "\"amount\":1500.00,\"notes\":\"linha 1\\nlinha 2\"}\n", ndjson);
+    }
+
+    private static String write(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportRowWriter writer = ReportRowWriter.open(out, format);
+        writer.writeHeader();
+        writer.writeRow(ROW);
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
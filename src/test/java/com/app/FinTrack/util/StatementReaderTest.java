@@ -0,0 +1,100 @@
+package com.app.FinTrack.util;
+
+import com.app.FinTrack.domain.enums.ImportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementReaderTest {
+
+    @Test
+    @DisplayName("CSV brasileiro com ';', aspas e quebra de linha deve ser lido pelo nome das colunas")
+    void shouldReadBrazilianCsv() throws IOException {
+        String csv = "Data;Histórico;Valor;Saldo\n" +
+                "15/01/2025;\"Mercado \"\"Bom\"\"\ncentro\";-1.234,56;10,00\n" +
+                "\n" +
+                "16/01/2025;Salário;5000,00;5010,00\n";
+
+        try (StatementReader reader = open(csv, ImportFormat.CSV, StandardCharsets.UTF_8)) {
+            StatementRow first = reader.next();
+            assertEquals(2, first.line());
+            assertEquals(LocalDate.of(2025, 1, 15), first.date());
+            assertEquals(new BigDecimal("-1234.56"), first.amount());
+            assertEquals("Mercado \"Bom\"\ncentro", first.description());
+
+            StatementRow second = reader.next();
+            assertEquals(5, second.line());
+            assertEquals(new BigDecimal("5000.00"), second.amount());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Linha inválida no CSV deve gerar erro com o número da linha e permitir continuar")
+    void shouldReportInvalidCsvRowAndContinue() throws IOException {
+        String csv = "date,description,amount\n" +
+                "not-a-date,Coffee,-5.00\n" +
+                "2025-01-17,Coffee,-5.00\n";
+
+        try (StatementReader reader = open(csv, ImportFormat.CSV, StandardCharsets.UTF_8)) {
+            StatementParseException error = assertThrows(StatementParseException.class, reader::next);
+            assertEquals(2, error.getLine());
+            assertEquals(LocalDate.of(2025, 1, 17), reader.next().date());
+        }
+    }
+
+    @Test
+    @DisplayName("CSV sem coluna de valor deve ser rejeitado")
+    void shouldRejectCsvWithoutAmountColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> open("data;descricao\n", ImportFormat.CSV, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("OFX SGML em windows-1252 e OFX com tags fechadas devem ser lidos")
+    void shouldReadOfxTransactions() throws IOException {
+        String ofx = "OFXHEADER:100\nDATA:OFXSGML\nCHARSET:1252\n\n" +
+                "<OFX><BANKTRANLIST>\n" +
+                "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20250115120000[-3:BRT]\n<TRNAMT>-45.90\n<MEMO>Padaria São João &amp; Cia\n</STMTTRN>\n" +
+                "<STMTTRN><DTPOSTED>20250116</DTPOSTED><TRNAMT>100.00</TRNAMT><NAME>Pix</NAME></STMTTRN>\n" +
+                "</BANKTRANLIST></OFX>\n";
+
+        try (StatementReader reader = open(ofx, ImportFormat.OFX, Charset.forName("windows-1252"))) {
+            StatementRow debit = reader.next();
+            assertEquals(LocalDate.of(2025, 1, 15), debit.date());
+            assertEquals(new BigDecimal("-45.90"), debit.amount());
+            assertEquals("Padaria São João & Cia", debit.description());
+
+            StatementRow credit = reader.next();
+            assertEquals(new BigDecimal("100.00"), credit.amount());
+            assertEquals("Pix", credit.description());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Separador único seguido de 3 dígitos deve ser de milhar")
+    void shouldTreatSingleSeparatorBeforeThreeDigitsAsThousands() {
+        assertEquals(new BigDecimal("1000"), StatementValues.parseAmount("1.000"));
+        assertEquals(new BigDecimal("-2500"), StatementValues.parseAmount("-2,500"));
+        assertEquals(new BigDecimal("1234567"), StatementValues.parseAmount("1.234.567"));
+        assertEquals(new BigDecimal("1234.56"), StatementValues.parseAmount("1,234.56"));
+        assertEquals(new BigDecimal("10.5"), StatementValues.parseAmount("10,5"));
+        assertEquals(new BigDecimal("0.500"), StatementValues.parseAmount("0,500"));
+        assertEquals(new BigDecimal("-10.00"), StatementValues.parseAmount("(R$ 10,00)"));
+    }
+
+    private static StatementReader open(String content, ImportFormat format, Charset charset) throws IOException {
+        return StatementReader.open(new ByteArrayInputStream(content.getBytes(charset)), format);
+    }
+}